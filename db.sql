@@ -41,7 +41,8 @@ CREATE TABLE enrollments (
     enrollment_date DATETIME,
     drop_date DATETIME,
     FOREIGN KEY (course_id) REFERENCES courses(course_id),
-    FOREIGN KEY (student_id) REFERENCES users(user_id)
+    FOREIGN KEY (student_id) REFERENCES users(user_id),
+    UNIQUE KEY (student_id, course_id)
 );
 
 select * from enrollments;
@@ -486,3 +487,162 @@ CREATE TABLE revaluation_requests (
 CREATE INDEX idx_revaluation_requests_grade ON revaluation_requests(grade_id);
 CREATE INDEX idx_revaluation_requests_student ON revaluation_requests(student_id);
 CREATE INDEX idx_revaluation_requests_status ON revaluation_requests(status);
+
+CREATE TABLE attendance_report_jobs (
+    job_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    month INT NOT NULL,
+    year INT NOT NULL,
+    status ENUM('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'QUEUED',
+    total_partitions INT NOT NULL DEFAULT 0,
+    completed_partitions INT NOT NULL DEFAULT 0,
+    rows_written BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    error_message VARCHAR(255),
+    -- One unfinished job per month; cleared when the job completes
+    active_period VARCHAR(7) NULL,
+    UNIQUE KEY uk_attendance_report_jobs_active_period (active_period)
+);
+
+CREATE TABLE attendance_report_job_partitions (
+    partition_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    status ENUM('PENDING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    rows_written BIGINT,
+    completed_at TIMESTAMP NULL,
+    FOREIGN KEY (job_id) REFERENCES attendance_report_jobs(job_id),
+    FOREIGN KEY (course_id) REFERENCES courses(course_id),
+    UNIQUE KEY (job_id, course_id)
+);
+
+CREATE INDEX idx_attendance_report_jobs_status ON attendance_report_jobs(status);
+
+CREATE TABLE attendance_counters (
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    total_count INT NOT NULL DEFAULT 0,
+    present_count INT NOT NULL DEFAULT 0,
+    absent_count INT NOT NULL DEFAULT 0,
+    late_count INT NOT NULL DEFAULT 0,
+    excused_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (student_id, course_id),
+    FOREIGN KEY (student_id) REFERENCES users(user_id),
+    FOREIGN KEY (course_id) REFERENCES courses(course_id)
+);
+
+-- Range scans by course and date; (student_id, course_id, attendance_date) is covered by the unique key
+CREATE INDEX idx_attendance_course_date ON attendance(course_id, attendance_date);
+
+-- One row per student/course/half-year term; bit i of each mask is day i of the term
+CREATE TABLE attendance_bitmaps (
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    term VARCHAR(8) NOT NULL,
+    held_bits BINARY(23) NOT NULL,
+    attended_bits BINARY(23) NOT NULL,
+    late_bits BINARY(23) NOT NULL,
+    excused_bits BINARY(23) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (student_id, course_id, term),
+    FOREIGN KEY (student_id) REFERENCES users(user_id),
+    FOREIGN KEY (course_id) REFERENCES courses(course_id)
+);
+
+-- Pending correction queue per faculty, in requested order
+CREATE INDEX idx_correction_status_requested ON attendance_correction_requests(status, requested_at, request_id);
+
+-- Monthly report listings filter on (month, year); the unique key leads with student_id
+CREATE INDEX idx_attendance_reports_period ON attendance_reports(year, month);
+
+CREATE TABLE notifications (
+    notification_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    type ENUM('ATTENDANCE_CHANGE') NOT NULL,
+    recipient_role ENUM('STUDENT', 'FACULTY', 'ADMIN', 'ACCOUNTS') NOT NULL,
+    coalesce_key VARCHAR(100) NOT NULL UNIQUE,
+    course_id BIGINT,
+    event_date DATE,
+    message VARCHAR(500) NOT NULL,
+    event_count INT NOT NULL DEFAULT 1,
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_notifications_role_updated (recipient_role, updated_at)
+);
+
+CREATE INDEX idx_attendance_counters_updated ON attendance_counters(updated_at, student_id, course_id);
+
+CREATE TABLE attendance_alerts (
+    alert_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    student_id BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    period CHAR(7) NOT NULL,
+    attendance_percentage DECIMAL(5,2) NOT NULL,
+    threshold DECIMAL(5,2) NOT NULL,
+    status ENUM('OPEN', 'RESOLVED') NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (student_id) REFERENCES users(user_id),
+    FOREIGN KEY (course_id) REFERENCES courses(course_id),
+    UNIQUE KEY (student_id, course_id, period),
+    INDEX idx_attendance_alerts_status (status, course_id)
+);
+
+CREATE TABLE job_checkpoints (
+    job_name VARCHAR(64) PRIMARY KEY,
+    checkpoint_at DATETIME NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE attendance_rollups (
+    course_id BIGINT NOT NULL,
+    iso_week INT NOT NULL,
+    weekday INT NOT NULL,
+    session_date DATE NOT NULL,
+    total_count INT NOT NULL,
+    present_count INT NOT NULL,
+    absent_count INT NOT NULL,
+    late_count INT NOT NULL,
+    excused_count INT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (course_id, iso_week, weekday),
+    FOREIGN KEY (course_id) REFERENCES courses(course_id)
+);
+
+CREATE TABLE exam_statistics (
+    exam_id BIGINT PRIMARY KEY,
+    grade_count INT NOT NULL,
+    marks_sum DECIMAL(12,2) NOT NULL,
+    marks_sum_squares DECIMAL(16,4) NOT NULL,
+    min_marks DECIMAL(5,2),
+    max_marks DECIMAL(5,2),
+    pass_count INT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (exam_id) REFERENCES exams(exam_id)
+);
+
+CREATE TABLE exam_score_buckets (
+    exam_id BIGINT NOT NULL,
+    bucket INT NOT NULL,
+    grade_letter VARCHAR(2) NOT NULL,
+    grade_count INT NOT NULL,
+    PRIMARY KEY (exam_id, bucket, grade_letter),
+    FOREIGN KEY (exam_id) REFERENCES exams(exam_id)
+);
+
+CREATE TABLE student_term_gpa (
+    student_id BIGINT NOT NULL,
+    term VARCHAR(10) NOT NULL,
+    course_count INT NOT NULL,
+    credit_hours INT NOT NULL,
+    quality_points DECIMAL(10,4) NOT NULL,
+    gpa DECIMAL(4,2) NOT NULL,
+    cumulative_credit_hours INT NOT NULL,
+    cumulative_quality_points DECIMAL(12,4) NOT NULL,
+    cgpa DECIMAL(4,2) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (student_id, term),
+    FOREIGN KEY (student_id) REFERENCES users(user_id)
+);
@@ -0,0 +1,172 @@
+package com.smartcampus.examgrading.benchmark;
+
+import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceImportResult;
+import com.smartcampus.examgrading.model.AttendanceMarkResult;
+import com.smartcampus.examgrading.model.Course;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.service.AttendanceImportService;
+import com.smartcampus.examgrading.service.AttendanceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the attendance hot paths against a seeded {@link SyntheticCampus}.
+ * Run through the {@code benchmark} Maven profile, which adds the GC profiler so every
+ * result also reports the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AttendanceBenchmark {
+
+    private static final Attendance.AttendanceStatus[] STATUSES = Attendance.AttendanceStatus.values();
+
+    // Rows in the imported roll-call file; the importCsv score is therefore in rows per second
+    private static final int IMPORT_ROWS = 50_000;
+
+    @State(Scope.Benchmark)
+    public static class Campus {
+
+        SyntheticCampus campus;
+        AttendanceService attendanceService;
+        AttendanceImportService importService;
+        User faculty;
+        List<Course> courses;
+        List<LocalDate> classDays;
+
+        @Setup(Level.Trial)
+        public void seed() {
+            campus = new SyntheticCampus();
+            attendanceService = campus.getBean(AttendanceService.class);
+            importService = campus.getBean(AttendanceImportService.class);
+            faculty = campus.getFaculty();
+            courses = campus.getCourses();
+            classDays = campus.getClassDays();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            campus.close();
+        }
+
+        Course randomCourse() {
+            return courses.get(ThreadLocalRandom.current().nextInt(courses.size()));
+        }
+
+        User randomStudent(Course course) {
+            List<User> students = campus.getStudents(course);
+            return students.get(ThreadLocalRandom.current().nextInt(students.size()));
+        }
+
+        LocalDate randomClassDay() {
+            return classDays.get(ThreadLocalRandom.current().nextInt(classDays.size()));
+        }
+    }
+
+    /**
+     * A roll-call export of {@link #IMPORT_ROWS} rows over seeded sessions, listed a class
+     * session at a time as devices export them. Importing it again re-marks those sessions.
+     */
+    @State(Scope.Benchmark)
+    public static class RollCallFile {
+
+        byte[] csv;
+
+        @Setup(Level.Trial)
+        public void write(Campus state) {
+            Random random = new Random(7);
+            StringBuilder file = new StringBuilder("username,course_code,date,status\n");
+            int rows = 0;
+            while (rows < IMPORT_ROWS) {
+                int before = rows;
+                for (LocalDate date : state.classDays) {
+                    for (Course course : state.courses) {
+                        for (User student : state.campus.getStudents(course)) {
+                            file.append(student.getUsername()).append(',')
+                                .append(course.getCourseCode()).append(',')
+                                .append(date).append(',')
+                                .append(STATUSES[random.nextInt(STATUSES.length)]).append('\n');
+                            if (++rows == IMPORT_ROWS) {
+                                csv = file.toString().getBytes(StandardCharsets.UTF_8);
+                                return;
+                            }
+                        }
+                    }
+                }
+                if (rows == before) {
+                    throw new IllegalStateException("The campus has no enrollments to import");
+                }
+            }
+        }
+    }
+
+    // Re-marks one enrolled student on a past session, the path a faculty correction takes
+    @Benchmark
+    public void markAttendance(Campus state) {
+        Course course = state.randomCourse();
+        state.attendanceService.markAttendance(course, state.randomStudent(course), state.randomClassDay(),
+            STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)], state.faculty);
+    }
+
+    // Marks a whole class session at once, as the faculty attendance view does
+    @Benchmark
+    public List<AttendanceMarkResult> markBulkAttendance(Campus state) {
+        Course course = state.randomCourse();
+        Map<Long, Attendance.AttendanceStatus> statuses = new LinkedHashMap<>();
+        for (User student : state.campus.getStudents(course)) {
+            statuses.put(student.getUserId(), STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)]);
+        }
+        return state.attendanceService.markBulkAttendance(course, statuses, state.randomClassDay(), state.faculty);
+    }
+
+    @Benchmark
+    public BigDecimal calculateAttendancePercentage(Campus state) {
+        Course course = state.randomCourse();
+        return state.attendanceService.calculateAttendancePercentage(state.randomStudent(course), course);
+    }
+
+    // Full monthly report run over every active enrollment for the latest seeded month
+    @Benchmark
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public void generateMonthlyReports(Campus state) {
+        YearMonth month = YearMonth.from(state.classDays.get(0));
+        state.attendanceService.generateMonthlyReports(month.getMonthValue(), month.getYear());
+    }
+
+    // Imports the roll-call file through the same path as an uploaded CSV
+    @Benchmark
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    @OperationsPerInvocation(IMPORT_ROWS)
+    public AttendanceImportResult importCsv(Campus state, RollCallFile file) throws IOException {
+        return state.importService.importCsv(new ByteArrayInputStream(file.csv), "bench.csv", state.faculty);
+    }
+}
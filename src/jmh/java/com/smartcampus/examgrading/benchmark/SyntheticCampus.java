@@ -0,0 +1,225 @@
+package com.smartcampus.examgrading.benchmark;
+
+import com.smartcampus.examgrading.ExamgradingApplication;
+import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceTerm;
+import com.smartcampus.examgrading.model.Course;
+import com.smartcampus.examgrading.model.Enrollment;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.AttendanceJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceJdbcRepository.AttendanceRow;
+import com.smartcampus.examgrading.repository.CourseRepository;
+import com.smartcampus.examgrading.repository.EnrollmentRepository;
+import com.smartcampus.examgrading.repository.UserRepository;
+import com.smartcampus.examgrading.service.AttendanceBitmapService;
+import com.smartcampus.examgrading.service.AttendanceCounterService;
+import com.smartcampus.examgrading.service.AttendanceRollupService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A seeded campus for the attendance benchmarks. Every student takes a few courses, and
+ * every course has held a class on each of the last {@code days} weekdays. Sizes come from
+ * the system properties {@code campus.students}, {@code campus.courses}, {@code campus.days}
+ * and {@code campus.courses-per-student}.
+ *
+ * <p>The attendance paths rely on MySQL upserts, binary-string bit operations and streaming
+ * result sets, which no in-process database emulates, so by default the campus lives in a
+ * throwaway MySQL 8 container started for the run. To use an existing server instead, set
+ * {@code campus.url} together with {@code campus.recreate=true}: the schema's tables are
+ * dropped and recreated, so the run refuses to start without that opt-in. Credentials for
+ * such a server come from {@code campus.username} and {@code campus.password}, defaulting
+ * to the application's.
+ */
+public class SyntheticCampus implements AutoCloseable {
+
+    private static final Attendance.AttendanceStatus[] STATUS_MIX = {
+        Attendance.AttendanceStatus.PRESENT, Attendance.AttendanceStatus.PRESENT,
+        Attendance.AttendanceStatus.PRESENT, Attendance.AttendanceStatus.PRESENT,
+        Attendance.AttendanceStatus.PRESENT, Attendance.AttendanceStatus.PRESENT,
+        Attendance.AttendanceStatus.ABSENT, Attendance.AttendanceStatus.ABSENT,
+        Attendance.AttendanceStatus.LATE, Attendance.AttendanceStatus.EXCUSED
+    };
+
+    private static final String MYSQL_IMAGE = "mysql:8.0";
+
+    private final MySQLContainer<?> container;
+    private final ConfigurableApplicationContext context;
+    private final User faculty;
+    private final List<User> students = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+    private final Map<Long, List<User>> studentsByCourse = new HashMap<>();
+    private final List<LocalDate> classDays = new ArrayList<>();
+
+    public SyntheticCampus() {
+        int studentCount = Integer.getInteger("campus.students", 2000);
+        int courseCount = Integer.getInteger("campus.courses", 20);
+        int dayCount = Integer.getInteger("campus.days", 60);
+        int coursesPerStudent = Math.min(courseCount, Integer.getInteger("campus.courses-per-student", 5));
+
+        String url = System.getProperty("campus.url", "");
+        String username = System.getProperty("campus.username", "");
+        String password = System.getProperty("campus.password", "");
+        if (url.isEmpty()) {
+            container = new MySQLContainer<>(DockerImageName.parse(MYSQL_IMAGE))
+                .withDatabaseName("smart_campus_bench")
+                .withUrlParam("rewriteBatchedStatements", "true");
+            container.start();
+            url = container.getJdbcUrl();
+            username = container.getUsername();
+            password = container.getPassword();
+        } else if (Boolean.getBoolean("campus.recreate")) {
+            container = null;
+        } else {
+            throw new IllegalStateException("The benchmark drops and recreates every table at " + url
+                + "; pass -Dcampus.recreate=true to confirm, or leave campus.url unset to use a container");
+        }
+
+        // Passed as arguments so they override application.properties
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=" + url,
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.jdbc.batch_size=500",
+            // Vaadin needs a servlet context; bind to a free port and skip the frontend build
+            "--server.port=0",
+            "--vaadin.productionMode=true",
+            // Keep the background scanner out of the measurements
+            "--attendance.risk-scan.initial-delay-millis=86400000",
+            "--logging.level.root=WARN"));
+        if (!username.isEmpty()) {
+            args.add("--spring.datasource.username=" + username);
+        }
+        if (!password.isEmpty()) {
+            args.add("--spring.datasource.password=" + password);
+        }
+        context = new SpringApplicationBuilder(ExamgradingApplication.class).run(args.toArray(new String[0]));
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        faculty = userRepository.save(newUser("bench.faculty", User.Role.FACULTY));
+        for (int i = 0; i < studentCount; i++) {
+            students.add(newUser("bench.student" + i, User.Role.STUDENT));
+        }
+        userRepository.saveAll(students);
+
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        for (int i = 0; i < courseCount; i++) {
+            Course course = new Course();
+            course.setCourseCode("BENCH" + i);
+            course.setCourseName("Benchmark Course " + i);
+            course.setCreditHours(3);
+            course.setCapacity(studentCount);
+            course.setFaculty(faculty);
+            courses.add(course);
+        }
+        courseRepository.saveAll(courses);
+
+        List<Enrollment> enrollments = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            for (int k = 0; k < coursesPerStudent; k++) {
+                Course course = courses.get((i + k) % courseCount);
+                Enrollment enrollment = new Enrollment();
+                enrollment.setStudent(students.get(i));
+                enrollment.setCourse(course);
+                enrollment.setEnrollmentDate(LocalDateTime.now());
+                enrollment.setActive(true);
+                enrollments.add(enrollment);
+                studentsByCourse.computeIfAbsent(course.getId(), id -> new ArrayList<>()).add(students.get(i));
+            }
+        }
+        context.getBean(EnrollmentRepository.class).saveAll(enrollments);
+
+        // The last dayCount weekdays before today, newest first
+        LocalDate day = LocalDate.now().minusDays(1);
+        while (classDays.size() < dayCount) {
+            if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                classDays.add(day);
+            }
+            day = day.minusDays(1);
+        }
+
+        Random random = new Random(42);
+        AttendanceJdbcRepository attendanceJdbcRepository = context.getBean(AttendanceJdbcRepository.class);
+        List<AttendanceRow> rows = new ArrayList<>();
+        for (Course course : courses) {
+            for (LocalDate date : classDays) {
+                for (User student : studentsByCourse.getOrDefault(course.getId(), List.of())) {
+                    rows.add(new AttendanceRow(student.getUserId(), course.getId(), date,
+                        STATUS_MIX[random.nextInt(STATUS_MIX.length)]));
+                }
+                if (rows.size() >= 10_000) {
+                    attendanceJdbcRepository.upsertRows(rows, faculty.getUserId(), LocalDateTime.now());
+                    rows.clear();
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            attendanceJdbcRepository.upsertRows(rows, faculty.getUserId(), LocalDateTime.now());
+        }
+
+        // Derived state is built on startup from an empty table, so rebuild it over the seeded rows
+        context.getBean(AttendanceCounterService.class).rebuildAll();
+        AttendanceBitmapService bitmapService = context.getBean(AttendanceBitmapService.class);
+        AttendanceTerm lastTerm = AttendanceTerm.of(classDays.get(0)).next();
+        for (AttendanceTerm term = AttendanceTerm.of(classDays.get(classDays.size() - 1)); !term.equals(lastTerm);
+             term = term.next()) {
+            bitmapService.rebuildTerm(term);
+        }
+        context.getBean(AttendanceRollupService.class).rebuildAll();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public User getFaculty() {
+        return faculty;
+    }
+
+    public List<User> getStudents() {
+        return students;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public List<User> getStudents(Course course) {
+        return studentsByCourse.getOrDefault(course.getId(), List.of());
+    }
+
+    public List<LocalDate> getClassDays() {
+        return classDays;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    private static User newUser(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("benchmark");
+        user.setEmail(username + "@bench.local");
+        user.setFirstName("Bench");
+        user.setLastName(username);
+        user.setRole(role);
+        user.setActive(true);
+        return user;
+    }
+}
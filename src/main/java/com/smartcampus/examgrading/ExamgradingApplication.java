@@ -1,10 +1,14 @@
 package com.smartcampus.examgrading;
 
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+// Server push carries the live attendance feed to open views
+@Push
 @SpringBootApplication
-public class ExamgradingApplication {
+public class ExamgradingApplication implements AppShellConfigurator {
 
 	public static void main(String[] args) {
 		SpringApplication.run(ExamgradingApplication.class, args);
@@ -0,0 +1,30 @@
+package com.smartcampus.examgrading.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class AttendanceJobConfig {
+
+    @Value("${attendance.reports.worker-threads:4}")
+    private int workerThreads;
+
+    @Value("${attendance.reports.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor attendanceReportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("attendance-report-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,34 @@
+package com.smartcampus.examgrading.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class AttendanceNotificationConfig {
+
+    // Runs the single notification writer; events wait in the service's own bounded queue
+    @Bean
+    public ThreadPoolTaskExecutor attendanceNotificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("attendance-notify-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+
+    // Delivers throttled live-feed updates to open views
+    @Bean
+    public ThreadPoolTaskScheduler attendanceFeedScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.setThreadNamePrefix("attendance-feed-");
+        scheduler.initialize();
+        return scheduler;
+    }
+}
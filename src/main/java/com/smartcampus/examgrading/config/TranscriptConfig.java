@@ -0,0 +1,27 @@
+package com.smartcampus.examgrading.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class TranscriptConfig {
+
+    @Value("${transcript.rebuild.worker-threads:4}")
+    private int workerThreads;
+
+    @Bean
+    public ThreadPoolTaskExecutor transcriptExecutor() {
+        // A rebuild runs one coordinating task plus one task per other worker thread, so the
+        // pool and queue together always have room for them
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(workerThreads);
+        executor.setThreadNamePrefix("transcript-rebuild-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
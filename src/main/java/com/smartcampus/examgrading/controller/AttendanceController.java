@@ -2,19 +2,40 @@ package com.smartcampus.examgrading.controller;
 
 import com.smartcampus.examgrading.model.Attendance;
 import com.smartcampus.examgrading.model.AttendanceCorrectionRequest;
+import com.smartcampus.examgrading.model.AttendanceImportResult;
+import com.smartcampus.examgrading.model.AttendanceMarkResult;
 import com.smartcampus.examgrading.model.AttendanceReport;
+import com.smartcampus.examgrading.model.AttendanceReportJob;
+import com.smartcampus.examgrading.model.AttendanceReportRow;
 import com.smartcampus.examgrading.model.Course;
 import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.service.AttendanceExportService;
+import com.smartcampus.examgrading.service.AttendanceImportService;
+import com.smartcampus.examgrading.service.AttendanceReportJobService;
+import com.smartcampus.examgrading.service.AttendanceRollupService;
 import com.smartcampus.examgrading.service.AttendanceService;
 import com.smartcampus.examgrading.service.CourseService;
 import com.smartcampus.examgrading.service.SessionService;
 import com.smartcampus.examgrading.service.UserService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,20 +44,45 @@ import java.util.Optional;
 @RequestMapping("/api/attendance")
 public class AttendanceController {
 
+    private static final int MAX_CORRECTION_PAGE_SIZE = 200;
+    private static final int MAX_REPORT_PAGE_SIZE = 500;
+
+    // API sort keys for the monthly report listing and the report paths they order by
+    private static final Map<String, String[]> REPORT_SORT_PATHS = Map.of(
+            "studentName", new String[] { "student.lastName", "student.firstName" },
+            "courseCode", new String[] { "course.courseCode" },
+            "totalClasses", new String[] { "totalClasses" },
+            "presentCount", new String[] { "presentCount" },
+            "absentCount", new String[] { "absentCount" },
+            "attendancePercentage", new String[] { "attendancePercentage" },
+            "generatedAt", new String[] { "generatedAt" });
+
     private final AttendanceService attendanceService;
     private final CourseService courseService;
     private final UserService userService;
     private final SessionService sessionService;
+    private final AttendanceReportJobService reportJobService;
+    private final AttendanceExportService exportService;
+    private final AttendanceImportService importService;
+    private final AttendanceRollupService rollupService;
 
     public AttendanceController(
             AttendanceService attendanceService,
             CourseService courseService,
             UserService userService,
-            SessionService sessionService) {
+            SessionService sessionService,
+            AttendanceReportJobService reportJobService,
+            AttendanceExportService exportService,
+            AttendanceImportService importService,
+            AttendanceRollupService rollupService) {
         this.attendanceService = attendanceService;
         this.courseService = courseService;
         this.userService = userService;
         this.sessionService = sessionService;
+        this.reportJobService = reportJobService;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.rollupService = rollupService;
     }
 
     // Faculty endpoints for marking attendance
@@ -93,21 +139,21 @@ public class AttendanceController {
             
             User faculty = sessionService.getCurrentUser();
 
-            // Process bulk attendance data
+            // Process bulk attendance data in a single batched write
+            Map<Long, Attendance.AttendanceStatus> statusByStudentId = new LinkedHashMap<>();
             for (Map<String, Object> data : attendanceData) {
                 Long studentId = Long.valueOf(data.get("studentId").toString());
                 String status = data.get("status").toString();
-                
-                Optional<User> studentOpt = userService.getUserById(studentId);
-                if (!studentOpt.isPresent()) {
-                    continue; // Skip this student if not found
-                }
-                
-                Attendance.AttendanceStatus attendanceStatus = Attendance.AttendanceStatus.valueOf(status);
-                attendanceService.markAttendance(courseOpt.get(), studentOpt.get(), date, attendanceStatus, faculty);
+                statusByStudentId.put(studentId, Attendance.AttendanceStatus.valueOf(status));
             }
+            
+            List<AttendanceMarkResult> results = 
+                attendanceService.markBulkAttendance(courseOpt.get(), statusByStudentId, date, faculty);
 
-            return ResponseEntity.ok("Bulk attendance marked successfully");
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Bulk attendance marked successfully");
+            response.put("results", results);
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Error marking bulk attendance: " + e.getMessage());
@@ -170,18 +216,45 @@ public class AttendanceController {
         }
     }
 
+    /**
+     * Pending correction requests, oldest first, one keyset page at a time. Pass the
+     * previous response's nextAfterRequestedAt and nextAfterId to get the next page.
+     */
     @GetMapping("/correction-requests")
-    public ResponseEntity<?> getCorrectionsForReview() {
+    public ResponseEntity<?> getCorrectionsForReview(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterRequestedAt,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int limit) {
         try {
             if (!sessionService.isFaculty()) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
             }
+            if (limit < 1 || limit > MAX_CORRECTION_PAGE_SIZE) {
+                return ResponseEntity.badRequest()
+                        .body("limit must be between 1 and " + MAX_CORRECTION_PAGE_SIZE);
+            }
+            if ((afterRequestedAt == null) != (afterId == null)) {
+                return ResponseEntity.badRequest().body("afterRequestedAt and afterId must be given together");
+            }
 
-            User faculty = sessionService.getCurrentUser();
-            List<AttendanceCorrectionRequest> requests = 
-                attendanceService.getPendingRequestsForFaculty(faculty);
+            ScrollPosition position = afterId == null
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(Map.of("requestedAt", afterRequestedAt, "requestId", afterId));
 
-            return ResponseEntity.ok(requests);
+            User faculty = sessionService.getCurrentUser();
+            Window<AttendanceCorrectionRequest> page = 
+                attendanceService.getPendingRequestsForFaculty(faculty, position, limit);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("requests", page.getContent());
+            response.put("total", attendanceService.countPendingRequestsForFaculty(faculty));
+            response.put("hasNext", page.hasNext());
+            if (page.hasNext()) {
+                AttendanceCorrectionRequest last = page.getContent().get(page.size() - 1);
+                response.put("nextAfterRequestedAt", last.getRequestedAt());
+                response.put("nextAfterId", last.getRequestId());
+            }
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Error retrieving correction requests: " + e.getMessage());
@@ -213,6 +286,37 @@ public class AttendanceController {
         }
     }
 
+    @PostMapping("/review-corrections")
+    public ResponseEntity<?> reviewCorrectionRequests(@RequestBody Map<String, Object> request) {
+        try {
+            if (!sessionService.isFaculty()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+            }
+
+            List<?> rawIds = (List<?>) request.get("requestIds");
+            List<Long> requestIds = rawIds.stream()
+                .map(id -> Long.valueOf(id.toString()))
+                .toList();
+            String status = request.get("status").toString();
+            Object comments = request.get("comments");
+
+            User faculty = sessionService.getCurrentUser();
+            AttendanceCorrectionRequest.RequestStatus requestStatus = 
+                AttendanceCorrectionRequest.RequestStatus.valueOf(status);
+
+            int reviewed = attendanceService.reviewCorrectionRequests(
+                requestIds, requestStatus, faculty, comments == null ? null : comments.toString());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", reviewed + " correction requests " + requestStatus.name().toLowerCase());
+            response.put("reviewed", reviewed);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error reviewing correction requests: " + e.getMessage());
+        }
+    }
+
     // Admin endpoints for reports
     @GetMapping("/reports/{courseId}/{month}/{year}")
     public ResponseEntity<?> getCourseAttendanceReports(
@@ -239,26 +343,115 @@ public class AttendanceController {
         }
     }
 
+    /**
+     * One page of the month's reports. {@code sort} is a comma separated list of
+     * field[:asc|desc] using the keys of REPORT_SORT_PATHS.
+     */
     @GetMapping("/reports/{month}/{year}")
     public ResponseEntity<?> getAllAttendanceReports(
             @PathVariable int month,
-            @PathVariable int year) {
+            @PathVariable int year,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String sort) {
         try {
             if (!sessionService.isAdmin()) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
             }
+            if (page < 0 || size < 1 || size > MAX_REPORT_PAGE_SIZE) {
+                return ResponseEntity.badRequest()
+                        .body("page must be >= 0 and size between 1 and " + MAX_REPORT_PAGE_SIZE);
+            }
 
-            List<AttendanceReport> reports = 
-                attendanceService.getAllStudentsAttendanceReports(month, year);
+            Page<AttendanceReportRow> reports = attendanceService.getAllStudentsAttendanceReports(
+                month, year, PageRequest.of(page, size, parseReportSort(sort)));
 
-            return ResponseEntity.ok(reports);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("reports", reports.getContent());
+            response.put("page", reports.getNumber());
+            response.put("size", reports.getSize());
+            response.put("totalElements", reports.getTotalElements());
+            response.put("totalPages", reports.getTotalPages());
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Error retrieving attendance reports: " + e.getMessage());
         }
     }
 
-    // Generate monthly reports (can be called by admin or automated task)
+    // Stream attendance totals as CSV, optionally filtered by course, student and date range
+    @GetMapping("/export")
+    public ResponseEntity<?> exportAttendanceCsv(
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!sessionService.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+        }
+
+        StreamingResponseBody body = out -> exportService.exportCsv(out, courseId, studentId, from, to);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"attendance.csv\"")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+
+    // Import a roll-call CSV export (username, course_code, date, status); faculty only for their own courses.
+    // Rows are written in chunks; the importCsv benchmark measures the rate, which has not been recorded yet.
+    @PostMapping("/import")
+    public ResponseEntity<?> importAttendanceCsv(@RequestParam("file") MultipartFile file) {
+        if (!sessionService.isAdmin() && !sessionService.isFaculty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+        }
+        if (file.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("The file is empty");
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            AttendanceImportResult result =
+                    importService.importCsv(in, file.getOriginalFilename(), sessionService.getCurrentUser());
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error importing attendance: " + e.getMessage());
+        }
+    }
+
+    // Rebuild the materialized attendance counters to repair drift
+    @PostMapping("/counters/rebuild")
+    public ResponseEntity<?> rebuildAttendanceCounters(@RequestParam(required = false) Long courseId) {
+        try {
+            if (!sessionService.isAdmin()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+            }
+
+            int rows = attendanceService.rebuildAttendanceCounters(courseId);
+            return ResponseEntity.ok("Rebuilt " + rows + " attendance counters");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error rebuilding attendance counters: " + e.getMessage());
+        }
+    }
+
+    // Rebuild the heatmap/trend session rollups to repair drift
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<?> rebuildAttendanceRollups() {
+        try {
+            if (!sessionService.isAdmin()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+            }
+
+            int rows = rollupService.rebuildAll();
+            return ResponseEntity.ok("Rebuilt " + rows + " attendance rollups");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error rebuilding attendance rollups: " + e.getMessage());
+        }
+    }
+
+    // Generate monthly reports (can be called by admin or automated task).
+    // Runs as a background job; poll the returned job id for progress.
     @PostMapping("/generate-reports/{month}/{year}")
     public ResponseEntity<?> generateMonthlyReports(
             @PathVariable int month,
@@ -268,11 +461,55 @@ public class AttendanceController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
             }
 
-            attendanceService.generateMonthlyReports(month, year);
-            return ResponseEntity.ok("Monthly reports generated successfully");
+            AttendanceReportJob job = reportJobService.startJob(month, year);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("jobId", job.getJobId());
+            response.put("status", job.getStatus());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Error generating monthly reports: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/generate-reports/jobs/{jobId}")
+    public ResponseEntity<?> getReportJobStatus(@PathVariable Long jobId) {
+        try {
+            if (!sessionService.isAdmin() && !sessionService.isFaculty()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+            }
+
+            Optional<AttendanceReportJob> jobOpt = reportJobService.getJob(jobId);
+            if (!jobOpt.isPresent()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Report job not found");
+            }
+
+            return ResponseEntity.ok(jobOpt.get());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error retrieving report job: " + e.getMessage());
+        }
+    }
+
+    private static Sort parseReportSort(String sort) {
+        // Report id last so pages stay stable when the requested keys tie
+        Sort result = Sort.unsorted();
+        if (sort != null && !sort.isBlank()) {
+            for (String field : sort.split(",")) {
+                String[] parts = field.trim().split(":");
+                String[] paths = REPORT_SORT_PATHS.get(parts[0]);
+                if (paths == null) {
+                    throw new IllegalArgumentException("Unknown sort field: " + parts[0]);
+                }
+                Sort.Direction direction = parts.length > 1
+                    ? Sort.Direction.fromString(parts[1])
+                    : Sort.Direction.ASC;
+                result = result.and(Sort.by(direction, paths));
+            }
+        } else {
+            result = Sort.by("course.courseCode", "student.lastName", "student.firstName");
+        }
+        return result.and(Sort.by("reportId"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.smartcampus.examgrading.controller;
+
+import com.smartcampus.examgrading.model.StudentTermGpa;
+import com.smartcampus.examgrading.model.TranscriptRebuild;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.service.SessionService;
+import com.smartcampus.examgrading.service.TranscriptService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/transcripts")
+public class TranscriptController {
+
+    private final TranscriptService transcriptService;
+    private final SessionService sessionService;
+
+    public TranscriptController(TranscriptService transcriptService, SessionService sessionService) {
+        this.transcriptService = transcriptService;
+        this.sessionService = sessionService;
+    }
+
+    // Per-term GPA and CGPA of a student; students may only read their own
+    @GetMapping("/student/{studentId}")
+    public ResponseEntity<?> getTranscript(@PathVariable Long studentId) {
+        User currentUser = sessionService.getCurrentUser();
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not logged in");
+        }
+        if (sessionService.isStudent() && !currentUser.getUserId().equals(studentId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+        }
+
+        List<StudentTermGpa> transcript = transcriptService.getTranscript(studentId);
+        return ResponseEntity.ok(transcript);
+    }
+
+    // Recompute every transcript, e.g. after changing the grade point scale.
+    // Runs in the background; poll the status endpoint for progress.
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuildTranscripts() {
+        try {
+            if (!sessionService.isAdmin()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+            }
+
+            TranscriptRebuild rebuild = transcriptService.startRebuild();
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(rebuild);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error rebuilding transcripts: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/rebuild")
+    public ResponseEntity<?> getRebuildStatus() {
+        if (!sessionService.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+        }
+
+        Optional<TranscriptRebuild> rebuildOpt = transcriptService.getRebuild();
+        if (!rebuildOpt.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No transcript rebuild has run");
+        }
+        return ResponseEntity.ok(rebuildOpt.get());
+    }
+}
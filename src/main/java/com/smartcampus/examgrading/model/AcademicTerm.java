@@ -0,0 +1,67 @@
+package com.smartcampus.examgrading.model;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Half-year academic term: January-June and July-December. Attendance bitmaps and
+ * transcripts are both partitioned by it.
+ */
+public final class AcademicTerm {
+
+    private final int year;
+    private final int half;
+
+    private AcademicTerm(int year, int half) {
+        this.year = year;
+        this.half = half;
+    }
+
+    public static AcademicTerm of(LocalDate date) {
+        return new AcademicTerm(date.getYear(), date.getMonthValue() <= 6 ? 1 : 2);
+    }
+
+    public static AcademicTerm parse(String key) {
+        String[] parts = key.split("-S");
+        return new AcademicTerm(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    /** Stable key, e.g. "2025-S1"; keys sort chronologically */
+    public String getKey() {
+        return year + "-S" + half;
+    }
+
+    public LocalDate getStart() {
+        return LocalDate.of(year, half == 1 ? 1 : 7, 1);
+    }
+
+    public LocalDate getEndExclusive() {
+        return getStart().plusMonths(6);
+    }
+
+    public AcademicTerm next() {
+        return half == 1 ? new AcademicTerm(year, 2) : new AcademicTerm(year + 1, 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AcademicTerm)) {
+            return false;
+        }
+        AcademicTerm other = (AcademicTerm) o;
+        return year == other.year && half == other.half;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(year, half);
+    }
+
+    @Override
+    public String toString() {
+        return getKey();
+    }
+}
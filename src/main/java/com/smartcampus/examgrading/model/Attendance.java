@@ -1,11 +1,18 @@
 package com.smartcampus.examgrading.model;
 
 import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance", uniqueConstraints = {
+        // Also serves as the (student_id, course_id, attendance_date) range index
+        @UniqueConstraint(columnNames = { "student_id", "course_id", "attendance_date" })
+}, indexes = {
+        @Index(name = "idx_attendance_course_date", columnList = "course_id, attendance_date")
+})
 public class Attendance {
 
     @Id
@@ -39,6 +46,18 @@ public class Attendance {
         PRESENT, ABSENT, LATE, EXCUSED
     }
 
+    /**
+     * A student's attendance percentage in a course: classes marked PRESENT as a share of
+     * classes held, with two decimals. The counters, term bitmaps and summaries all use it.
+     */
+    public static BigDecimal attendancePercentage(long presentCount, long totalCount) {
+        if (totalCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(presentCount * 100.0 / totalCount)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
     // Getters and Setters
     public Long getAttendanceId() {
         return attendanceId;
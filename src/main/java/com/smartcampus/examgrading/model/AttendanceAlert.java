@@ -0,0 +1,126 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Low-attendance alert for one student in one course, at most one per period
+ * (calendar month, e.g. "2025-03"). Written by the risk scanner and resolved when the
+ * student's attendance recovers.
+ */
+@Entity
+@Table(name = "attendance_alerts", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "student_id", "course_id", "period" })
+}, indexes = {
+        @Index(name = "idx_attendance_alerts_status", columnList = "status, course_id")
+})
+public class AttendanceAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "alert_id")
+    private Long alertId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(nullable = false, length = 7)
+    private String period;
+
+    @Column(name = "attendance_percentage", nullable = false, precision = 5, scale = 2)
+    private BigDecimal attendancePercentage;
+
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal threshold;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AlertStatus status;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum AlertStatus {
+        OPEN, RESOLVED
+    }
+
+    // Getters and Setters
+    public Long getAlertId() {
+        return alertId;
+    }
+
+    public void setAlertId(Long alertId) {
+        this.alertId = alertId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public BigDecimal getAttendancePercentage() {
+        return attendancePercentage;
+    }
+
+    public void setAttendancePercentage(BigDecimal attendancePercentage) {
+        this.attendancePercentage = attendancePercentage;
+    }
+
+    public BigDecimal getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(BigDecimal threshold) {
+        this.threshold = threshold;
+    }
+
+    public AlertStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AlertStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.smartcampus.examgrading.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an open low-attendance alert with student and course names.
+ */
+public interface AttendanceAlertSummary {
+
+    Long getAlertId();
+
+    Long getStudentId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    Long getCourseId();
+
+    String getCourseName();
+
+    String getPeriod();
+
+    BigDecimal getAttendancePercentage();
+
+    BigDecimal getThreshold();
+
+    LocalDateTime getUpdatedAt();
+
+    default String getStudentName() {
+        return getFirstName() + " " + getLastName();
+    }
+}
@@ -0,0 +1,248 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Compact roll call for one student in one course over one {@link AttendanceTerm}.
+ * Bit i stands for day i of the term: {@code heldBits} marks days with a recorded
+ * session, {@code attendedBits} the ones the student attended (PRESENT or LATE),
+ * {@code lateBits} the attended ones marked LATE and {@code excusedBits} the ones marked
+ * EXCUSED.
+ */
+@Entity
+@Table(name = "attendance_bitmaps")
+@IdClass(AttendanceBitmapId.class)
+public class AttendanceBitmap {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Id
+    @Column(name = "term", length = 8)
+    private String term;
+
+    @Column(name = "held_bits", nullable = false, columnDefinition = "BINARY(23)")
+    private byte[] heldBits;
+
+    @Column(name = "attended_bits", nullable = false, columnDefinition = "BINARY(23)")
+    private byte[] attendedBits;
+
+    @Column(name = "excused_bits", nullable = false, columnDefinition = "BINARY(23)")
+    private byte[] excusedBits;
+
+    @Column(name = "late_bits", nullable = false, columnDefinition = "BINARY(23)")
+    private byte[] lateBits;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public BitSet held() {
+        return BitSet.valueOf(heldBits);
+    }
+
+    public BitSet attended() {
+        return BitSet.valueOf(attendedBits);
+    }
+
+    public BitSet excused() {
+        return BitSet.valueOf(excusedBits);
+    }
+
+    public BitSet late() {
+        return BitSet.valueOf(lateBits);
+    }
+
+    public int getHeldCount() {
+        return held().cardinality();
+    }
+
+    public int getAttendedCount() {
+        return attended().cardinality();
+    }
+
+    public int getLateCount() {
+        return late().cardinality();
+    }
+
+    /**
+     * Sessions attended on time
+     */
+    public int getPresentCount() {
+        BitSet present = attended();
+        present.andNot(late());
+        return present.cardinality();
+    }
+
+    /**
+     * Term percentage under the same rule as the counters; see {@link Attendance#attendancePercentage}
+     */
+    public BigDecimal getAttendancePercentage() {
+        return Attendance.attendancePercentage(getPresentCount(), getHeldCount());
+    }
+
+    /**
+     * Longest run of consecutive recorded sessions missed without excuse. Excused
+     * sessions neither extend nor break a run.
+     */
+    public int getLongestAbsenceStreak() {
+        BitSet held = held();
+        BitSet attended = attended();
+        BitSet excused = excused();
+        int longest = 0;
+        int current = 0;
+        for (int i = held.nextSetBit(0); i >= 0; i = held.nextSetBit(i + 1)) {
+            if (attended.get(i)) {
+                current = 0;
+            } else if (!excused.get(i)) {
+                current++;
+                longest = Math.max(longest, current);
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Per-week presence vectors for the term, Monday first.
+     */
+    public List<WeeklyPresence> getWeeklyPresence() {
+        AttendanceTerm attendanceTerm = AttendanceTerm.parse(term);
+        BitSet held = held();
+        BitSet attended = attended();
+
+        List<WeeklyPresence> weeks = new ArrayList<>();
+        LocalDate weekStart = attendanceTerm.getStart().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        while (weekStart.isBefore(attendanceTerm.getEndExclusive())) {
+            int heldMask = 0;
+            int attendedMask = 0;
+            for (int day = 0; day < 7; day++) {
+                LocalDate date = weekStart.plusDays(day);
+                if (date.isBefore(attendanceTerm.getStart()) || !date.isBefore(attendanceTerm.getEndExclusive())) {
+                    continue;
+                }
+                int bit = attendanceTerm.bitIndex(date);
+                if (held.get(bit)) {
+                    heldMask |= 1 << day;
+                }
+                if (attended.get(bit)) {
+                    attendedMask |= 1 << day;
+                }
+            }
+            weeks.add(new WeeklyPresence(weekStart, heldMask, attendedMask));
+            weekStart = weekStart.plusWeeks(1);
+        }
+        return weeks;
+    }
+
+    /**
+     * Sessions held and attended in one week; bit 0 is Monday, bit 6 is Sunday.
+     */
+    public static class WeeklyPresence {
+        private final LocalDate weekStart;
+        private final int heldMask;
+        private final int attendedMask;
+
+        public WeeklyPresence(LocalDate weekStart, int heldMask, int attendedMask) {
+            this.weekStart = weekStart;
+            this.heldMask = heldMask;
+            this.attendedMask = attendedMask;
+        }
+
+        public LocalDate getWeekStart() {
+            return weekStart;
+        }
+
+        public int getHeldMask() {
+            return heldMask;
+        }
+
+        public int getAttendedMask() {
+            return attendedMask;
+        }
+
+        public int getHeldCount() {
+            return Integer.bitCount(heldMask);
+        }
+
+        public int getAttendedCount() {
+            return Integer.bitCount(attendedMask);
+        }
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public byte[] getHeldBits() {
+        return heldBits;
+    }
+
+    public void setHeldBits(byte[] heldBits) {
+        this.heldBits = heldBits;
+    }
+
+    public byte[] getAttendedBits() {
+        return attendedBits;
+    }
+
+    public void setAttendedBits(byte[] attendedBits) {
+        this.attendedBits = attendedBits;
+    }
+
+    public byte[] getExcusedBits() {
+        return excusedBits;
+    }
+
+    public void setExcusedBits(byte[] excusedBits) {
+        this.excusedBits = excusedBits;
+    }
+
+    public byte[] getLateBits() {
+        return lateBits;
+    }
+
+    public void setLateBits(byte[] lateBits) {
+        this.lateBits = lateBits;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.smartcampus.examgrading.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link AttendanceBitmap}.
+ */
+public class AttendanceBitmapId implements Serializable {
+
+    private Long studentId;
+    private Long courseId;
+    private String term;
+
+    public AttendanceBitmapId() {
+    }
+
+    public AttendanceBitmapId(Long studentId, Long courseId, String term) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.term = term;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AttendanceBitmapId)) {
+            return false;
+        }
+        AttendanceBitmapId other = (AttendanceBitmapId) o;
+        return Objects.equals(studentId, other.studentId) && Objects.equals(courseId, other.courseId)
+                && Objects.equals(term, other.term);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, courseId, term);
+    }
+}
@@ -0,0 +1,49 @@
+package com.smartcampus.examgrading.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Attendance written for one class session (course and date) in one transaction.
+ * Carries ids only so it can be handled after commit without touching entities.
+ */
+public class AttendanceChangeEvent {
+
+    private final Long courseId;
+    private final LocalDate attendanceDate;
+    private final Long markedById;
+    private final Map<Long, Attendance.AttendanceStatus> statusByStudentId;
+    private final LocalDateTime occurredAt;
+
+    public AttendanceChangeEvent(Long courseId, LocalDate attendanceDate, Long markedById,
+                                 Map<Long, Attendance.AttendanceStatus> statusByStudentId) {
+        this.courseId = courseId;
+        this.attendanceDate = attendanceDate;
+        this.markedById = markedById;
+        this.statusByStudentId = Collections.unmodifiableMap(new LinkedHashMap<>(statusByStudentId));
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public LocalDate getAttendanceDate() {
+        return attendanceDate;
+    }
+
+    public Long getMarkedById() {
+        return markedById;
+    }
+
+    public Map<Long, Attendance.AttendanceStatus> getStatusByStudentId() {
+        return statusByStudentId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attendance_correction_requests")
+@Table(name = "attendance_correction_requests", indexes = {
+        // Drives the pending queue in requested order; attendance.marked_by is checked per row
+        @Index(name = "idx_correction_status_requested", columnList = "status, requested_at, request_id")
+})
 public class AttendanceCorrectionRequest {
 
     @Id
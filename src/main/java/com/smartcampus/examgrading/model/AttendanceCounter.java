@@ -0,0 +1,119 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized attendance totals for one student in one course, kept in step with
+ * the attendance table whenever attendance is marked or corrected.
+ */
+@Entity
+@Table(name = "attendance_counters", indexes = {
+        // Lets the low-attendance scanner read only counters changed since its last run
+        @Index(name = "idx_attendance_counters_updated", columnList = "updated_at, student_id, course_id")
+})
+@IdClass(AttendanceCounterId.class)
+public class AttendanceCounter {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "total_count", nullable = false)
+    private Integer totalCount;
+
+    @Column(name = "present_count", nullable = false)
+    private Integer presentCount;
+
+    @Column(name = "absent_count", nullable = false)
+    private Integer absentCount;
+
+    @Column(name = "late_count", nullable = false)
+    private Integer lateCount;
+
+    @Column(name = "excused_count", nullable = false)
+    private Integer excusedCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * See {@link Attendance#attendancePercentage}
+     */
+    public BigDecimal getAttendancePercentage() {
+        if (totalCount == null) {
+            return BigDecimal.ZERO;
+        }
+        return Attendance.attendancePercentage(presentCount, totalCount);
+    }
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Integer getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(Integer totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public Integer getPresentCount() {
+        return presentCount;
+    }
+
+    public void setPresentCount(Integer presentCount) {
+        this.presentCount = presentCount;
+    }
+
+    public Integer getAbsentCount() {
+        return absentCount;
+    }
+
+    public void setAbsentCount(Integer absentCount) {
+        this.absentCount = absentCount;
+    }
+
+    public Integer getLateCount() {
+        return lateCount;
+    }
+
+    public void setLateCount(Integer lateCount) {
+        this.lateCount = lateCount;
+    }
+
+    public Integer getExcusedCount() {
+        return excusedCount;
+    }
+
+    public void setExcusedCount(Integer excusedCount) {
+        this.excusedCount = excusedCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,46 @@
+package com.smartcampus.examgrading.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link AttendanceCounter}.
+ */
+public class AttendanceCounterId implements Serializable {
+
+    private Long studentId;
+    private Long courseId;
+
+    public AttendanceCounterId() {
+    }
+
+    public AttendanceCounterId(Long studentId, Long courseId) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AttendanceCounterId)) {
+            return false;
+        }
+        AttendanceCounterId other = (AttendanceCounterId) o;
+        return Objects.equals(studentId, other.studentId) && Objects.equals(courseId, other.courseId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, courseId);
+    }
+}
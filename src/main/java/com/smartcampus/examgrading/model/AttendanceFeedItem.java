@@ -0,0 +1,67 @@
+package com.smartcampus.examgrading.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One class session's attendance changes as shown in the live feed. Items for the same
+ * session can be merged while they wait to be pushed.
+ */
+public class AttendanceFeedItem {
+
+    private final Long courseId;
+    private final Long facultyId;
+    private final LocalDate attendanceDate;
+    private final String message;
+    private final int changes;
+    private final LocalDateTime updatedAt;
+
+    public AttendanceFeedItem(Long courseId, Long facultyId, LocalDate attendanceDate,
+                              String message, int changes, LocalDateTime updatedAt) {
+        this.courseId = courseId;
+        this.facultyId = facultyId;
+        this.attendanceDate = attendanceDate;
+        this.message = message;
+        this.changes = changes;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Session this item belongs to; items with equal keys are merged.
+     */
+    public String getSessionKey() {
+        return courseId + ":" + attendanceDate;
+    }
+
+    /**
+     * Combine with a newer item for the same session, keeping its message and adding up changes.
+     */
+    public AttendanceFeedItem merge(AttendanceFeedItem newer) {
+        return new AttendanceFeedItem(courseId, facultyId, attendanceDate, newer.message,
+            changes + newer.changes, newer.updatedAt);
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getFacultyId() {
+        return facultyId;
+    }
+
+    public LocalDate getAttendanceDate() {
+        return attendanceDate;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public int getChanges() {
+        return changes;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,44 @@
+package com.smartcampus.examgrading.model;
+
+/**
+ * Outcome of writing a single student's attendance as part of a bulk mark.
+ */
+public class AttendanceMarkResult {
+
+    public enum Outcome {
+        INSERTED, UPDATED, UNCHANGED, SKIPPED
+    }
+
+    private final Long studentId;
+    private final Attendance.AttendanceStatus status;
+    private final Attendance.AttendanceStatus previousStatus;
+    private final Outcome outcome;
+
+    public AttendanceMarkResult(Long studentId, Attendance.AttendanceStatus status,
+                                Attendance.AttendanceStatus previousStatus, Outcome outcome) {
+        this.studentId = studentId;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.outcome = outcome;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Attendance.AttendanceStatus getStatus() {
+        return status;
+    }
+
+    public Attendance.AttendanceStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isWritten() {
+        return outcome != Outcome.SKIPPED;
+    }
+}
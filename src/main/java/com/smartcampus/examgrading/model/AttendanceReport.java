@@ -5,7 +5,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attendance_reports")
+@Table(name = "attendance_reports", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "student_id", "course_id", "month", "year" })
+}, indexes = {
+        @Index(name = "idx_attendance_reports_period", columnList = "year, month")
+})
 public class AttendanceReport {
 
     @Id
@@ -0,0 +1,158 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "attendance_report_jobs")
+public class AttendanceReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    @Column(name = "total_partitions", nullable = false)
+    private Integer totalPartitions;
+
+    @Column(name = "completed_partitions", nullable = false)
+    private Integer completedPartitions;
+
+    @Column(name = "rows_written", nullable = false)
+    private Long rowsWritten;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    // Year and month (2025-03) while the job is unfinished, cleared once it completes; the
+    // unique key lets only one queued, running or failed job exist per month
+    @Column(name = "active_period", length = 7, unique = true)
+    private String activePeriod;
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    // Getters and Setters
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public void setMonth(Integer month) {
+        this.month = month;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public Integer getTotalPartitions() {
+        return totalPartitions;
+    }
+
+    public void setTotalPartitions(Integer totalPartitions) {
+        this.totalPartitions = totalPartitions;
+    }
+
+    public Integer getCompletedPartitions() {
+        return completedPartitions;
+    }
+
+    public void setCompletedPartitions(Integer completedPartitions) {
+        this.completedPartitions = completedPartitions;
+    }
+
+    public Long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(Long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getActivePeriod() {
+        return activePeriod;
+    }
+
+    public void setActivePeriod(String activePeriod) {
+        this.activePeriod = activePeriod;
+    }
+
+    /**
+     * Key of the month in {@code active_period}
+     */
+    public static String activePeriodOf(int month, int year) {
+        return String.format("%04d-%02d", year, month);
+    }
+}
@@ -0,0 +1,89 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint row for one course of a monthly report job. A job resumed after a
+ * crash only re-runs the partitions that are not yet COMPLETED.
+ */
+@Entity
+@Table(name = "attendance_report_job_partitions", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "job_id", "course_id" })
+})
+public class AttendanceReportJobPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "partition_id")
+    private Long partitionId;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PartitionStatus status;
+
+    @Column(name = "rows_written")
+    private Long rowsWritten;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum PartitionStatus {
+        PENDING, COMPLETED, FAILED
+    }
+
+    // Getters and Setters
+    public Long getPartitionId() {
+        return partitionId;
+    }
+
+    public void setPartitionId(Long partitionId) {
+        this.partitionId = partitionId;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public PartitionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PartitionStatus status) {
+        this.status = status;
+    }
+
+    public Long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(Long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
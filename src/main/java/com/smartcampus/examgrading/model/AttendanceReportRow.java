@@ -0,0 +1,110 @@
+package com.smartcampus.examgrading.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One monthly attendance report with only the student and course fields a listing
+ * needs, so report pages are read without loading User or Course entities.
+ */
+public class AttendanceReportRow {
+
+    private final Long reportId;
+    private final Long studentId;
+    private final String studentName;
+    private final Long courseId;
+    private final String courseCode;
+    private final String courseName;
+    private final Integer month;
+    private final Integer year;
+    private final Integer totalClasses;
+    private final Integer presentCount;
+    private final Integer absentCount;
+    private final Integer lateCount;
+    private final Integer excusedCount;
+    private final BigDecimal attendancePercentage;
+    private final LocalDateTime generatedAt;
+
+    public AttendanceReportRow(Long reportId, Long studentId, String firstName, String lastName,
+                               Long courseId, String courseCode, String courseName,
+                               Integer month, Integer year, Integer totalClasses,
+                               Integer presentCount, Integer absentCount, Integer lateCount,
+                               Integer excusedCount, BigDecimal attendancePercentage,
+                               LocalDateTime generatedAt) {
+        this.reportId = reportId;
+        this.studentId = studentId;
+        this.studentName = firstName + " " + lastName;
+        this.courseId = courseId;
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.month = month;
+        this.year = year;
+        this.totalClasses = totalClasses;
+        this.presentCount = presentCount;
+        this.absentCount = absentCount;
+        this.lateCount = lateCount;
+        this.excusedCount = excusedCount;
+        this.attendancePercentage = attendancePercentage;
+        this.generatedAt = generatedAt;
+    }
+
+    public Long getReportId() {
+        return reportId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public Integer getTotalClasses() {
+        return totalClasses;
+    }
+
+    public Integer getPresentCount() {
+        return presentCount;
+    }
+
+    public Integer getAbsentCount() {
+        return absentCount;
+    }
+
+    public Integer getLateCount() {
+        return lateCount;
+    }
+
+    public Integer getExcusedCount() {
+        return excusedCount;
+    }
+
+    public BigDecimal getAttendancePercentage() {
+        return attendancePercentage;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+}
@@ -0,0 +1,153 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+
+/**
+ * Attendance totals of one course's class session, keyed by ISO week and weekday so
+ * heatmaps and weekly trends read a handful of rows instead of the attendance history.
+ * Recomputed from the attendance table whenever the session's attendance changes.
+ */
+@Entity
+@Table(name = "attendance_rollups")
+@IdClass(AttendanceRollupId.class)
+public class AttendanceRollup {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    // ISO week-based year * 100 + ISO week, as MySQL YEARWEEK(date, 3) returns it
+    @Id
+    @Column(name = "iso_week")
+    private Integer isoWeek;
+
+    // ISO day of week, 1 = Monday
+    @Id
+    @Column(name = "weekday")
+    private Integer weekday;
+
+    @Column(name = "session_date", nullable = false)
+    private LocalDate sessionDate;
+
+    @Column(name = "total_count", nullable = false)
+    private Integer totalCount;
+
+    @Column(name = "present_count", nullable = false)
+    private Integer presentCount;
+
+    @Column(name = "absent_count", nullable = false)
+    private Integer absentCount;
+
+    @Column(name = "late_count", nullable = false)
+    private Integer lateCount;
+
+    @Column(name = "excused_count", nullable = false)
+    private Integer excusedCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * The week key a date is rolled up under.
+     */
+    public static int isoWeekOf(LocalDate date) {
+        return date.get(IsoFields.WEEK_BASED_YEAR) * 100 + date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+    }
+
+    /**
+     * Share of marked students that were PRESENT, as a percentage with two decimals
+     */
+    public BigDecimal getAttendancePercentage() {
+        if (totalCount == null || totalCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(presentCount * 100.0 / totalCount)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Integer getIsoWeek() {
+        return isoWeek;
+    }
+
+    public void setIsoWeek(Integer isoWeek) {
+        this.isoWeek = isoWeek;
+    }
+
+    public Integer getWeekday() {
+        return weekday;
+    }
+
+    public void setWeekday(Integer weekday) {
+        this.weekday = weekday;
+    }
+
+    public LocalDate getSessionDate() {
+        return sessionDate;
+    }
+
+    public void setSessionDate(LocalDate sessionDate) {
+        this.sessionDate = sessionDate;
+    }
+
+    public Integer getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(Integer totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public Integer getPresentCount() {
+        return presentCount;
+    }
+
+    public void setPresentCount(Integer presentCount) {
+        this.presentCount = presentCount;
+    }
+
+    public Integer getAbsentCount() {
+        return absentCount;
+    }
+
+    public void setAbsentCount(Integer absentCount) {
+        this.absentCount = absentCount;
+    }
+
+    public Integer getLateCount() {
+        return lateCount;
+    }
+
+    public void setLateCount(Integer lateCount) {
+        this.lateCount = lateCount;
+    }
+
+    public Integer getExcusedCount() {
+        return excusedCount;
+    }
+
+    public void setExcusedCount(Integer excusedCount) {
+        this.excusedCount = excusedCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
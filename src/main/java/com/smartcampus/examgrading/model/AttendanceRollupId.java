@@ -0,0 +1,53 @@
+package com.smartcampus.examgrading.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link AttendanceRollup}.
+ */
+public class AttendanceRollupId implements Serializable {
+
+    private Long courseId;
+    private Integer isoWeek;
+    private Integer weekday;
+
+    public AttendanceRollupId() {
+    }
+
+    public AttendanceRollupId(Long courseId, Integer isoWeek, Integer weekday) {
+        this.courseId = courseId;
+        this.isoWeek = isoWeek;
+        this.weekday = weekday;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Integer getIsoWeek() {
+        return isoWeek;
+    }
+
+    public Integer getWeekday() {
+        return weekday;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AttendanceRollupId)) {
+            return false;
+        }
+        AttendanceRollupId other = (AttendanceRollupId) o;
+        return Objects.equals(courseId, other.courseId) && Objects.equals(isoWeek, other.isoWeek)
+                && Objects.equals(weekday, other.weekday);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(courseId, isoWeek, weekday);
+    }
+}
@@ -0,0 +1,39 @@
+package com.smartcampus.examgrading.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of one student's attendance totals in one course.
+ */
+public interface AttendanceSummary {
+
+    Long getStudentId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    Long getCourseId();
+
+    Long getTotalClasses();
+
+    Long getPresentCount();
+
+    Long getAbsentCount();
+
+    Long getLateCount();
+
+    Long getExcusedCount();
+
+    default String getStudentName() {
+        return getFirstName() + " " + getLastName();
+    }
+
+    /**
+     * See {@link Attendance#attendancePercentage}
+     */
+    default BigDecimal getAttendancePercentage() {
+        long total = getTotalClasses() == null ? 0 : getTotalClasses();
+        return Attendance.attendancePercentage(total == 0 ? 0 : getPresentCount(), total);
+    }
+}
@@ -0,0 +1,79 @@
+package com.smartcampus.examgrading.model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bitmap layout of an {@link AcademicTerm}: one bit per calendar day of the term.
+ * Attendance is unique per student, course and day, so that is enough to hold every
+ * scheduled session.
+ */
+public final class AttendanceTerm {
+
+    /** Days in the longest term (July-December), rounded up to whole bytes */
+    public static final int MAX_DAYS = 184;
+    public static final int BITMAP_BYTES = (MAX_DAYS + 7) / 8;
+
+    private final AcademicTerm term;
+
+    private AttendanceTerm(AcademicTerm term) {
+        this.term = term;
+    }
+
+    public static AttendanceTerm of(LocalDate date) {
+        return new AttendanceTerm(AcademicTerm.of(date));
+    }
+
+    public static AttendanceTerm parse(String key) {
+        return new AttendanceTerm(AcademicTerm.parse(key));
+    }
+
+    /** Stable key stored with each bitmap, e.g. "2025-S1" */
+    public String getKey() {
+        return term.getKey();
+    }
+
+    public LocalDate getStart() {
+        return term.getStart();
+    }
+
+    public LocalDate getEndExclusive() {
+        return term.getEndExclusive();
+    }
+
+    public int bitIndex(LocalDate date) {
+        if (date.isBefore(getStart()) || !date.isBefore(getEndExclusive())) {
+            throw new IllegalArgumentException(date + " is not in term " + getKey());
+        }
+        return (int) ChronoUnit.DAYS.between(getStart(), date);
+    }
+
+    public LocalDate dateOf(int bitIndex) {
+        return getStart().plusDays(bitIndex);
+    }
+
+    public AttendanceTerm next() {
+        return new AttendanceTerm(term.next());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AttendanceTerm)) {
+            return false;
+        }
+        return term.equals(((AttendanceTerm) o).term);
+    }
+
+    @Override
+    public int hashCode() {
+        return term.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getKey();
+    }
+}
@@ -0,0 +1,88 @@
+package com.smartcampus.examgrading.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Attendance totals summed over a group of rolled-up sessions: one ISO week of a weekly
+ * trend, or one weekday of a heatmap.
+ */
+public class AttendanceTrendPoint {
+
+    private final String label;
+    private final LocalDate weekStart;
+    private final java.time.DayOfWeek weekday;
+    private final List<LocalTime> timeSlots;
+    private int sessions;
+    private int totalCount;
+    private int presentCount;
+
+    private AttendanceTrendPoint(String label, LocalDate weekStart, java.time.DayOfWeek weekday,
+                                 List<LocalTime> timeSlots) {
+        this.label = label;
+        this.weekStart = weekStart;
+        this.weekday = weekday;
+        this.timeSlots = timeSlots;
+    }
+
+    /**
+     * A point of a weekly trend, labelled like {@code 2025-W07}.
+     */
+    public static AttendanceTrendPoint forWeek(int isoWeek, LocalDate weekStart) {
+        return new AttendanceTrendPoint(String.format("%d-W%02d", isoWeek / 100, isoWeek % 100),
+                weekStart, null, List.of());
+    }
+
+    /**
+     * A heatmap cell for one weekday, with the start times the course is timetabled at that day.
+     */
+    public static AttendanceTrendPoint forWeekday(java.time.DayOfWeek weekday, List<LocalTime> timeSlots) {
+        return new AttendanceTrendPoint(weekday.name().charAt(0) + weekday.name().substring(1).toLowerCase(),
+                null, weekday, timeSlots);
+    }
+
+    public void add(AttendanceRollup rollup) {
+        sessions++;
+        totalCount += rollup.getTotalCount();
+        presentCount += rollup.getPresentCount();
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public java.time.DayOfWeek getWeekday() {
+        return weekday;
+    }
+
+    public List<LocalTime> getTimeSlots() {
+        return timeSlots;
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getPresentCount() {
+        return presentCount;
+    }
+
+    public BigDecimal getAttendancePercentage() {
+        if (totalCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(presentCount * 100.0 / totalCount)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,50 @@
+package com.smartcampus.examgrading.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Where a mark stands among all grades of one exam.
+ */
+public class ExamRank {
+
+    private final Long examId;
+    private final BigDecimal marksObtained;
+    private final int rank;
+    private final int classSize;
+    private final BigDecimal percentile;
+
+    public ExamRank(Long examId, BigDecimal marksObtained, int rank, int classSize, BigDecimal percentile) {
+        this.examId = examId;
+        this.marksObtained = marksObtained;
+        this.rank = rank;
+        this.classSize = classSize;
+        this.percentile = percentile;
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public BigDecimal getMarksObtained() {
+        return marksObtained;
+    }
+
+    /**
+     * 1 for the top mark; equal marks share a rank and the next rank is skipped
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    public int getClassSize() {
+        return classSize;
+    }
+
+    /**
+     * Percentile rank: share of the class below the mark, counting ties as half, with
+     * two decimals
+     */
+    public BigDecimal getPercentile() {
+        return percentile;
+    }
+}
@@ -0,0 +1,64 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Number of an exam's grades whose percentage falls in one whole-percent bucket, split
+ * by letter grade. An exam has at most one bucket per percent and letter, so percentiles
+ * and the letter histogram are read from a fixed number of rows whatever the class size.
+ */
+@Entity
+@Table(name = "exam_score_buckets")
+@IdClass(ExamScoreBucketId.class)
+public class ExamScoreBucket {
+
+    @Id
+    @Column(name = "exam_id")
+    private Long examId;
+
+    // Whole percent the grades fall in, 0 to 100; bucket 72 holds 72.00 up to 72.99
+    @Id
+    @Column(name = "bucket")
+    private Integer bucket;
+
+    // Empty for grades stored without a letter
+    @Id
+    @Column(name = "grade_letter", length = 2)
+    private String gradeLetter;
+
+    @Column(name = "grade_count", nullable = false)
+    private Integer gradeCount;
+
+    // Getters and Setters
+    public Long getExamId() {
+        return examId;
+    }
+
+    public void setExamId(Long examId) {
+        this.examId = examId;
+    }
+
+    public Integer getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(Integer bucket) {
+        this.bucket = bucket;
+    }
+
+    public String getGradeLetter() {
+        return gradeLetter;
+    }
+
+    public void setGradeLetter(String gradeLetter) {
+        this.gradeLetter = gradeLetter;
+    }
+
+    public Integer getGradeCount() {
+        return gradeCount;
+    }
+
+    public void setGradeCount(Integer gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+}
@@ -0,0 +1,53 @@
+package com.smartcampus.examgrading.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link ExamScoreBucket}.
+ */
+public class ExamScoreBucketId implements Serializable {
+
+    private Long examId;
+    private Integer bucket;
+    private String gradeLetter;
+
+    public ExamScoreBucketId() {
+    }
+
+    public ExamScoreBucketId(Long examId, Integer bucket, String gradeLetter) {
+        this.examId = examId;
+        this.bucket = bucket;
+        this.gradeLetter = gradeLetter;
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public Integer getBucket() {
+        return bucket;
+    }
+
+    public String getGradeLetter() {
+        return gradeLetter;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ExamScoreBucketId)) {
+            return false;
+        }
+        ExamScoreBucketId other = (ExamScoreBucketId) o;
+        return Objects.equals(examId, other.examId) && Objects.equals(bucket, other.bucket)
+                && Objects.equals(gradeLetter, other.gradeLetter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(examId, bucket, gradeLetter);
+    }
+}
@@ -0,0 +1,169 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Running totals of one exam's marks, from which the mean, standard deviation and pass
+ * rate are derived without reading the grades. Recomputed from the grades table whenever
+ * a grade of the exam is saved or deleted.
+ */
+@Entity
+@Table(name = "exam_statistics")
+public class ExamStatistics {
+
+    @Id
+    @Column(name = "exam_id")
+    private Long examId;
+
+    @Column(name = "grade_count", nullable = false)
+    private Integer gradeCount;
+
+    @Column(name = "marks_sum", nullable = false, precision = 12, scale = 2)
+    private BigDecimal marksSum;
+
+    @Column(name = "marks_sum_squares", nullable = false, precision = 16, scale = 4)
+    private BigDecimal marksSumSquares;
+
+    @Column(name = "min_marks", precision = 5, scale = 2)
+    private BigDecimal minMarks;
+
+    @Column(name = "max_marks", precision = 5, scale = 2)
+    private BigDecimal maxMarks;
+
+    // Grades at or above the exam's passing marks
+    @Column(name = "pass_count", nullable = false)
+    private Integer passCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Derived from the score buckets, not mapped to DB
+    @Transient
+    private BigDecimal medianMarks;
+
+    @Transient
+    private Map<String, Integer> letterDistribution;
+
+    /**
+     * Mean marks with two decimals
+     */
+    public BigDecimal getMeanMarks() {
+        if (gradeCount == null || gradeCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return marksSum.divide(BigDecimal.valueOf(gradeCount), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Population standard deviation of the marks with two decimals
+     */
+    public BigDecimal getStandardDeviation() {
+        if (gradeCount == null || gradeCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        double mean = marksSum.doubleValue() / gradeCount;
+        double variance = marksSumSquares.doubleValue() / gradeCount - mean * mean;
+        // Rounding can leave a tiny negative variance when every mark is the same
+        return BigDecimal.valueOf(Math.sqrt(Math.max(variance, 0)))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Share of grades at or above the passing marks, as a percentage with two decimals
+     */
+    public BigDecimal getPassRate() {
+        if (gradeCount == null || gradeCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(passCount * 100.0 / gradeCount)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Getters and Setters
+    public Long getExamId() {
+        return examId;
+    }
+
+    public void setExamId(Long examId) {
+        this.examId = examId;
+    }
+
+    public Integer getGradeCount() {
+        return gradeCount;
+    }
+
+    public void setGradeCount(Integer gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+
+    public BigDecimal getMarksSum() {
+        return marksSum;
+    }
+
+    public void setMarksSum(BigDecimal marksSum) {
+        this.marksSum = marksSum;
+    }
+
+    public BigDecimal getMarksSumSquares() {
+        return marksSumSquares;
+    }
+
+    public void setMarksSumSquares(BigDecimal marksSumSquares) {
+        this.marksSumSquares = marksSumSquares;
+    }
+
+    public BigDecimal getMinMarks() {
+        return minMarks;
+    }
+
+    public void setMinMarks(BigDecimal minMarks) {
+        this.minMarks = minMarks;
+    }
+
+    public BigDecimal getMaxMarks() {
+        return maxMarks;
+    }
+
+    public void setMaxMarks(BigDecimal maxMarks) {
+        this.maxMarks = maxMarks;
+    }
+
+    public Integer getPassCount() {
+        return passCount;
+    }
+
+    public void setPassCount(Integer passCount) {
+        this.passCount = passCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public BigDecimal getMedianMarks() {
+        return medianMarks;
+    }
+
+    public void setMedianMarks(BigDecimal medianMarks) {
+        this.medianMarks = medianMarks;
+    }
+
+    /**
+     * Number of grades per letter, best letter first
+     */
+    public Map<String, Integer> getLetterDistribution() {
+        return letterDistribution;
+    }
+
+    public void setLetterDistribution(Map<String, Integer> letterDistribution) {
+        this.letterDistribution = letterDistribution;
+    }
+}
@@ -5,7 +5,9 @@ import java.math.BigDecimal;
 import java.sql.Timestamp;
 
 @Entity
-@Table(name = "grades")
+@Table(name = "grades", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "student_id", "exam_id" })
+})
 public class Grade {
 
     @Id
@@ -0,0 +1,30 @@
+package com.smartcampus.examgrading.model;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Grades of one exam saved or deleted in one transaction. Carries ids only so it can be
+ * handled after commit without touching entities.
+ */
+public class GradeChangeEvent {
+
+    private final Long examId;
+    private final Set<Long> studentIds;
+
+    public GradeChangeEvent(Long examId, Collection<Long> studentIds) {
+        this.examId = examId;
+        this.studentIds = Set.copyOf(studentIds);
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    /**
+     * @return Students whose grades in the exam changed
+     */
+    public Set<Long> getStudentIds() {
+        return studentIds;
+    }
+}
@@ -0,0 +1,109 @@
+package com.smartcampus.examgrading.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of importing one gradebook file, with the rows that were rejected and why.
+ */
+public class GradeImportResult {
+
+    private final String fileName;
+    private final Long examId;
+    private final int maxRejectedDetails;
+    private final List<RejectedRow> rejectedRows = new ArrayList<>();
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private long durationMillis;
+
+    public GradeImportResult(String fileName, Long examId, int maxRejectedDetails) {
+        this.fileName = fileName;
+        this.examId = examId;
+        this.maxRejectedDetails = maxRejectedDetails;
+    }
+
+    public void rowRead() {
+        rowsRead++;
+    }
+
+    public void rowsImported(int count) {
+        rowsImported += count;
+    }
+
+    /**
+     * Count a rejected row. Only the first rows are kept in detail so a badly broken
+     * file cannot exhaust memory; the count always covers every rejected row.
+     */
+    public void reject(long lineNumber, String line, String reason) {
+        rowsRejected++;
+        if (rejectedRows.size() < maxRejectedDetails) {
+            rejectedRows.add(new RejectedRow(lineNumber, line, reason));
+        }
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return durationMillis == 0 ? rowsRead : rowsRead * 1000 / durationMillis;
+    }
+
+    public boolean isRejectedRowsTruncated() {
+        return rowsRejected > rejectedRows.size();
+    }
+
+    public List<RejectedRow> getRejectedRows() {
+        return Collections.unmodifiableList(rejectedRows);
+    }
+
+    public static class RejectedRow {
+        private final long lineNumber;
+        private final String line;
+        private final String reason;
+
+        public RejectedRow(long lineNumber, String line, String reason) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.reason = reason;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getLine() {
+            return line;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
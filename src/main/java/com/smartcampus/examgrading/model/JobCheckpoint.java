@@ -0,0 +1,56 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * How far an incremental background job has read, so a restart resumes from there.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "checkpoint_at", nullable = false)
+    private LocalDateTime checkpointAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public JobCheckpoint() {
+    }
+
+    public JobCheckpoint(String jobName, LocalDateTime checkpointAt) {
+        this.jobName = jobName;
+        this.checkpointAt = checkpointAt;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public LocalDateTime getCheckpointAt() {
+        return checkpointAt;
+    }
+
+    public void setCheckpointAt(LocalDateTime checkpointAt) {
+        this.checkpointAt = checkpointAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,148 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A dashboard notification for every user of a role. Notifications sharing a
+ * coalesce key are one row: later events add to {@code eventCount} and mark it unread.
+ */
+@Entity
+@Table(name = "notifications", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "coalesce_key" })
+}, indexes = {
+        @Index(name = "idx_notifications_role_updated", columnList = "recipient_role, updated_at")
+})
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "notification_id")
+    private Long notificationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recipient_role", nullable = false)
+    private User.Role recipientRole;
+
+    @Column(name = "coalesce_key", nullable = false, length = 100)
+    private String coalesceKey;
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "event_date")
+    private LocalDate eventDate;
+
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @Column(name = "event_count", nullable = false)
+    private Integer eventCount;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean read;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum NotificationType {
+        ATTENDANCE_CHANGE
+    }
+
+    // Getters and Setters
+    public Long getNotificationId() {
+        return notificationId;
+    }
+
+    public void setNotificationId(Long notificationId) {
+        this.notificationId = notificationId;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public void setType(NotificationType type) {
+        this.type = type;
+    }
+
+    public User.Role getRecipientRole() {
+        return recipientRole;
+    }
+
+    public void setRecipientRole(User.Role recipientRole) {
+        this.recipientRole = recipientRole;
+    }
+
+    public String getCoalesceKey() {
+        return coalesceKey;
+    }
+
+    public void setCoalesceKey(String coalesceKey) {
+        this.coalesceKey = coalesceKey;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public LocalDate getEventDate() {
+        return eventDate;
+    }
+
+    public void setEventDate(LocalDate eventDate) {
+        this.eventDate = eventDate;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Integer getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(Integer eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public void setRead(boolean read) {
+        this.read = read;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
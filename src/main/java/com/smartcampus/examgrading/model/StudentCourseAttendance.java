@@ -0,0 +1,39 @@
+package com.smartcampus.examgrading.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of one enrolled course's attendance totals for a single student.
+ */
+public interface StudentCourseAttendance {
+
+    Long getCourseId();
+
+    String getCourseCode();
+
+    String getCourseName();
+
+    Long getTotalClasses();
+
+    Long getPresentCount();
+
+    Long getAbsentCount();
+
+    Long getLateCount();
+
+    Long getExcusedCount();
+
+    /**
+     * Date of the most recent class marked for the student, or null when none was marked yet
+     */
+    LocalDate getLastMarkedDate();
+
+    /**
+     * See {@link Attendance#attendancePercentage}
+     */
+    default BigDecimal getAttendancePercentage() {
+        long total = getTotalClasses() == null ? 0 : getTotalClasses();
+        return Attendance.attendancePercentage(total == 0 ? 0 : getPresentCount(), total);
+    }
+}
@@ -0,0 +1,131 @@
+package com.smartcampus.examgrading.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One student's grade point average for one term together with the cumulative average up
+ * to and including that term. Quality points are grade points times credit hours, so each
+ * average is its quality points divided by its credit hours. Recomputed from the grades
+ * table whenever one of the student's grades is saved or deleted.
+ */
+@Entity
+@Table(name = "student_term_gpa")
+@IdClass(StudentTermGpaId.class)
+public class StudentTermGpa {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    // Half-year term key such as 2025-S1, taken from the exam dates
+    @Id
+    @Column(name = "term", length = 10)
+    private String term;
+
+    @Column(name = "course_count", nullable = false)
+    private Integer courseCount;
+
+    @Column(name = "credit_hours", nullable = false)
+    private Integer creditHours;
+
+    @Column(name = "quality_points", nullable = false, precision = 10, scale = 4)
+    private BigDecimal qualityPoints;
+
+    @Column(name = "gpa", nullable = false, precision = 4, scale = 2)
+    private BigDecimal gpa;
+
+    @Column(name = "cumulative_credit_hours", nullable = false)
+    private Integer cumulativeCreditHours;
+
+    @Column(name = "cumulative_quality_points", nullable = false, precision = 12, scale = 4)
+    private BigDecimal cumulativeQualityPoints;
+
+    @Column(name = "cgpa", nullable = false, precision = 4, scale = 2)
+    private BigDecimal cgpa;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public Integer getCourseCount() {
+        return courseCount;
+    }
+
+    public void setCourseCount(Integer courseCount) {
+        this.courseCount = courseCount;
+    }
+
+    public Integer getCreditHours() {
+        return creditHours;
+    }
+
+    public void setCreditHours(Integer creditHours) {
+        this.creditHours = creditHours;
+    }
+
+    public BigDecimal getQualityPoints() {
+        return qualityPoints;
+    }
+
+    public void setQualityPoints(BigDecimal qualityPoints) {
+        this.qualityPoints = qualityPoints;
+    }
+
+    public BigDecimal getGpa() {
+        return gpa;
+    }
+
+    public void setGpa(BigDecimal gpa) {
+        this.gpa = gpa;
+    }
+
+    public Integer getCumulativeCreditHours() {
+        return cumulativeCreditHours;
+    }
+
+    public void setCumulativeCreditHours(Integer cumulativeCreditHours) {
+        this.cumulativeCreditHours = cumulativeCreditHours;
+    }
+
+    public BigDecimal getCumulativeQualityPoints() {
+        return cumulativeQualityPoints;
+    }
+
+    public void setCumulativeQualityPoints(BigDecimal cumulativeQualityPoints) {
+        this.cumulativeQualityPoints = cumulativeQualityPoints;
+    }
+
+    public BigDecimal getCgpa() {
+        return cgpa;
+    }
+
+    public void setCgpa(BigDecimal cgpa) {
+        this.cgpa = cgpa;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,46 @@
+package com.smartcampus.examgrading.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key of {@link StudentTermGpa}.
+ */
+public class StudentTermGpaId implements Serializable {
+
+    private Long studentId;
+    private String term;
+
+    public StudentTermGpaId() {
+    }
+
+    public StudentTermGpaId(Long studentId, String term) {
+        this.studentId = studentId;
+        this.term = term;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StudentTermGpaId)) {
+            return false;
+        }
+        StudentTermGpaId other = (StudentTermGpaId) o;
+        return Objects.equals(studentId, other.studentId) && Objects.equals(term, other.term);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, term);
+    }
+}
@@ -0,0 +1,78 @@
+package com.smartcampus.examgrading.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a campus-wide transcript rebuild, held in memory. Workers update it while
+ * the rebuild runs, so readers see a consistent snapshot only once it has finished.
+ */
+public class TranscriptRebuild {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile int totalPartitions;
+    private volatile int completedPartitions;
+    private volatile int students;
+    private volatile String errorMessage;
+    private volatile LocalDateTime finishedAt;
+
+    public void started(int totalPartitions) {
+        this.totalPartitions = totalPartitions;
+        this.status = Status.RUNNING;
+    }
+
+    public synchronized void partitionCompleted(int students) {
+        this.completedPartitions++;
+        this.students += students;
+    }
+
+    public void completed() {
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    public void failed(String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getTotalPartitions() {
+        return totalPartitions;
+    }
+
+    public int getCompletedPartitions() {
+        return completedPartitions;
+    }
+
+    /**
+     * @return Students with a transcript in the partitions completed so far
+     */
+    public int getStudents() {
+        return students;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,85 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.AttendanceCounter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batched alert writes for the low-attendance scanner. The (student, course, period)
+ * unique key deduplicates alerts, so re-scanning the same counters is harmless. A
+ * student and course have at most one open alert, the one of the latest period
+ * scanned.
+ */
+@Repository
+public class AttendanceAlertJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String OPEN_SQL =
+        "INSERT INTO attendance_alerts (student_id, course_id, period, attendance_percentage, threshold, " +
+        "status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 'OPEN', ?, ?) " +
+        "ON DUPLICATE KEY UPDATE attendance_percentage = VALUES(attendance_percentage), " +
+        "threshold = VALUES(threshold), status = 'OPEN', updated_at = VALUES(updated_at)";
+
+    private static final String SUPERSEDE_SQL =
+        "UPDATE attendance_alerts SET status = 'RESOLVED', updated_at = ? " +
+        "WHERE student_id = ? AND course_id = ? AND status = 'OPEN' AND period < ?";
+
+    private static final String RESOLVE_SQL =
+        "UPDATE attendance_alerts SET status = 'RESOLVED', attendance_percentage = ?, updated_at = ? " +
+        "WHERE student_id = ? AND course_id = ? AND status = 'OPEN'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceAlertJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Open (or refresh) the period's alert for each counter below the threshold.
+     */
+    public void open(String period, BigDecimal threshold, List<AttendanceCounter> counters, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(OPEN_SQL, counters, BATCH_SIZE, (ps, counter) -> {
+            ps.setLong(1, counter.getStudentId());
+            ps.setLong(2, counter.getCourseId());
+            ps.setString(3, period);
+            ps.setBigDecimal(4, counter.getAttendancePercentage());
+            ps.setBigDecimal(5, threshold);
+            ps.setTimestamp(6, timestamp);
+            ps.setTimestamp(7, timestamp);
+        });
+    }
+
+    /**
+     * Resolve the open alerts of earlier periods for each counter, once the period's own
+     * alert has taken over from them.
+     */
+    public void supersedeEarlierPeriods(String period, List<AttendanceCounter> counters, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(SUPERSEDE_SQL, counters, BATCH_SIZE, (ps, counter) -> {
+            ps.setTimestamp(1, timestamp);
+            ps.setLong(2, counter.getStudentId());
+            ps.setLong(3, counter.getCourseId());
+            ps.setString(4, period);
+        });
+    }
+
+    /**
+     * Resolve any open alert, in every period, for counters back at or above the threshold.
+     */
+    public void resolve(List<AttendanceCounter> counters, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(RESOLVE_SQL, counters, BATCH_SIZE, (ps, counter) -> {
+            ps.setBigDecimal(1, counter.getAttendancePercentage());
+            ps.setTimestamp(2, timestamp);
+            ps.setLong(3, counter.getStudentId());
+            ps.setLong(4, counter.getCourseId());
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.AttendanceAlert;
+import com.smartcampus.examgrading.model.AttendanceAlertSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AttendanceAlertRepository extends JpaRepository<AttendanceAlert, Long> {
+
+    List<AttendanceAlert> findByStudentIdAndStatusOrderByPeriodDesc(Long studentId, AttendanceAlert.AlertStatus status);
+
+    long countByStatus(AttendanceAlert.AlertStatus status);
+
+    // Open alerts with names, optionally limited to one course (null for all)
+    @Query("SELECT a.alertId AS alertId, a.studentId AS studentId, u.firstName AS firstName, " +
+            "u.lastName AS lastName, a.courseId AS courseId, c.courseName AS courseName, a.period AS period, " +
+            "a.attendancePercentage AS attendancePercentage, a.threshold AS threshold, a.updatedAt AS updatedAt " +
+            "FROM AttendanceAlert a JOIN User u ON u.userId = a.studentId JOIN Course c ON c.id = a.courseId " +
+            "WHERE a.status = com.smartcampus.examgrading.model.AttendanceAlert.AlertStatus.OPEN " +
+            "AND (?1 IS NULL OR a.courseId = ?1) " +
+            "ORDER BY a.attendancePercentage, a.alertId")
+    List<AttendanceAlertSummary> findOpenAlertSummaries(Long courseId);
+}
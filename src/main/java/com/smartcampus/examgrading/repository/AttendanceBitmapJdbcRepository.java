@@ -0,0 +1,149 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceTerm;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitwise writes to attendance_bitmaps. A day's bits are set and cleared with MySQL
+ * binary-string operators, so marking never has to read the bitmap first.
+ */
+@Repository
+public class AttendanceBitmapJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    // VALUES(held_bits) is the single-day mask: the day's old attended/late/excused bits are
+    // cleared with it and the new ones OR-ed in
+    private static final String SET_DAY_SQL =
+        "INSERT INTO attendance_bitmaps (student_id, course_id, term, held_bits, attended_bits, late_bits, " +
+        "excused_bits, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE attended_bits = (attended_bits & ~VALUES(held_bits)) | VALUES(attended_bits), " +
+        "late_bits = (late_bits & ~VALUES(held_bits)) | VALUES(late_bits), " +
+        "excused_bits = (excused_bits & ~VALUES(held_bits)) | VALUES(excused_bits), " +
+        "held_bits = held_bits | VALUES(held_bits), updated_at = VALUES(updated_at)";
+
+    private static final String INSERT_BITMAP_SQL =
+        "INSERT INTO attendance_bitmaps (student_id, course_id, term, held_bits, attended_bits, late_bits, " +
+        "excused_bits, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceBitmapJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Record one day's status for many students of a course in batched statements.
+     */
+    public void setDay(Long courseId, LocalDate date, Map<Long, Attendance.AttendanceStatus> statusByStudentId) {
+        AttendanceTerm term = AttendanceTerm.of(date);
+        byte[] dayMask = dayMask(term.bitIndex(date));
+        byte[] noBits = new byte[AttendanceTerm.BITMAP_BYTES];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Map.Entry<Long, Attendance.AttendanceStatus>> entries = new ArrayList<>(statusByStudentId.entrySet());
+        jdbcTemplate.batchUpdate(SET_DAY_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setLong(1, entry.getKey());
+            ps.setLong(2, courseId);
+            ps.setString(3, term.getKey());
+            ps.setBytes(4, dayMask);
+            ps.setBytes(5, isAttended(entry.getValue()) ? dayMask : noBits);
+            ps.setBytes(6, entry.getValue() == Attendance.AttendanceStatus.LATE ? dayMask : noBits);
+            ps.setBytes(7, entry.getValue() == Attendance.AttendanceStatus.EXCUSED ? dayMask : noBits);
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    /**
+     * Drop every bitmap of a term ahead of a rebuild.
+     */
+    public int deleteTerm(String term) {
+        return jdbcTemplate.update("DELETE FROM attendance_bitmaps WHERE term = ?", term);
+    }
+
+    /**
+     * Insert whole bitmaps, as built by a term rebuild.
+     */
+    public void insertBitmaps(String term, List<BitmapRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_BITMAP_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.studentId);
+            ps.setLong(2, row.courseId);
+            ps.setString(3, term);
+            ps.setBytes(4, row.heldBits);
+            ps.setBytes(5, row.attendedBits);
+            ps.setBytes(6, row.lateBits);
+            ps.setBytes(7, row.excusedBits);
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    /**
+     * Stream (student_id, course_id, attendance_date, status) for every attendance row in the term.
+     */
+    public void streamTermAttendance(AttendanceTerm term, RowCallbackHandler handler) {
+        jdbcTemplate.query(
+            "SELECT student_id, course_id, attendance_date, status FROM attendance " +
+            "WHERE attendance_date >= ? AND attendance_date < ?",
+            handler, Date.valueOf(term.getStart()), Date.valueOf(term.getEndExclusive()));
+    }
+
+    /**
+     * First and last attendance date on record.
+     *
+     * @return Null when there is no attendance
+     */
+    public LocalDate[] findAttendanceDateRange() {
+        return jdbcTemplate.queryForObject(
+            "SELECT MIN(attendance_date), MAX(attendance_date) FROM attendance",
+            (rs, rowNum) -> {
+                Date first = rs.getDate(1);
+                return first == null ? null : new LocalDate[] { first.toLocalDate(), rs.getDate(2).toLocalDate() };
+            });
+    }
+
+    public static boolean isAttended(Attendance.AttendanceStatus status) {
+        return status == Attendance.AttendanceStatus.PRESENT || status == Attendance.AttendanceStatus.LATE;
+    }
+
+    private static byte[] dayMask(int bitIndex) {
+        byte[] mask = new byte[AttendanceTerm.BITMAP_BYTES];
+        mask[bitIndex / 8] = (byte) (1 << (bitIndex % 8));
+        return mask;
+    }
+
+    /**
+     * A full bitmap for one student in one course.
+     */
+    public static class BitmapRow {
+        private final long studentId;
+        private final long courseId;
+        private final byte[] heldBits;
+        private final byte[] attendedBits;
+        private final byte[] lateBits;
+        private final byte[] excusedBits;
+
+        public BitmapRow(long studentId, long courseId, byte[] heldBits, byte[] attendedBits, byte[] lateBits,
+                         byte[] excusedBits) {
+            this.studentId = studentId;
+            this.courseId = courseId;
+            this.heldBits = heldBits;
+            this.attendedBits = attendedBits;
+            this.lateBits = lateBits;
+            this.excusedBits = excusedBits;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.AttendanceBitmap;
+import com.smartcampus.examgrading.model.AttendanceBitmapId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AttendanceBitmapRepository extends JpaRepository<AttendanceBitmap, AttendanceBitmapId> {
+
+    long countByTerm(String term);
+}
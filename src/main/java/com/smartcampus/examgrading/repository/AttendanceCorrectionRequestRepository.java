@@ -3,9 +3,17 @@ package com.smartcampus.examgrading.repository;
 import com.smartcampus.examgrading.model.Attendance;
 import com.smartcampus.examgrading.model.AttendanceCorrectionRequest;
 import com.smartcampus.examgrading.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +33,33 @@ public interface AttendanceCorrectionRequestRepository extends JpaRepository<Att
     
     // Find correction requests for attendances marked by a specific faculty
     List<AttendanceCorrectionRequest> findByAttendance_MarkedBy(User faculty);
+    
+    List<AttendanceCorrectionRequest> findByAttendance_MarkedByAndStatusOrderByRequestedAtAscRequestIdAsc(
+            User faculty, 
+            AttendanceCorrectionRequest.RequestStatus status);
+    
+    // Keyset-paginated queue by (requestedAt, requestId); the grid columns are fetched with each page
+    @EntityGraph(attributePaths = { "attendance", "attendance.course", "requestedBy" })
+    Window<AttendanceCorrectionRequest> findByAttendance_MarkedByAndStatusOrderByRequestedAtAscRequestIdAsc(
+            User faculty, 
+            AttendanceCorrectionRequest.RequestStatus status, 
+            ScrollPosition position, 
+            Limit limit);
+    
+    long countByAttendance_MarkedByAndStatus(User faculty, AttendanceCorrectionRequest.RequestStatus status);
+    
+    // Request id, attendance id, student id, course id and date for the given requests that
+    // are still pending on attendance marked by the faculty
+    @Query("SELECT r.requestId, a.attendanceId, a.student.userId, a.course.id, a.attendanceDate " +
+            "FROM AttendanceCorrectionRequest r JOIN r.attendance a " +
+            "WHERE r.requestId IN ?1 AND a.markedBy = ?2 AND r.status = ?3")
+    List<Object[]> findReviewableRequests(Collection<Long> requestIds, User faculty, 
+                                          AttendanceCorrectionRequest.RequestStatus status);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AttendanceCorrectionRequest r SET r.status = ?2, r.reviewedBy = ?3, " +
+            "r.reviewComments = ?4, r.reviewedAt = ?5 " +
+            "WHERE r.requestId IN ?1 AND r.status = com.smartcampus.examgrading.model.AttendanceCorrectionRequest.RequestStatus.PENDING")
+    int reviewPending(Collection<Long> requestIds, AttendanceCorrectionRequest.RequestStatus status, 
+                      User reviewedBy, String reviewComments, LocalDateTime reviewedAt);
 } 
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.AttendanceCounter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Recomputes attendance counters from the attendance table. Every write is an
+ * aggregate INSERT ... SELECT, so a refresh is idempotent and cannot drift the way
+ * incremental deltas can under concurrent marking.
+ */
+@Repository
+public class AttendanceCounterJdbcRepository {
+
+    private static final String REFRESH_SELECT =
+        "INSERT INTO attendance_counters (student_id, course_id, total_count, present_count, " +
+        "absent_count, late_count, excused_count, updated_at) " +
+        "SELECT student_id, course_id, COUNT(*), SUM(status = 'PRESENT'), SUM(status = 'ABSENT'), " +
+        "SUM(status = 'LATE'), SUM(status = 'EXCUSED'), NOW() FROM attendance ";
+
+    private static final String REFRESH_UPSERT =
+        "GROUP BY student_id, course_id " +
+        "ON DUPLICATE KEY UPDATE total_count = VALUES(total_count), present_count = VALUES(present_count), " +
+        "absent_count = VALUES(absent_count), late_count = VALUES(late_count), " +
+        "excused_count = VALUES(excused_count), updated_at = VALUES(updated_at)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public AttendanceCounterJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Refresh the counters of the given students in one course.
+     */
+    public int refresh(Long courseId, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+            REFRESH_SELECT + "WHERE course_id = :courseId AND student_id IN (:studentIds) " + REFRESH_UPSERT,
+            new MapSqlParameterSource()
+                .addValue("courseId", courseId)
+                .addValue("studentIds", studentIds));
+    }
+
+    /**
+     * Drop and recompute every counter of one course.
+     */
+    public int rebuildCourse(Long courseId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("courseId", courseId);
+        jdbcTemplate.update("DELETE FROM attendance_counters WHERE course_id = :courseId", params);
+        return jdbcTemplate.update(REFRESH_SELECT + "WHERE course_id = :courseId " + REFRESH_UPSERT, params);
+    }
+
+    /**
+     * Drop and recompute every counter.
+     */
+    public int rebuildAll() {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        jdbcTemplate.update("DELETE FROM attendance_counters", params);
+        return jdbcTemplate.update(REFRESH_SELECT + REFRESH_UPSERT, params);
+    }
+
+    public boolean isEmpty() {
+        Integer rows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT 1 FROM attendance_counters LIMIT 1) c",
+            new MapSqlParameterSource(), Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    /**
+     * One page of counters updated at or after {@code since}, in (updated_at, student_id,
+     * course_id) order. Pass the last counter of the previous page as {@code after}, or
+     * null for the first page.
+     */
+    public List<AttendanceCounter> findUpdatedSince(LocalDateTime since, AttendanceCounter after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("limit", limit);
+        String keyset = "";
+        if (after == null) {
+            params.addValue("since", Timestamp.valueOf(since));
+        } else {
+            // Spelled out rather than as a row comparison so MySQL keeps the index range scan
+            params.addValue("since", Timestamp.valueOf(after.getUpdatedAt()))
+                .addValue("afterStudentId", after.getStudentId())
+                .addValue("afterCourseId", after.getCourseId());
+            keyset = "AND (updated_at > :since OR student_id > :afterStudentId " +
+                "OR (student_id = :afterStudentId AND course_id > :afterCourseId)) ";
+        }
+        return jdbcTemplate.query(
+            "SELECT student_id, course_id, total_count, present_count, absent_count, late_count, " +
+            "excused_count, updated_at FROM attendance_counters WHERE updated_at >= :since " + keyset +
+            "ORDER BY updated_at, student_id, course_id LIMIT :limit",
+            params,
+            (rs, rowNum) -> {
+                AttendanceCounter counter = new AttendanceCounter();
+                counter.setStudentId(rs.getLong("student_id"));
+                counter.setCourseId(rs.getLong("course_id"));
+                counter.setTotalCount(rs.getInt("total_count"));
+                counter.setPresentCount(rs.getInt("present_count"));
+                counter.setAbsentCount(rs.getInt("absent_count"));
+                counter.setLateCount(rs.getInt("late_count"));
+                counter.setExcusedCount(rs.getInt("excused_count"));
+                counter.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+                return counter;
+            });
+    }
+}
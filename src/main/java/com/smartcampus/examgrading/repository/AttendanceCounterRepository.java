@@ -0,0 +1,10 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.AttendanceCounter;
+import com.smartcampus.examgrading.model.AttendanceCounterId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AttendanceCounterRepository extends JpaRepository<AttendanceCounter, AttendanceCounterId> {
+}
@@ -0,0 +1,78 @@
+package com.smartcampus.examgrading.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forward-only cursor over per-student/per-course attendance totals for CSV export.
+ */
+@Repository
+public class AttendanceExportJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceExportJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stream one row per active enrollment matching the filters. Every filter is optional.
+     *
+     * @param courseId  Only this course
+     * @param studentId Only this student
+     * @param from      First attendance date to count, inclusive
+     * @param to        Last attendance date to count, inclusive
+     * @param handler   Called once per row while the cursor is open
+     */
+    public void streamEnrollmentTotals(Long courseId, Long studentId, LocalDate from, LocalDate to,
+                                       RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder(
+            "SELECT c.course_code, c.course_name, u.user_id, u.first_name, u.last_name, " +
+            "COUNT(a.attendance_id) AS total_classes, " +
+            "COALESCE(SUM(a.status = 'PRESENT'), 0) AS present_count, " +
+            "COALESCE(SUM(a.status = 'ABSENT'), 0) AS absent_count " +
+            "FROM enrollments e " +
+            "JOIN users u ON u.user_id = e.student_id " +
+            "JOIN courses c ON c.course_id = e.course_id " +
+            "LEFT JOIN attendance a ON a.student_id = e.student_id AND a.course_id = e.course_id ");
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            sql.append("AND a.attendance_date >= ? ");
+            params.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append("AND a.attendance_date < ? ");
+            params.add(Date.valueOf(to.plusDays(1)));
+        }
+        sql.append("WHERE e.active = TRUE ");
+        if (courseId != null) {
+            sql.append("AND e.course_id = ? ");
+            params.add(courseId);
+        }
+        if (studentId != null) {
+            sql.append("AND e.student_id = ? ");
+            params.add(studentId);
+        }
+        sql.append("GROUP BY c.course_id, c.course_code, c.course_name, u.user_id, u.first_name, u.last_name " +
+                   "ORDER BY c.course_code, u.last_name, u.first_name");
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Ask the MySQL driver to stream rows instead of buffering the whole result
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, handler);
+    }
+}
@@ -0,0 +1,61 @@
+package com.smartcampus.examgrading.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lookup tables for attendance imports, each loaded with one query so file rows can be
+ * resolved from memory instead of a query per row.
+ */
+@Repository
+public class AttendanceImportJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceImportJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return User id of every student, keyed by lower-cased username
+     */
+    public Map<String, Long> loadStudentIdsByUsername() {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT username, user_id FROM users WHERE role = 'STUDENT'",
+            rs -> {
+                ids.put(rs.getString(1).toLowerCase(), rs.getLong(2));
+            });
+        return ids;
+    }
+
+    /**
+     * @param facultyId Only courses taught by this faculty member; all courses when null
+     * @return Course id of each course, keyed by upper-cased course code
+     */
+    public Map<String, Long> loadCourseIdsByCode(Long facultyId) {
+        Map<String, Long> ids = new HashMap<>();
+        RowCallbackHandler handler = rs -> {
+            ids.put(rs.getString(1).toUpperCase(), rs.getLong(2));
+        };
+        if (facultyId == null) {
+            jdbcTemplate.query("SELECT course_code, course_id FROM courses", handler);
+        } else {
+            jdbcTemplate.query("SELECT course_code, course_id FROM courses WHERE faculty_id = ?", handler, facultyId);
+        }
+        return ids;
+    }
+
+    /**
+     * @return Ids of the students registered for the course
+     */
+    public Set<Long> loadEnrolledStudentIds(Long courseId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT student_id FROM student_courses WHERE course_id = ?", Long.class, courseId));
+    }
+}
@@ -0,0 +1,122 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.Attendance;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based attendance writes that bypass the JPA persistence context.
+ * Relies on the unique key on (student_id, course_id, attendance_date).
+ */
+@Repository
+public class AttendanceJdbcRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO attendance (student_id, course_id, attendance_date, status, marked_by, marked_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE status = VALUES(status), marked_by = VALUES(marked_by), marked_at = VALUES(marked_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Upsert a single student's attendance for one day without reading it first.
+     * Concurrent calls for the same student, course and date resolve on the unique key
+     * instead of racing to insert, and the last write wins.
+     */
+    public void upsert(Long studentId, Long courseId, LocalDate date, Attendance.AttendanceStatus status,
+                       Long markedBy, LocalDateTime markedAt) {
+        jdbcTemplate.update(UPSERT_SQL, studentId, courseId, Date.valueOf(date), status.name(),
+            markedBy, Timestamp.valueOf(markedAt));
+    }
+
+    /**
+     * Upsert one class session's attendance in JDBC batches.
+     *
+     * @param courseId          The course the session belongs to
+     * @param date              The session date
+     * @param statusByStudentId Status to record for each student
+     * @param markedBy          The faculty member marking attendance
+     * @param markedAt          Timestamp written to every row
+     */
+    public void upsertSession(Long courseId, LocalDate date,
+                              Map<Long, Attendance.AttendanceStatus> statusByStudentId,
+                              Long markedBy, LocalDateTime markedAt) {
+        Date sqlDate = Date.valueOf(date);
+        Timestamp sqlMarkedAt = Timestamp.valueOf(markedAt);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, statusByStudentId.entrySet(), BATCH_SIZE, (ps, entry) -> {
+            ps.setLong(1, entry.getKey());
+            ps.setLong(2, courseId);
+            ps.setDate(3, sqlDate);
+            ps.setString(4, entry.getValue().name());
+            ps.setLong(5, markedBy);
+            ps.setTimestamp(6, sqlMarkedAt);
+        });
+    }
+
+    /**
+     * Upsert attendance rows that may span many courses and dates, e.g. an imported
+     * roll-call file, in JDBC batches.
+     *
+     * @param rows     Rows to write; a later row for the same student, course and date wins
+     * @param markedBy The user the rows are recorded as marked by
+     * @param markedAt Timestamp written to every row
+     */
+    public void upsertRows(List<AttendanceRow> rows, Long markedBy, LocalDateTime markedAt) {
+        Timestamp sqlMarkedAt = Timestamp.valueOf(markedAt);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.studentId);
+            ps.setLong(2, row.courseId);
+            ps.setDate(3, Date.valueOf(row.attendanceDate));
+            ps.setString(4, row.status.name());
+            ps.setLong(5, markedBy);
+            ps.setTimestamp(6, sqlMarkedAt);
+        });
+    }
+
+    /**
+     * One attendance row to upsert.
+     */
+    public static class AttendanceRow {
+        private final long studentId;
+        private final long courseId;
+        private final LocalDate attendanceDate;
+        private final Attendance.AttendanceStatus status;
+
+        public AttendanceRow(long studentId, long courseId, LocalDate attendanceDate,
+                             Attendance.AttendanceStatus status) {
+            this.studentId = studentId;
+            this.courseId = courseId;
+            this.attendanceDate = attendanceDate;
+            this.status = status;
+        }
+
+        public long getStudentId() {
+            return studentId;
+        }
+
+        public long getCourseId() {
+            return courseId;
+        }
+
+        public LocalDate getAttendanceDate() {
+            return attendanceDate;
+        }
+
+        public Attendance.AttendanceStatus getStatus() {
+            return status;
+        }
+    }
+}
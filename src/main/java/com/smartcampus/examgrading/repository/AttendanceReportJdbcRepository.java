@@ -0,0 +1,216 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.Attendance;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Aggregate reads and batched writes backing monthly attendance report generation.
+ */
+@Repository
+public class AttendanceReportJdbcRepository {
+
+    // One row per (student, course, status); enrollments without attendance yield a single NULL-status row
+    private static final String STATUS_COUNTS_SELECT =
+        "SELECT sc.student_id, sc.course_id, a.status, COUNT(a.attendance_id) AS status_count " +
+        "FROM student_courses sc " +
+        "LEFT JOIN attendance a ON a.student_id = sc.student_id AND a.course_id = sc.course_id " +
+        "AND a.attendance_date >= ? AND a.attendance_date < ? ";
+
+    private static final String STATUS_COUNTS_GROUP =
+        "GROUP BY sc.student_id, sc.course_id, a.status " +
+        "ORDER BY sc.student_id, sc.course_id";
+
+    private static final String UPSERT_REPORT_SQL =
+        "INSERT INTO attendance_reports (student_id, course_id, month, year, total_classes, present_count, " +
+        "absent_count, late_count, excused_count, attendance_percentage, generated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE total_classes = VALUES(total_classes), present_count = VALUES(present_count), " +
+        "absent_count = VALUES(absent_count), late_count = VALUES(late_count), " +
+        "excused_count = VALUES(excused_count), attendance_percentage = VALUES(attendance_percentage), " +
+        "generated_at = VALUES(generated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceReportJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Stream per-status attendance counts for every enrollment, ordered by student then course.
+     *
+     * @param startInclusive First day of the period
+     * @param endExclusive   First day after the period
+     * @param courseId       Restrict to one course, or null for every course
+     * @param handler        Receives one {@link StatusCount} per result row
+     */
+    public void streamStatusCounts(LocalDate startInclusive, LocalDate endExclusive, Long courseId,
+                                   StatusCountHandler handler) {
+        String sql = STATUS_COUNTS_SELECT
+            + (courseId != null ? "WHERE sc.course_id = ? " : "")
+            + STATUS_COUNTS_GROUP;
+        RowCallbackHandler rowHandler = rs -> handler.accept(mapStatusCount(rs));
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Ask the MySQL driver to stream rows instead of buffering the whole result
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setDate(1, Date.valueOf(startInclusive));
+            ps.setDate(2, Date.valueOf(endExclusive));
+            if (courseId != null) {
+                ps.setLong(3, courseId);
+            }
+            return ps;
+        }, rowHandler);
+    }
+
+    /**
+     * Insert or refresh a chunk of monthly report rows in one JDBC batch.
+     */
+    public void upsertReports(int month, int year, List<ReportTotals> reports, LocalDateTime generatedAt) {
+        Timestamp sqlGeneratedAt = Timestamp.valueOf(generatedAt);
+        jdbcTemplate.batchUpdate(UPSERT_REPORT_SQL, reports, reports.size(), (ps, report) -> {
+            ps.setLong(1, report.getStudentId());
+            ps.setLong(2, report.getCourseId());
+            ps.setInt(3, month);
+            ps.setInt(4, year);
+            ps.setInt(5, report.getTotalClasses());
+            ps.setInt(6, report.getPresentCount());
+            ps.setInt(7, report.getAbsentCount());
+            ps.setInt(8, report.getLateCount());
+            ps.setInt(9, report.getExcusedCount());
+            ps.setBigDecimal(10, report.getAttendancePercentage());
+            ps.setTimestamp(11, sqlGeneratedAt);
+        });
+    }
+
+    private StatusCount mapStatusCount(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        return new StatusCount(
+            rs.getLong("student_id"),
+            rs.getLong("course_id"),
+            status == null ? null : Attendance.AttendanceStatus.valueOf(status),
+            rs.getInt("status_count"));
+    }
+
+    @FunctionalInterface
+    public interface StatusCountHandler {
+        void accept(StatusCount statusCount);
+    }
+
+    /**
+     * Number of attendance rows with one status for a student in a course.
+     * A null status means the student has no attendance in the period.
+     */
+    public static class StatusCount {
+        private final long studentId;
+        private final long courseId;
+        private final Attendance.AttendanceStatus status;
+        private final int count;
+
+        public StatusCount(long studentId, long courseId, Attendance.AttendanceStatus status, int count) {
+            this.studentId = studentId;
+            this.courseId = courseId;
+            this.status = status;
+            this.count = count;
+        }
+
+        public long getStudentId() {
+            return studentId;
+        }
+
+        public long getCourseId() {
+            return courseId;
+        }
+
+        public Attendance.AttendanceStatus getStatus() {
+            return status;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Aggregated counts for one student in one course, ready to be written as a report row.
+     */
+    public static class ReportTotals {
+        private final long studentId;
+        private final long courseId;
+        private int presentCount;
+        private int absentCount;
+        private int lateCount;
+        private int excusedCount;
+
+        public ReportTotals(long studentId, long courseId) {
+            this.studentId = studentId;
+            this.courseId = courseId;
+        }
+
+        public void add(Attendance.AttendanceStatus status, int count) {
+            if (status == null) {
+                return;
+            }
+            switch (status) {
+                case PRESENT -> presentCount += count;
+                case ABSENT -> absentCount += count;
+                case LATE -> lateCount += count;
+                case EXCUSED -> excusedCount += count;
+            }
+        }
+
+        public boolean isFor(long studentId, long courseId) {
+            return this.studentId == studentId && this.courseId == courseId;
+        }
+
+        public long getStudentId() {
+            return studentId;
+        }
+
+        public long getCourseId() {
+            return courseId;
+        }
+
+        public int getTotalClasses() {
+            return presentCount + absentCount + lateCount + excusedCount;
+        }
+
+        public int getPresentCount() {
+            return presentCount;
+        }
+
+        public int getAbsentCount() {
+            return absentCount;
+        }
+
+        public int getLateCount() {
+            return lateCount;
+        }
+
+        public int getExcusedCount() {
+            return excusedCount;
+        }
+
+        public BigDecimal getAttendancePercentage() {
+            int total = getTotalClasses();
+            if (total == 0) {
+                return BigDecimal.ZERO;
+            }
+            return BigDecimal.valueOf((presentCount + lateCount) * 100.0 / total)
+                .setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+}
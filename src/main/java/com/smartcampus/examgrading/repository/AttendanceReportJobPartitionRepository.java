@@ -0,0 +1,16 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.AttendanceReportJobPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AttendanceReportJobPartitionRepository extends JpaRepository<AttendanceReportJobPartition, Long> {
+
+    List<AttendanceReportJobPartition> findByJobIdAndStatusNot(
+            Long jobId, AttendanceReportJobPartition.PartitionStatus status);
+
+    long countByJobIdAndStatus(Long jobId, AttendanceReportJobPartition.PartitionStatus status);
+}
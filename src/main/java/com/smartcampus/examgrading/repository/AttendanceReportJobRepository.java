@@ -0,0 +1,31 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.AttendanceReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttendanceReportJobRepository extends JpaRepository<AttendanceReportJob, Long> {
+
+    List<AttendanceReportJob> findByStatusIn(Collection<AttendanceReportJob.JobStatus> statuses);
+
+    Optional<AttendanceReportJob> findFirstByMonthAndYearAndStatusIn(
+            int month, int year, Collection<AttendanceReportJob.JobStatus> statuses);
+
+    // Only one caller wins the transition, so a failed job is restarted once
+    @Modifying
+    @Query("UPDATE AttendanceReportJob j SET j.status = ?2, j.errorMessage = NULL, j.finishedAt = NULL " +
+            "WHERE j.jobId = ?1 AND j.status = ?3")
+    int updateStatusIf(Long jobId, AttendanceReportJob.JobStatus status, AttendanceReportJob.JobStatus expected);
+
+    @Modifying
+    @Query("UPDATE AttendanceReportJob j SET j.completedPartitions = j.completedPartitions + 1, " +
+            "j.rowsWritten = j.rowsWritten + ?2 WHERE j.jobId = ?1")
+    int recordCompletedPartition(Long jobId, long rowsWritten);
+}
@@ -1,8 +1,11 @@
 package com.smartcampus.examgrading.repository;
 
 import com.smartcampus.examgrading.model.AttendanceReport;
+import com.smartcampus.examgrading.model.AttendanceReportRow;
 import com.smartcampus.examgrading.model.Course;
 import com.smartcampus.examgrading.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -27,4 +30,14 @@ public interface AttendanceReportRepository extends JpaRepository<AttendanceRepo
     
     @Query("SELECT r FROM AttendanceReport r WHERE r.course = ?1 AND r.month = ?2 AND r.year = ?3")
     List<AttendanceReport> findByCourseAndMonthAndYear(Course course, int month, int year);
+    
+    // Sort properties are paths on the report, e.g. attendancePercentage or student.lastName
+    @Query(value = "SELECT new com.smartcampus.examgrading.model.AttendanceReportRow(" +
+            "r.reportId, s.userId, s.firstName, s.lastName, c.id, c.courseCode, c.courseName, " +
+            "r.month, r.year, r.totalClasses, r.presentCount, r.absentCount, r.lateCount, " +
+            "r.excusedCount, r.attendancePercentage, r.generatedAt) " +
+            "FROM AttendanceReport r JOIN r.student s JOIN r.course c " +
+            "WHERE r.month = ?1 AND r.year = ?2",
+            countQuery = "SELECT COUNT(r) FROM AttendanceReport r WHERE r.month = ?1 AND r.year = ?2")
+    Page<AttendanceReportRow> findRowsByMonthAndYear(int month, int year, Pageable pageable);
 } 
\ No newline at end of file
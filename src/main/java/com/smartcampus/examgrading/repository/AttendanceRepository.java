@@ -1,13 +1,18 @@
 package com.smartcampus.examgrading.repository;
 
 import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceSummary;
 import com.smartcampus.examgrading.model.Course;
+import com.smartcampus.examgrading.model.StudentCourseAttendance;
 import com.smartcampus.examgrading.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,15 +25,39 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     
     List<Attendance> findByCourse(Course course);
     
+    List<Attendance> findByStudentAndCourse_IdOrderByAttendanceDateAsc(User student, Long courseId);
+    
     List<Attendance> findByCourseAndAttendanceDate(Course course, LocalDate date);
     
     Optional<Attendance> findByStudentAndCourseAndAttendanceDate(User student, Course course, LocalDate date);
     
-    @Query("SELECT a FROM Attendance a WHERE a.student = ?1 AND MONTH(a.attendanceDate) = ?2 AND YEAR(a.attendanceDate) = ?3")
-    List<Attendance> findByStudentAndMonthAndYear(User student, int month, int year);
+    // Student id and current status for every row of one class session
+    @Query("SELECT a.student.userId, a.status FROM Attendance a WHERE a.course = ?1 AND a.attendanceDate = ?2")
+    List<Object[]> findStudentStatusesByCourseAndDate(Course course, LocalDate date);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Attendance a SET a.status = ?2 WHERE a.attendanceId IN ?1")
+    int updateStatus(Collection<Long> attendanceIds, Attendance.AttendanceStatus status);
+    
+    // Range predicates (start inclusive, end exclusive) so the attendance_date indexes can be used
+    @Query("SELECT a FROM Attendance a WHERE a.student = ?1 AND a.attendanceDate >= ?2 AND a.attendanceDate < ?3")
+    List<Attendance> findByStudentAndDateRange(User student, LocalDate start, LocalDate endExclusive);
+    
+    @Query("SELECT a FROM Attendance a WHERE a.student = ?1 AND a.course = ?2 AND a.attendanceDate >= ?3 AND a.attendanceDate < ?4")
+    List<Attendance> findByStudentAndCourseAndDateRange(User student, Course course, LocalDate start, LocalDate endExclusive);
+    
+    @Query("SELECT a FROM Attendance a WHERE a.course = ?1 AND a.attendanceDate >= ?2 AND a.attendanceDate < ?3")
+    List<Attendance> findByCourseAndDateRange(Course course, LocalDate start, LocalDate endExclusive);
     
-    @Query("SELECT a FROM Attendance a WHERE a.student = ?1 AND a.course = ?2 AND MONTH(a.attendanceDate) = ?3 AND YEAR(a.attendanceDate) = ?4")
-    List<Attendance> findByStudentAndCourseAndMonthAndYear(User student, Course course, int month, int year);
+    default List<Attendance> findByStudentAndMonthAndYear(User student, int month, int year) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return findByStudentAndDateRange(student, yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1));
+    }
+    
+    default List<Attendance> findByStudentAndCourseAndMonthAndYear(User student, Course course, int month, int year) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return findByStudentAndCourseAndDateRange(student, course, yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1));
+    }
     
     @Query("SELECT COUNT(a) FROM Attendance a WHERE a.student = ?1 AND a.course = ?2 AND a.status = 'PRESENT'")
     long countPresentByStudentAndCourse(User student, Course course);
@@ -38,4 +67,51 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     
     @Query("SELECT COUNT(a) FROM Attendance a WHERE a.student = ?1 AND a.course = ?2 AND a.status = 'ABSENT'")
     long countAbsentByStudentAndCourse(User student, Course course);
-} 
\ No newline at end of file
+    
+    // Per-student/per-course totals for every active enrollment in one grouped query. Counts are
+    // DISTINCT because enrollments has no unique (student, course) key and a duplicate active row
+    // would otherwise repeat every attendance row of the pair
+    @Query("SELECT s.userId AS studentId, s.firstName AS firstName, s.lastName AS lastName, c.id AS courseId, " +
+           "COUNT(DISTINCT a.attendanceId) AS totalClasses, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'PRESENT' THEN a.attendanceId END) AS presentCount, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'ABSENT' THEN a.attendanceId END) AS absentCount, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'LATE' THEN a.attendanceId END) AS lateCount, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'EXCUSED' THEN a.attendanceId END) AS excusedCount " +
+           "FROM Enrollment e JOIN e.student s JOIN e.course c " +
+           "LEFT JOIN Attendance a ON a.student = s AND a.course = c " +
+           "WHERE e.active = true " +
+           "GROUP BY s.userId, s.firstName, s.lastName, c.id " +
+           "ORDER BY c.id, s.lastName, s.firstName")
+    List<AttendanceSummary> summarizeActiveEnrollments();
+    
+    // Same as summarizeActiveEnrollments, counting only attendance in [start, endExclusive)
+    @Query("SELECT s.userId AS studentId, s.firstName AS firstName, s.lastName AS lastName, c.id AS courseId, " +
+           "COUNT(DISTINCT a.attendanceId) AS totalClasses, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'PRESENT' THEN a.attendanceId END) AS presentCount, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'ABSENT' THEN a.attendanceId END) AS absentCount, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'LATE' THEN a.attendanceId END) AS lateCount, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'EXCUSED' THEN a.attendanceId END) AS excusedCount " +
+           "FROM Enrollment e JOIN e.student s JOIN e.course c " +
+           "LEFT JOIN Attendance a ON a.student = s AND a.course = c " +
+           "AND a.attendanceDate >= ?1 AND a.attendanceDate < ?2 " +
+           "WHERE e.active = true " +
+           "GROUP BY s.userId, s.firstName, s.lastName, c.id " +
+           "ORDER BY c.id, s.lastName, s.firstName")
+    List<AttendanceSummary> summarizeActiveEnrollments(LocalDate start, LocalDate endExclusive);
+    
+    // Totals per status and last marked date for each of one student's active enrollments; DISTINCT
+    // for the same reason as summarizeActiveEnrollments
+    @Query("SELECT c.id AS courseId, c.courseCode AS courseCode, c.courseName AS courseName, " +
+           "COUNT(DISTINCT a.attendanceId) AS totalClasses, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'PRESENT' THEN a.attendanceId END) AS presentCount, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'ABSENT' THEN a.attendanceId END) AS absentCount, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'LATE' THEN a.attendanceId END) AS lateCount, " +
+           "COUNT(DISTINCT CASE WHEN a.status = 'EXCUSED' THEN a.attendanceId END) AS excusedCount, " +
+           "MAX(a.attendanceDate) AS lastMarkedDate " +
+           "FROM Enrollment e JOIN e.course c " +
+           "LEFT JOIN Attendance a ON a.student = e.student AND a.course = c " +
+           "WHERE e.student = ?1 AND e.active = true " +
+           "GROUP BY c.id, c.courseCode, c.courseName " +
+           "ORDER BY c.courseCode")
+    List<StudentCourseAttendance> summarizeStudentCourses(User student);
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.smartcampus.examgrading.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes session rollups from the attendance table.
+ */
+@Repository
+public class AttendanceRollupJdbcRepository {
+
+    private static final String REFRESH_SELECT =
+        "INSERT INTO attendance_rollups (course_id, iso_week, weekday, session_date, total_count, " +
+        "present_count, absent_count, late_count, excused_count, updated_at) " +
+        "SELECT course_id, YEARWEEK(attendance_date, 3), WEEKDAY(attendance_date) + 1, attendance_date, " +
+        "COUNT(*), SUM(status = 'PRESENT'), SUM(status = 'ABSENT'), SUM(status = 'LATE'), " +
+        "SUM(status = 'EXCUSED'), NOW() FROM attendance ";
+
+    private static final String REFRESH_UPSERT =
+        "GROUP BY course_id, attendance_date " +
+        "ON DUPLICATE KEY UPDATE total_count = VALUES(total_count), present_count = VALUES(present_count), " +
+        "absent_count = VALUES(absent_count), late_count = VALUES(late_count), " +
+        "excused_count = VALUES(excused_count), updated_at = VALUES(updated_at)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public AttendanceRollupJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Refresh the rollups of the given session dates of one course.
+     */
+    public int refresh(Long courseId, Collection<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+            REFRESH_SELECT + "WHERE course_id = :courseId AND attendance_date IN (:dates) " + REFRESH_UPSERT,
+            new MapSqlParameterSource()
+                .addValue("courseId", courseId)
+                .addValue("dates", dates.stream().map(Date::valueOf).collect(Collectors.toList())));
+    }
+
+    /**
+     * Drop and recompute every rollup.
+     */
+    public int rebuildAll() {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        jdbcTemplate.update("DELETE FROM attendance_rollups", params);
+        return jdbcTemplate.update(REFRESH_SELECT + REFRESH_UPSERT, params);
+    }
+
+    public boolean isEmpty() {
+        Integer rows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT 1 FROM attendance_rollups LIMIT 1) r",
+            new MapSqlParameterSource(), Integer.class);
+        return rows == null || rows == 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.AttendanceRollup;
+import com.smartcampus.examgrading.model.AttendanceRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AttendanceRollupRepository extends JpaRepository<AttendanceRollup, AttendanceRollupId> {
+
+    // Primary-key range scan: one row per session in the requested weeks
+    List<AttendanceRollup> findByCourseIdAndIsoWeekBetweenOrderByIsoWeekAscWeekdayAsc(
+            Long courseId, Integer fromIsoWeek, Integer toIsoWeek);
+}
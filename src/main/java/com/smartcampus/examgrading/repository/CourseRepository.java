@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,4 +38,8 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     @Query("SELECT DISTINCT c FROM Course c LEFT JOIN FETCH c.schedules WHERE c.id = :courseId")
     Optional<Course> findByIdWithSchedules(@Param("courseId") Long courseId);
+
+    // Course id, name and faculty id without loading Course entities
+    @Query("SELECT c.id, c.courseName, f.userId FROM Course c LEFT JOIN c.faculty f WHERE c.id IN ?1")
+    List<Object[]> findNamesAndFacultyIds(Collection<Long> courseIds);
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +23,9 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     Optional<Enrollment> findByStudentAndCourse(User student, Course course);
 
+    @Query("SELECT e.student.userId FROM Enrollment e WHERE e.course.id = ?1 AND e.active = true AND e.student.userId IN ?2")
+    List<Long> findActiveStudentIds(Long courseId, Collection<Long> studentIds);
+
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course = ?1 AND e.active = true")
     int countActiveByCourse(Course course);
 
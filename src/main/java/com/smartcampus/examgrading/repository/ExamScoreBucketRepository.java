@@ -0,0 +1,16 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.ExamScoreBucket;
+import com.smartcampus.examgrading.model.ExamScoreBucketId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExamScoreBucketRepository extends JpaRepository<ExamScoreBucket, ExamScoreBucketId> {
+
+    // Primary-key range scan: at most one row per percent and letter. Buckets emptied by
+    // deleted or changed grades stay behind with a zero count.
+    List<ExamScoreBucket> findByExamIdAndGradeCountGreaterThanOrderByBucketAsc(Long examId, int gradeCount);
+}
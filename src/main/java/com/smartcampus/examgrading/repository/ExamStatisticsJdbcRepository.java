@@ -0,0 +1,148 @@
+package com.smartcampus.examgrading.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Writes exam statistics and score buckets. A single saved or deleted grade is applied as a
+ * delta to the running totals and its bucket; bulk writes recompute the exam from the
+ * grades table with aggregate upserts. An exam whose grades are all gone keeps a row with
+ * a zero count, which readers treat as no statistics.
+ */
+@Repository
+public class ExamStatisticsJdbcRepository {
+
+    private static final String STATISTICS_INSERT =
+        "INSERT INTO exam_statistics (exam_id, grade_count, marks_sum, marks_sum_squares, min_marks, " +
+        "max_marks, pass_count, updated_at) " +
+        "SELECT e.exam_id, COUNT(g.grade_id), COALESCE(SUM(g.marks_obtained), 0), " +
+        "COALESCE(SUM(g.marks_obtained * g.marks_obtained), 0), MIN(g.marks_obtained), MAX(g.marks_obtained), " +
+        "COALESCE(SUM(g.marks_obtained >= e.passing_marks), 0), NOW() ";
+
+    private static final String STATISTICS_UPSERT =
+        "ON DUPLICATE KEY UPDATE grade_count = VALUES(grade_count), marks_sum = VALUES(marks_sum), " +
+        "marks_sum_squares = VALUES(marks_sum_squares), min_marks = VALUES(min_marks), " +
+        "max_marks = VALUES(max_marks), pass_count = VALUES(pass_count), updated_at = VALUES(updated_at)";
+
+    // Buckets by the stored percentage so they agree with the stored letters
+    private static final String BUCKET =
+        "LEAST(FLOOR(COALESCE(g.percentage, g.marks_obtained * 100 / e.total_marks)), 100)";
+
+    private static final String BUCKETS_SELECT =
+        "INSERT INTO exam_score_buckets (exam_id, bucket, grade_letter, grade_count) " +
+        "SELECT g.exam_id, " + BUCKET + ", COALESCE(g.grade_letter, ''), COUNT(*) " +
+        "FROM grades g JOIN exams e ON e.exam_id = g.exam_id ";
+
+    private static final String BUCKETS_UPSERT =
+        "GROUP BY g.exam_id, " + BUCKET + ", COALESCE(g.grade_letter, '') " +
+        "ON DUPLICATE KEY UPDATE grade_count = VALUES(grade_count)";
+
+    // LEAST and GREATEST return NULL against the NULL extremes of a zero-count row
+    private static final String ADD_GRADE_SQL =
+        "INSERT INTO exam_statistics (exam_id, grade_count, marks_sum, marks_sum_squares, min_marks, " +
+        "max_marks, pass_count, updated_at) " +
+        "VALUES (:examId, 1, :marks, :marksSquared, :marks, :marks, :passed, NOW()) " +
+        "ON DUPLICATE KEY UPDATE grade_count = grade_count + 1, marks_sum = marks_sum + VALUES(marks_sum), " +
+        "marks_sum_squares = marks_sum_squares + VALUES(marks_sum_squares), " +
+        "min_marks = COALESCE(LEAST(min_marks, VALUES(min_marks)), VALUES(min_marks)), " +
+        "max_marks = COALESCE(GREATEST(max_marks, VALUES(max_marks)), VALUES(max_marks)), " +
+        "pass_count = pass_count + VALUES(pass_count), updated_at = VALUES(updated_at)";
+
+    private static final String REMOVE_GRADE_SQL =
+        "UPDATE exam_statistics SET grade_count = grade_count - 1, marks_sum = marks_sum - :marks, " +
+        "marks_sum_squares = marks_sum_squares - :marksSquared, pass_count = pass_count - :passed, " +
+        "updated_at = NOW() WHERE exam_id = :examId";
+
+    // Only needed when the removed marks were an extreme; reads the exam's grades by index
+    private static final String REFRESH_EXTREMES_SQL =
+        "UPDATE exam_statistics s SET " +
+        "s.min_marks = (SELECT MIN(g.marks_obtained) FROM grades g WHERE g.exam_id = :examId), " +
+        "s.max_marks = (SELECT MAX(g.marks_obtained) FROM grades g WHERE g.exam_id = :examId) " +
+        "WHERE s.exam_id = :examId AND (s.min_marks = :marks OR s.max_marks = :marks)";
+
+    private static final String BUCKET_DELTA_SQL =
+        "INSERT INTO exam_score_buckets (exam_id, bucket, grade_letter, grade_count) " +
+        "VALUES (:examId, :bucket, :gradeLetter, :delta) " +
+        "ON DUPLICATE KEY UPDATE grade_count = grade_count + VALUES(grade_count)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ExamStatisticsJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Recompute the statistics and buckets of one exam in place. Buckets the exam no
+     * longer has are left at zero.
+     */
+    public void refresh(Long examId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("examId", examId);
+        jdbcTemplate.update(STATISTICS_INSERT +
+            "FROM exams e LEFT JOIN grades g ON g.exam_id = e.exam_id WHERE e.exam_id = :examId " +
+            "GROUP BY e.exam_id " + STATISTICS_UPSERT, params);
+        jdbcTemplate.update("UPDATE exam_score_buckets SET grade_count = 0 WHERE exam_id = :examId", params);
+        jdbcTemplate.update(BUCKETS_SELECT + "WHERE g.exam_id = :examId " + BUCKETS_UPSERT, params);
+    }
+
+    /**
+     * Add one grade to its exam's totals and bucket.
+     *
+     * @param bucket The whole percent the grade falls in, capped at 100
+     */
+    public void addGrade(Long examId, BigDecimal marks, boolean passed, int bucket, String gradeLetter) {
+        MapSqlParameterSource params = gradeParams(examId, marks, passed);
+        jdbcTemplate.update(ADD_GRADE_SQL, params);
+        jdbcTemplate.update(BUCKET_DELTA_SQL, bucketParams(params, bucket, gradeLetter, 1));
+    }
+
+    /**
+     * Take one grade out of its exam's totals and bucket. The grade must already be gone
+     * from, or changed in, the grades table, so extremes it held can be read back.
+     */
+    public void removeGrade(Long examId, BigDecimal marks, boolean passed, int bucket, String gradeLetter) {
+        MapSqlParameterSource params = gradeParams(examId, marks, passed);
+        jdbcTemplate.update(REMOVE_GRADE_SQL, params);
+        jdbcTemplate.update(REFRESH_EXTREMES_SQL, params);
+        jdbcTemplate.update(BUCKET_DELTA_SQL, bucketParams(params, bucket, gradeLetter, -1));
+    }
+
+    /**
+     * Drop and recompute the statistics of every exam.
+     *
+     * @return Number of exams with statistics
+     */
+    public int rebuildAll() {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        jdbcTemplate.update("DELETE FROM exam_score_buckets", params);
+        jdbcTemplate.update("DELETE FROM exam_statistics", params);
+        int exams = jdbcTemplate.update(STATISTICS_INSERT +
+            "FROM grades g JOIN exams e ON e.exam_id = g.exam_id GROUP BY e.exam_id " + STATISTICS_UPSERT, params);
+        jdbcTemplate.update(BUCKETS_SELECT + BUCKETS_UPSERT, params);
+        return exams;
+    }
+
+    public boolean isEmpty() {
+        Integer rows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT 1 FROM exam_statistics LIMIT 1) s",
+            new MapSqlParameterSource(), Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    private static MapSqlParameterSource gradeParams(Long examId, BigDecimal marks, boolean passed) {
+        return new MapSqlParameterSource("examId", examId)
+            .addValue("marks", marks)
+            .addValue("marksSquared", marks.multiply(marks))
+            .addValue("passed", passed ? 1 : 0);
+    }
+
+    private static MapSqlParameterSource bucketParams(MapSqlParameterSource gradeParams, int bucket,
+                                                      String gradeLetter, int delta) {
+        return new MapSqlParameterSource(gradeParams.getValues())
+            .addValue("bucket", bucket)
+            .addValue("gradeLetter", gradeLetter == null ? "" : gradeLetter)
+            .addValue("delta", delta);
+    }
+}
@@ -0,0 +1,9 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.ExamStatistics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExamStatisticsRepository extends JpaRepository<ExamStatistics, Long> {
+}
@@ -0,0 +1,36 @@
+package com.smartcampus.examgrading.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lookup tables for gradebook imports, loaded with one query so file rows can be
+ * resolved from memory instead of a query per row.
+ */
+@Repository
+public class GradeImportJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GradeImportJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return User id of every student actively enrolled in the course, keyed by
+     *         lower-cased username
+     */
+    public Map<String, Long> loadEnrolledStudentIdsByUsername(Long courseId) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT u.username, u.user_id FROM enrollments e JOIN users u ON u.user_id = e.student_id " +
+            "WHERE e.course_id = ? AND e.active = TRUE",
+            rs -> {
+                ids.put(rs.getString(1).toLowerCase(), rs.getLong(2));
+            }, courseId);
+        return ids;
+    }
+}
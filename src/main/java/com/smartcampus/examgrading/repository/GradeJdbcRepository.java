@@ -0,0 +1,69 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.Grade;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Set-based grade writes that bypass the JPA persistence context.
+ * Relies on the unique key on (student_id, exam_id).
+ */
+@Repository
+public class GradeJdbcRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    // Feedback is left untouched so re-entering marks keeps what was written in the dialog
+    private static final String UPSERT_SQL =
+        "INSERT INTO grades (student_id, exam_id, marks_obtained, percentage, grade_letter, graded_by, graded_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE marks_obtained = VALUES(marks_obtained), percentage = VALUES(percentage), " +
+        "grade_letter = VALUES(grade_letter), graded_by = VALUES(graded_by), graded_at = VALUES(graded_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GradeJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Read a student's grade in an exam and lock its row until the transaction ends, so a
+     * concurrent change of the same grade waits for this one.
+     *
+     * @return The stored marks, percentage and letter
+     */
+    public Optional<Grade> findForUpdate(Long studentId, Long examId) {
+        return jdbcTemplate.query(
+            "SELECT grade_id, marks_obtained, percentage, grade_letter FROM grades " +
+            "WHERE student_id = ? AND exam_id = ? FOR UPDATE",
+            (rs, rowNum) -> {
+                Grade grade = new Grade();
+                grade.setGradeId(rs.getLong(1));
+                grade.setStudentId(studentId);
+                grade.setExamId(examId);
+                grade.setMarksObtained(rs.getBigDecimal(2));
+                grade.setPercentage(rs.getBigDecimal(3));
+                grade.setGradeLetter(rs.getString(4));
+                return grade;
+            }, studentId, examId).stream().findFirst();
+    }
+
+    /**
+     * Upsert grades in JDBC batches. Percentage, letter, grader and timestamp must already
+     * be set on each grade.
+     */
+    public void upsertGrades(List<Grade> grades) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, grades, BATCH_SIZE, (ps, grade) -> {
+            ps.setLong(1, grade.getStudentId());
+            ps.setLong(2, grade.getExamId());
+            ps.setBigDecimal(3, grade.getMarksObtained());
+            ps.setBigDecimal(4, grade.getPercentage());
+            ps.setString(5, grade.getGradeLetter());
+            ps.setLong(6, grade.getGradedBy());
+            ps.setTimestamp(7, grade.getGradedAt());
+        });
+    }
+}
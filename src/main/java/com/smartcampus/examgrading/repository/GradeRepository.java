@@ -2,7 +2,10 @@ package com.smartcampus.examgrading.repository;
 
 import com.smartcampus.examgrading.model.Grade;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +15,8 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     List<Grade> findByExamId(Long examId);
 
     Optional<Grade> findByStudentIdAndExamId(Long studentId, Long examId);
+
+    // Marks only, for the in-memory rank index
+    @Query("SELECT g.marksObtained FROM Grade g WHERE g.examId = :examId")
+    List<BigDecimal> findMarksByExamId(@Param("examId") Long examId);
 }
@@ -0,0 +1,54 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.Notification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batched writes to the notifications table. Rows with the same coalesce key are
+ * merged by the database, so concurrent writers never create duplicates.
+ */
+@Repository
+public class NotificationJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO notifications (type, recipient_role, coalesce_key, course_id, event_date, message, " +
+        "event_count, is_read, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE message = VALUES(message), event_count = event_count + VALUES(event_count), " +
+        "is_read = FALSE, updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void upsert(List<Notification> notifications) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, notifications, BATCH_SIZE, (ps, notification) -> {
+            ps.setString(1, notification.getType().name());
+            ps.setString(2, notification.getRecipientRole().name());
+            ps.setString(3, notification.getCoalesceKey());
+            if (notification.getCourseId() != null) {
+                ps.setLong(4, notification.getCourseId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            LocalDate eventDate = notification.getEventDate();
+            ps.setDate(5, eventDate == null ? null : Date.valueOf(eventDate));
+            ps.setString(6, notification.getMessage());
+            ps.setInt(7, notification.getEventCount());
+            LocalDateTime updatedAt = notification.getUpdatedAt();
+            ps.setTimestamp(8, Timestamp.valueOf(updatedAt));
+            ps.setTimestamp(9, Timestamp.valueOf(updatedAt));
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.Notification;
+import com.smartcampus.examgrading.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    List<Notification> findTop50ByRecipientRoleOrderByUpdatedAtDesc(User.Role recipientRole);
+
+    long countByRecipientRoleAndReadFalse(User.Role recipientRole);
+}
@@ -2,6 +2,7 @@ package com.smartcampus.examgrading.repository;
 
 import com.smartcampus.examgrading.model.StudentCourse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -34,4 +35,12 @@ public interface StudentCourseRepository extends JpaRepository<StudentCourse, Lo
      * @return Optional StudentCourse entity if found
      */
     Optional<StudentCourse> findByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    /**
+     * Find the IDs of all courses that have at least one registered student
+     * 
+     * @return Distinct course IDs, ascending
+     */
+    @Query("SELECT DISTINCT sc.courseId FROM StudentCourse sc ORDER BY sc.courseId")
+    List<Long> findDistinctCourseIds();
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.StudentTermGpa;
+import com.smartcampus.examgrading.model.StudentTermGpaId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StudentTermGpaRepository extends JpaRepository<StudentTermGpa, StudentTermGpaId> {
+
+    // Term keys sort by year then half, so this is the transcript in term order
+    List<StudentTermGpa> findByStudentIdOrderByTermAsc(Long studentId);
+}
@@ -0,0 +1,193 @@
+package com.smartcampus.examgrading.repository;
+
+import com.smartcampus.examgrading.model.StudentTermGpa;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads the graded exams that make up student transcripts and writes the materialized
+ * per-term GPA rows. Rows are always replaced for whole students, delete first, so a
+ * student whose last grade in a term was deleted loses that term.
+ */
+@Repository
+public class TranscriptJdbcRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    // Ordered by student so callers can finish one student before reading the next
+    private static final String GRADES_SELECT =
+        "SELECT g.student_id, g.grade_letter, e.course_id, e.exam_date, e.total_marks, c.credit_hours " +
+        "FROM grades g " +
+        "JOIN exams e ON e.exam_id = g.exam_id " +
+        "JOIN courses c ON c.course_id = e.course_id " +
+        "WHERE g.grade_letter IS NOT NULL ";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO student_term_gpa (student_id, term, course_count, credit_hours, quality_points, gpa, " +
+        "cumulative_credit_hours, cumulative_quality_points, cgpa, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TranscriptJdbcRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Graded exams of the given students, ordered by student.
+     */
+    public List<TranscriptGradeRow> findGradesOfStudents(Collection<Long> studentIds) {
+        return jdbcTemplate.query(
+            GRADES_SELECT + "AND g.student_id IN (:studentIds) ORDER BY g.student_id",
+            new MapSqlParameterSource("studentIds", studentIds), this::mapGradeRow);
+    }
+
+    /**
+     * Graded exams of the students whose ids fall in a range, ordered by student.
+     *
+     * @param fromStudentId First student id, inclusive
+     * @param toStudentId   Last student id, inclusive
+     */
+    public List<TranscriptGradeRow> findGradesInRange(long fromStudentId, long toStudentId) {
+        return jdbcTemplate.query(
+            GRADES_SELECT + "AND g.student_id BETWEEN :fromStudentId AND :toStudentId ORDER BY g.student_id",
+            rangeParams(fromStudentId, toStudentId), this::mapGradeRow);
+    }
+
+    /**
+     * Delete every transcript row of the given students.
+     */
+    public void deleteStudents(Collection<Long> studentIds) {
+        jdbcTemplate.update("DELETE FROM student_term_gpa WHERE student_id IN (:studentIds)",
+            new MapSqlParameterSource("studentIds", studentIds));
+    }
+
+    /**
+     * Delete every transcript row of the students whose ids fall in a range.
+     */
+    public void deleteRange(long fromStudentId, long toStudentId) {
+        jdbcTemplate.update(
+            "DELETE FROM student_term_gpa WHERE student_id BETWEEN :fromStudentId AND :toStudentId",
+            rangeParams(fromStudentId, toStudentId));
+    }
+
+    /**
+     * Insert transcript rows in JDBC batches. The students' old rows must already be deleted.
+     */
+    public void insertRows(List<StudentTermGpa> rows) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setLong(1, row.getStudentId());
+            ps.setString(2, row.getTerm());
+            ps.setInt(3, row.getCourseCount());
+            ps.setInt(4, row.getCreditHours());
+            ps.setBigDecimal(5, row.getQualityPoints());
+            ps.setBigDecimal(6, row.getGpa());
+            ps.setInt(7, row.getCumulativeCreditHours());
+            ps.setBigDecimal(8, row.getCumulativeQualityPoints());
+            ps.setBigDecimal(9, row.getCgpa());
+            ps.setTimestamp(10, Timestamp.valueOf(row.getUpdatedAt()));
+        });
+    }
+
+    /**
+     * Lowest and highest student id with grades or transcript rows, so a range rebuild also
+     * clears students who no longer have grades.
+     *
+     * @return Null when both tables are empty
+     */
+    public long[] findStudentIdRange() {
+        long[] graded = findIdRange("grades");
+        long[] transcribed = findIdRange("student_term_gpa");
+        if (graded == null || transcribed == null) {
+            return graded != null ? graded : transcribed;
+        }
+        return new long[] { Math.min(graded[0], transcribed[0]), Math.max(graded[1], transcribed[1]) };
+    }
+
+    public boolean isEmpty() {
+        Integer rows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT 1 FROM student_term_gpa LIMIT 1) t",
+            new MapSqlParameterSource(), Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    // Both tables lead their keys with student_id, so this reads two index ends
+    private long[] findIdRange(String table) {
+        return jdbcTemplate.queryForObject(
+            "SELECT MIN(student_id), MAX(student_id) FROM " + table, new MapSqlParameterSource(),
+            (rs, rowNum) -> {
+                long min = rs.getLong(1);
+                return rs.wasNull() ? null : new long[] { min, rs.getLong(2) };
+            });
+    }
+
+    private static MapSqlParameterSource rangeParams(long fromStudentId, long toStudentId) {
+        return new MapSqlParameterSource("fromStudentId", fromStudentId).addValue("toStudentId", toStudentId);
+    }
+
+    private TranscriptGradeRow mapGradeRow(ResultSet rs, int rowNum) throws SQLException {
+        return new TranscriptGradeRow(
+            rs.getLong("student_id"),
+            rs.getString("grade_letter"),
+            rs.getLong("course_id"),
+            rs.getDate("exam_date").toLocalDate(),
+            rs.getBigDecimal("total_marks"),
+            rs.getInt("credit_hours"));
+    }
+
+    /**
+     * One graded exam with what the transcript needs from its exam and course.
+     */
+    public static class TranscriptGradeRow {
+
+        private final long studentId;
+        private final String gradeLetter;
+        private final long courseId;
+        private final LocalDate examDate;
+        private final BigDecimal totalMarks;
+        private final int creditHours;
+
+        public TranscriptGradeRow(long studentId, String gradeLetter, long courseId, LocalDate examDate,
+                                  BigDecimal totalMarks, int creditHours) {
+            this.studentId = studentId;
+            this.gradeLetter = gradeLetter;
+            this.courseId = courseId;
+            this.examDate = examDate;
+            this.totalMarks = totalMarks;
+            this.creditHours = creditHours;
+        }
+
+        public long getStudentId() {
+            return studentId;
+        }
+
+        public String getGradeLetter() {
+            return gradeLetter;
+        }
+
+        public long getCourseId() {
+            return courseId;
+        }
+
+        public LocalDate getExamDate() {
+            return examDate;
+        }
+
+        public BigDecimal getTotalMarks() {
+            return totalMarks;
+        }
+
+        public int getCreditHours() {
+            return creditHours;
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.smartcampus.examgrading.repository;
 
 import com.smartcampus.examgrading.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +21,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     List<User> findByRole(User.Role role);
+
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
 }
@@ -0,0 +1,151 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.AttendanceAlert;
+import com.smartcampus.examgrading.model.AttendanceAlertSummary;
+import com.smartcampus.examgrading.model.AttendanceCounter;
+import com.smartcampus.examgrading.model.JobCheckpoint;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.AttendanceAlertJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceAlertRepository;
+import com.smartcampus.examgrading.repository.AttendanceCounterJdbcRepository;
+import com.smartcampus.examgrading.repository.JobCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scans attendance counters changed since the previous run and keeps one
+ * low-attendance alert per student, course and month. Opening a month's alert resolves
+ * the pair's alerts from earlier months, so only the latest one stays open. Counters
+ * are re-read with a small overlap behind the checkpoint, since writes are idempotent,
+ * so counters committed late are still picked up.
+ */
+@Service
+public class AttendanceAlertService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceAlertService.class);
+
+    private static final String JOB_NAME = "attendance-risk-scan";
+    private static final int PAGE_SIZE = 1000;
+
+    private final AttendanceCounterJdbcRepository counterJdbcRepository;
+    private final AttendanceAlertJdbcRepository alertJdbcRepository;
+    private final AttendanceAlertRepository alertRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BigDecimal threshold;
+    private final long overlapSeconds;
+
+    public AttendanceAlertService(AttendanceCounterJdbcRepository counterJdbcRepository,
+                                  AttendanceAlertJdbcRepository alertJdbcRepository,
+                                  AttendanceAlertRepository alertRepository,
+                                  JobCheckpointRepository checkpointRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${attendance.low-threshold:75.00}") BigDecimal threshold,
+                                  @Value("${attendance.risk-scan.overlap-seconds:120}") long overlapSeconds) {
+        this.counterJdbcRepository = counterJdbcRepository;
+        this.alertJdbcRepository = alertJdbcRepository;
+        this.alertRepository = alertRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.threshold = threshold;
+        this.overlapSeconds = overlapSeconds;
+    }
+
+    public BigDecimal getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Re-evaluate every counter changed since the last run. Each page of counters is
+     * written together with the advanced checkpoint in one transaction.
+     *
+     * @return Number of counters evaluated
+     */
+    @Scheduled(fixedDelayString = "${attendance.risk-scan.interval-millis:300000}",
+               initialDelayString = "${attendance.risk-scan.initial-delay-millis:60000}")
+    public int scanChangedCounters() {
+        return scanChangedCounters(YearMonth.now());
+    }
+
+    int scanChangedCounters(YearMonth month) {
+        LocalDateTime since = checkpointRepository.findById(JOB_NAME)
+            .map(checkpoint -> checkpoint.getCheckpointAt().minusSeconds(overlapSeconds))
+            .orElse(LocalDateTime.of(1970, 1, 1, 0, 0));
+        String period = month.toString();
+
+        int scanned = 0;
+        int opened = 0;
+        AttendanceCounter last = null;
+        List<AttendanceCounter> page;
+        do {
+            page = counterJdbcRepository.findUpdatedSince(since, last, PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            List<AttendanceCounter> low = new ArrayList<>();
+            List<AttendanceCounter> recovered = new ArrayList<>();
+            for (AttendanceCounter counter : page) {
+                if (counter.getTotalCount() > 0 && counter.getAttendancePercentage().compareTo(threshold) < 0) {
+                    low.add(counter);
+                } else {
+                    recovered.add(counter);
+                }
+            }
+            last = page.get(page.size() - 1);
+            LocalDateTime checkpointAt = last.getUpdatedAt();
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (!low.isEmpty()) {
+                    alertJdbcRepository.open(period, threshold, low, now);
+                    alertJdbcRepository.supersedeEarlierPeriods(period, low, now);
+                }
+                if (!recovered.isEmpty()) {
+                    alertJdbcRepository.resolve(recovered, now);
+                }
+                checkpointRepository.save(new JobCheckpoint(JOB_NAME, checkpointAt));
+            });
+            scanned += page.size();
+            opened += low.size();
+        } while (page.size() == PAGE_SIZE);
+
+        if (scanned > 0) {
+            logger.info("Attendance risk scan evaluated {} counters, {} below {}%", scanned, opened, threshold);
+        }
+        return scanned;
+    }
+
+    /**
+     * The student's open alerts, newest period first, one per course.
+     */
+    public List<AttendanceAlert> getOpenAlertsForStudent(User student) {
+        Map<Long, AttendanceAlert> latestByCourse = new LinkedHashMap<>();
+        for (AttendanceAlert alert : alertRepository.findByStudentIdAndStatusOrderByPeriodDesc(
+                student.getUserId(), AttendanceAlert.AlertStatus.OPEN)) {
+            latestByCourse.putIfAbsent(alert.getCourseId(), alert);
+        }
+        return new ArrayList<>(latestByCourse.values());
+    }
+
+    /**
+     * Open alerts with student and course names, for one course or all when courseId is null.
+     */
+    public List<AttendanceAlertSummary> getOpenAlerts(Long courseId) {
+        return alertRepository.findOpenAlertSummaries(courseId);
+    }
+
+    public long countOpenAlerts() {
+        return alertRepository.countByStatus(AttendanceAlert.AlertStatus.OPEN);
+    }
+}
@@ -0,0 +1,146 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceBitmap;
+import com.smartcampus.examgrading.model.AttendanceBitmapId;
+import com.smartcampus.examgrading.model.AttendanceTerm;
+import com.smartcampus.examgrading.model.JobCheckpoint;
+import com.smartcampus.examgrading.repository.AttendanceBitmapJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceBitmapRepository;
+import com.smartcampus.examgrading.repository.JobCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the per-term attendance bitmaps in step with the attendance table. Each
+ * student/course/term pair is one row of four 23-byte masks, so term-wide statistics
+ * are computed from a single primary-key read.
+ */
+@Service
+public class AttendanceBitmapService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceBitmapService.class);
+
+    // Recorded once every term on record has been rebuilt with late bits
+    private static final String BACKFILL_JOB_NAME = "attendance-bitmap-backfill";
+
+    private final AttendanceBitmapRepository bitmapRepository;
+    private final AttendanceBitmapJdbcRepository bitmapJdbcRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AttendanceBitmapService(AttendanceBitmapRepository bitmapRepository,
+                                   AttendanceBitmapJdbcRepository bitmapJdbcRepository,
+                                   JobCheckpointRepository checkpointRepository,
+                                   TransactionTemplate transactionTemplate) {
+        this.bitmapRepository = bitmapRepository;
+        this.bitmapJdbcRepository = bitmapJdbcRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Record one student's status for a day. Must run in the transaction that wrote the attendance row.
+     */
+    @Transactional
+    public void record(Long studentId, Long courseId, LocalDate date, Attendance.AttendanceStatus status) {
+        bitmapJdbcRepository.setDay(courseId, date, Map.of(studentId, status));
+    }
+
+    /**
+     * Record a whole class session with batched statements.
+     */
+    @Transactional
+    public void record(Long courseId, LocalDate date, Map<Long, Attendance.AttendanceStatus> statusByStudentId) {
+        if (!statusByStudentId.isEmpty()) {
+            bitmapJdbcRepository.setDay(courseId, date, statusByStudentId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<AttendanceBitmap> getBitmap(Long studentId, Long courseId, AttendanceTerm term) {
+        return bitmapRepository.findById(new AttendanceBitmapId(studentId, courseId, term.getKey()));
+    }
+
+    /**
+     * Rebuild every bitmap of one term from the attendance table.
+     *
+     * @return Number of bitmap rows written
+     */
+    @Transactional
+    public int rebuildTerm(AttendanceTerm term) {
+        Map<AttendanceBitmapId, BitSet[]> bitmaps = new HashMap<>();
+        bitmapJdbcRepository.streamTermAttendance(term, rs -> {
+            AttendanceBitmapId id = new AttendanceBitmapId(rs.getLong(1), rs.getLong(2), term.getKey());
+            int bit = term.bitIndex(rs.getDate(3).toLocalDate());
+            // Held, attended, late and excused
+            BitSet[] masks = bitmaps.computeIfAbsent(id,
+                key -> new BitSet[] { new BitSet(), new BitSet(), new BitSet(), new BitSet() });
+            masks[0].set(bit);
+            Attendance.AttendanceStatus status = Attendance.AttendanceStatus.valueOf(rs.getString(4));
+            if (AttendanceBitmapJdbcRepository.isAttended(status)) {
+                masks[1].set(bit);
+            }
+            if (status == Attendance.AttendanceStatus.LATE) {
+                masks[2].set(bit);
+            } else if (status == Attendance.AttendanceStatus.EXCUSED) {
+                masks[3].set(bit);
+            }
+        });
+
+        List<AttendanceBitmapJdbcRepository.BitmapRow> rows = new ArrayList<>(bitmaps.size());
+        for (Map.Entry<AttendanceBitmapId, BitSet[]> entry : bitmaps.entrySet()) {
+            AttendanceBitmapId id = entry.getKey();
+            BitSet[] masks = entry.getValue();
+            rows.add(new AttendanceBitmapJdbcRepository.BitmapRow(id.getStudentId(), id.getCourseId(),
+                toBytes(masks[0]), toBytes(masks[1]), toBytes(masks[2]), toBytes(masks[3])));
+        }
+
+        bitmapJdbcRepository.deleteTerm(term.getKey());
+        bitmapJdbcRepository.insertBitmaps(term.getKey(), rows);
+        logger.info("Rebuilt {} attendance bitmaps for term {}", rows.size(), term);
+        return rows.size();
+    }
+
+    /**
+     * Populate the bitmaps of every term with attendance on record. The first run rebuilds
+     * all terms, which also fills in the late bits of bitmaps written before they existed;
+     * later starts only build terms that have no bitmaps yet. Each term commits on its own.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeTerms() {
+        LocalDate[] range = bitmapJdbcRepository.findAttendanceDateRange();
+        boolean backfilled = checkpointRepository.existsById(BACKFILL_JOB_NAME);
+        if (range != null) {
+            AttendanceTerm end = AttendanceTerm.of(range[1]).next();
+            for (AttendanceTerm term = AttendanceTerm.of(range[0]); !term.equals(end); term = term.next()) {
+                AttendanceTerm current = term;
+                if (!backfilled || bitmapRepository.countByTerm(current.getKey()) == 0) {
+                    transactionTemplate.executeWithoutResult(status -> rebuildTerm(current));
+                }
+            }
+        }
+        if (!backfilled) {
+            checkpointRepository.save(new JobCheckpoint(BACKFILL_JOB_NAME, LocalDateTime.now()));
+        }
+    }
+
+    private static byte[] toBytes(BitSet bits) {
+        return Arrays.copyOf(bits.toByteArray(), AttendanceTerm.BITMAP_BYTES);
+    }
+}
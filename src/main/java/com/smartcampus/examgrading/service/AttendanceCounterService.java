@@ -0,0 +1,92 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.AttendanceCounter;
+import com.smartcampus.examgrading.model.AttendanceCounterId;
+import com.smartcampus.examgrading.repository.AttendanceCounterJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains the per-student/course attendance counters so percentage lookups are a
+ * single primary-key read instead of COUNT queries over the attendance table.
+ */
+@Service
+public class AttendanceCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceCounterService.class);
+
+    private final AttendanceCounterRepository counterRepository;
+    private final AttendanceCounterJdbcRepository counterJdbcRepository;
+
+    public AttendanceCounterService(AttendanceCounterRepository counterRepository,
+                                    AttendanceCounterJdbcRepository counterJdbcRepository) {
+        this.counterRepository = counterRepository;
+        this.counterJdbcRepository = counterJdbcRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<AttendanceCounter> getCounter(Long studentId, Long courseId) {
+        return counterRepository.findById(new AttendanceCounterId(studentId, courseId));
+    }
+
+    /**
+     * Refresh one student's counter in a course. Must run in the transaction that
+     * changed the attendance, after the change has been flushed.
+     */
+    @Transactional
+    public void refresh(Long studentId, Long courseId) {
+        counterJdbcRepository.refresh(courseId, List.of(studentId));
+    }
+
+    /**
+     * Refresh the counters of several students in one course with a single statement.
+     */
+    @Transactional
+    public void refresh(Long courseId, Collection<Long> studentIds) {
+        counterJdbcRepository.refresh(courseId, studentIds);
+    }
+
+    /**
+     * Recompute every counter from the attendance table to repair drift.
+     *
+     * @return Number of counter rows written
+     */
+    @Transactional
+    public int rebuildAll() {
+        int rows = counterJdbcRepository.rebuildAll();
+        logger.info("Rebuilt {} attendance counters", rows);
+        return rows;
+    }
+
+    /**
+     * Recompute the counters of one course from the attendance table.
+     *
+     * @return Number of counter rows written
+     */
+    @Transactional
+    public int rebuildCourse(Long courseId) {
+        int rows = counterJdbcRepository.rebuildCourse(courseId);
+        logger.info("Rebuilt {} attendance counters for course {}", rows, courseId);
+        return rows;
+    }
+
+    /**
+     * Populate the counters on first start against an existing attendance table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeCounters() {
+        if (counterJdbcRepository.isEmpty()) {
+            rebuildAll();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.repository.AttendanceExportJdbcRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Writes attendance CSV exports straight from a database cursor to an output stream,
+ * so memory use stays constant regardless of how many rows are exported.
+ */
+@Service
+public class AttendanceExportService {
+
+    private static final String HEADER =
+        "Course Code,Course Name,Student ID,Student Name,Classes Present,Classes Absent,Attendance %\n";
+
+    private final AttendanceExportJdbcRepository exportJdbcRepository;
+
+    public AttendanceExportService(AttendanceExportJdbcRepository exportJdbcRepository) {
+        this.exportJdbcRepository = exportJdbcRepository;
+    }
+
+    /**
+     * Export per-student/per-course attendance totals as CSV. All filters are optional.
+     *
+     * @param out       Destination stream; flushed but not closed
+     * @param courseId  Only this course
+     * @param studentId Only this student
+     * @param from      First attendance date to count, inclusive
+     * @param to        Last attendance date to count, inclusive
+     */
+    public void exportCsv(OutputStream out, Long courseId, Long studentId, LocalDate from, LocalDate to)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(HEADER);
+        try {
+            exportJdbcRepository.streamEnrollmentTotals(courseId, studentId, from, to, rs -> {
+                long total = rs.getLong("total_classes");
+                long present = rs.getLong("present_count");
+                double percentage = total == 0 ? 0 : present * 100.0 / total;
+                try {
+                    writer.write(escape(rs.getString("course_code")));
+                    writer.write(',');
+                    writer.write(escape(rs.getString("course_name")));
+                    writer.write(',');
+                    writer.write(Long.toString(rs.getLong("user_id")));
+                    writer.write(',');
+                    writer.write(escape(rs.getString("first_name") + " " + rs.getString("last_name")));
+                    writer.write(',');
+                    writer.write(Long.toString(present));
+                    writer.write(',');
+                    writer.write(Long.toString(rs.getLong("absent_count")));
+                    writer.write(',');
+                    writer.write(String.format(Locale.ROOT, "%.1f", percentage));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
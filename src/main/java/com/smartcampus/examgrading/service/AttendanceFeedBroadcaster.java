@@ -0,0 +1,119 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.AttendanceFeedItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Fans attendance feed items out to open views. Each subscriber gets at most one
+ * delivery per interval; items arriving in between are merged per class session
+ * and delivered together.
+ */
+@Service
+public class AttendanceFeedBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceFeedBroadcaster.class);
+
+    private final ThreadPoolTaskScheduler scheduler;
+    private final long minIntervalMillis;
+    private final int maxPending;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    public AttendanceFeedBroadcaster(@Qualifier("attendanceFeedScheduler") ThreadPoolTaskScheduler scheduler,
+                                     @Value("${attendance.feed.min-interval-millis:2000}") long minIntervalMillis,
+                                     @Value("${attendance.feed.max-pending:50}") int maxPending) {
+        this.scheduler = scheduler;
+        this.minIntervalMillis = minIntervalMillis;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Receive feed items matching the filter. The listener runs on a scheduler thread,
+     * so UI listeners must hand the update to their UI themselves.
+     */
+    public Subscription subscribe(Predicate<AttendanceFeedItem> filter, Consumer<List<AttendanceFeedItem>> listener) {
+        Subscription subscription = new Subscription(filter, listener);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public void publish(List<AttendanceFeedItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(items);
+        }
+    }
+
+    public class Subscription {
+        private final Predicate<AttendanceFeedItem> filter;
+        private final Consumer<List<AttendanceFeedItem>> listener;
+        private final LinkedHashMap<String, AttendanceFeedItem> pending = new LinkedHashMap<>();
+        private long lastDeliveredAt;
+        private boolean flushScheduled;
+
+        private Subscription(Predicate<AttendanceFeedItem> filter, Consumer<List<AttendanceFeedItem>> listener) {
+            this.filter = filter;
+            this.listener = listener;
+        }
+
+        public void cancel() {
+            subscriptions.remove(this);
+        }
+
+        private synchronized void offer(List<AttendanceFeedItem> items) {
+            for (AttendanceFeedItem item : items) {
+                if (filter.test(item)) {
+                    // Re-insert so the merged session moves to the newest position
+                    AttendanceFeedItem previous = pending.remove(item.getSessionKey());
+                    pending.put(item.getSessionKey(), previous == null ? item : previous.merge(item));
+                }
+            }
+            // Keep only the newest sessions when a subscriber falls far behind
+            Iterator<String> oldest = pending.keySet().iterator();
+            while (pending.size() > maxPending) {
+                oldest.next();
+                oldest.remove();
+            }
+            if (!pending.isEmpty() && !flushScheduled) {
+                flushScheduled = true;
+                long delay = Math.max(0, lastDeliveredAt + minIntervalMillis - System.currentTimeMillis());
+                scheduler.schedule(this::flush, Instant.now().plusMillis(delay));
+            }
+        }
+
+        private void flush() {
+            List<AttendanceFeedItem> items;
+            synchronized (this) {
+                items = new ArrayList<>(pending.values());
+                pending.clear();
+                flushScheduled = false;
+                lastDeliveredAt = System.currentTimeMillis();
+            }
+            if (items.isEmpty() || !subscriptions.contains(this)) {
+                return;
+            }
+            try {
+                listener.accept(items);
+            } catch (RuntimeException e) {
+                logger.warn("Attendance feed delivery failed, dropping subscriber", e);
+                cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceImportResult;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.AttendanceImportJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceJdbcRepository.AttendanceRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports attendance from roll-call CSV files exported by biometric or roll-call devices.
+ * The file is read line by line, usernames and course codes are resolved from lookup maps
+ * loaded once per file, and valid rows are upserted in chunks so memory use stays flat
+ * however large the file is.
+ *
+ * <p>The file needs a header naming the columns {@code username}, {@code course_code},
+ * {@code date} (yyyy-MM-dd) and {@code status}; other columns are ignored. Status accepts
+ * PRESENT, ABSENT, LATE and EXCUSED or the device codes P, A, L and E.
+ */
+@Service
+public class AttendanceImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceImportService.class);
+
+    private static final String USERNAME = "username";
+    private static final String COURSE_CODE = "coursecode";
+    private static final String DATE = "date";
+    private static final String STATUS = "status";
+
+    // Header spellings seen in device exports, normalized to lower case without separators
+    private static final Map<String, String> HEADER_ALIASES = Map.of(
+            "username", USERNAME,
+            "student", USERNAME,
+            "studentusername", USERNAME,
+            "coursecode", COURSE_CODE,
+            "course", COURSE_CODE,
+            "date", DATE,
+            "attendancedate", DATE,
+            "status", STATUS);
+
+    private final AttendanceImportJdbcRepository importJdbcRepository;
+    private final AttendanceJdbcRepository attendanceJdbcRepository;
+    private final AttendanceService attendanceService;
+    private final AttendanceCounterService counterService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxRejectedDetails;
+
+    public AttendanceImportService(AttendanceImportJdbcRepository importJdbcRepository,
+                                   AttendanceJdbcRepository attendanceJdbcRepository,
+                                   AttendanceService attendanceService,
+                                   AttendanceCounterService counterService,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${attendance.import.chunk-size:5000}") int chunkSize,
+                                   @Value("${attendance.import.max-rejected-details:1000}") int maxRejectedDetails) {
+        this.importJdbcRepository = importJdbcRepository;
+        this.attendanceJdbcRepository = attendanceJdbcRepository;
+        this.attendanceService = attendanceService;
+        this.counterService = counterService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxRejectedDetails = maxRejectedDetails;
+    }
+
+    /**
+     * Import one roll-call file. Each chunk of valid rows commits on its own together with
+     * the bitmaps it affects, and publishes one attendance change per class session in it,
+     * so re-running the file after a failure part-way is safe. Counters are recomputed from
+     * the attendance table, so refreshing them per chunk would recount a student's whole
+     * course once for every chunk naming them; instead each imported student's counter is
+     * refreshed once after the last chunk, or after the failure. Enrollments are loaded
+     * once for each course the file names.
+     *
+     * <p>The {@code importCsv} benchmark of the {@code benchmark} Maven profile reports
+     * the rate in rows per second; it has not been run against a representative database
+     * yet. {@code attendance.import.chunk-size} is the main tuning knob.
+     *
+     * @param in         The CSV content; read to the end but not closed
+     * @param fileName   Name reported back in the result
+     * @param importedBy Recorded as the marker of every row. Faculty may only import
+     *                   courses they teach.
+     * @return Row counts and the rejected rows with the reason for each
+     */
+    public AttendanceImportResult importCsv(InputStream in, String fileName, User importedBy) throws IOException {
+        long started = System.currentTimeMillis();
+        AttendanceImportResult result = new AttendanceImportResult(fileName, maxRejectedDetails);
+
+        Long facultyId = importedBy.getRole() == User.Role.FACULTY ? importedBy.getUserId() : null;
+        Map<String, Long> studentIds = importJdbcRepository.loadStudentIdsByUsername();
+        Map<String, Long> courseIds = importJdbcRepository.loadCourseIdsByCode(facultyId);
+        Map<Long, Set<Long>> enrollments = new HashMap<>();
+        LocalDate today = LocalDate.now();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        int[] columns = resolveColumns(header);
+        int fieldCount = Math.max(Math.max(columns[0], columns[1]), Math.max(columns[2], columns[3])) + 1;
+
+        List<AttendanceRow> chunk = new ArrayList<>(chunkSize);
+        Map<Long, Set<Long>> importedStudentsByCourse = new HashMap<>();
+        List<String> fields = new ArrayList<>();
+        long lineNumber = 1;
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.rowRead();
+
+                if (!splitLine(line, fields)) {
+                    result.reject(lineNumber, line, "Unbalanced quotes");
+                    continue;
+                }
+                if (fields.size() < fieldCount) {
+                    result.reject(lineNumber, line, "Expected at least " + fieldCount + " columns");
+                    continue;
+                }
+
+                Long studentId = studentIds.get(fields.get(columns[0]).toLowerCase());
+                if (studentId == null) {
+                    result.reject(lineNumber, line, "Unknown student '" + fields.get(columns[0]) + "'");
+                    continue;
+                }
+                Long courseId = courseIds.get(fields.get(columns[1]).toUpperCase());
+                if (courseId == null) {
+                    result.reject(lineNumber, line, facultyId == null
+                        ? "Unknown course '" + fields.get(columns[1]) + "'"
+                        : "Unknown course '" + fields.get(columns[1]) + "' or not taught by you");
+                    continue;
+                }
+                Set<Long> enrolled = enrollments.get(courseId);
+                if (enrolled == null) {
+                    enrolled = importJdbcRepository.loadEnrolledStudentIds(courseId);
+                    enrollments.put(courseId, enrolled);
+                }
+                if (!enrolled.contains(studentId)) {
+                    result.reject(lineNumber, line, "Student is not enrolled in the course");
+                    continue;
+                }
+                LocalDate date;
+                try {
+                    date = LocalDate.parse(fields.get(columns[2]));
+                } catch (DateTimeParseException e) {
+                    result.reject(lineNumber, line,
+                        "Invalid date '" + fields.get(columns[2]) + "', expected yyyy-MM-dd");
+                    continue;
+                }
+                if (date.isAfter(today)) {
+                    result.reject(lineNumber, line, "Date is in the future");
+                    continue;
+                }
+                Attendance.AttendanceStatus status = parseStatus(fields.get(columns[3]));
+                if (status == null) {
+                    result.reject(lineNumber, line, "Invalid status '" + fields.get(columns[3]) + "'");
+                    continue;
+                }
+
+                chunk.add(new AttendanceRow(studentId, courseId, date, status));
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, importedBy.getUserId(), importedStudentsByCourse);
+                    result.rowsImported(chunk.size());
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, importedBy.getUserId(), importedStudentsByCourse);
+                result.rowsImported(chunk.size());
+            }
+        } finally {
+            refreshCounters(importedStudentsByCourse);
+        }
+
+        result.setDurationMillis(System.currentTimeMillis() - started);
+        logger.info("Imported {} of {} attendance rows from {} in {} ms ({} rejected)",
+            result.getRowsImported(), result.getRowsRead(), fileName,
+            result.getDurationMillis(), result.getRowsRejected());
+        return result;
+    }
+
+    private void writeChunk(List<AttendanceRow> rows, Long markedBy, Map<Long, Set<Long>> importedStudentsByCourse) {
+        Map<Long, Map<LocalDate, Map<Long, Attendance.AttendanceStatus>>> sessions = new HashMap<>();
+        for (AttendanceRow row : rows) {
+            sessions.computeIfAbsent(row.getCourseId(), id -> new HashMap<>())
+                .computeIfAbsent(row.getAttendanceDate(), d -> new LinkedHashMap<>())
+                .put(row.getStudentId(), row.getStatus());
+        }
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            attendanceJdbcRepository.upsertRows(rows, markedBy, LocalDateTime.now());
+            attendanceService.recordSessionChangesExceptCounters(sessions, markedBy);
+        });
+        for (AttendanceRow row : rows) {
+            importedStudentsByCourse.computeIfAbsent(row.getCourseId(), id -> new HashSet<>()).add(row.getStudentId());
+        }
+    }
+
+    /**
+     * Refresh the counters of every imported student, one course and at most one chunk of
+     * students per statement and transaction.
+     */
+    private void refreshCounters(Map<Long, Set<Long>> importedStudentsByCourse) {
+        importedStudentsByCourse.forEach((courseId, studentIds) -> {
+            List<Long> ids = new ArrayList<>(studentIds);
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                transactionTemplate.executeWithoutResult(tx -> counterService.refresh(courseId, batch));
+            }
+        });
+    }
+
+    /**
+     * Map the required columns to their positions in the header.
+     *
+     * @return Positions of username, course code, date and status
+     */
+    private static int[] resolveColumns(String header) {
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> names = new ArrayList<>();
+        if (!splitLine(header, names)) {
+            throw new IllegalArgumentException("The header row has unbalanced quotes");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String normalized = names.get(i).toLowerCase().replaceAll("[^a-z]", "");
+            String column = HEADER_ALIASES.get(normalized);
+            if (column != null) {
+                positions.putIfAbsent(column, i);
+            }
+        }
+        int[] columns = new int[4];
+        String[] required = { USERNAME, COURSE_CODE, DATE, STATUS };
+        for (int i = 0; i < required.length; i++) {
+            Integer position = positions.get(required[i]);
+            if (position == null) {
+                throw new IllegalArgumentException(
+                    "The header must name the columns username, course_code, date and status");
+            }
+            columns[i] = position;
+        }
+        return columns;
+    }
+
+    private static Attendance.AttendanceStatus parseStatus(String value) {
+        switch (value.toUpperCase()) {
+            case "P":
+            case "PRESENT":
+                return Attendance.AttendanceStatus.PRESENT;
+            case "A":
+            case "ABSENT":
+                return Attendance.AttendanceStatus.ABSENT;
+            case "L":
+            case "LATE":
+                return Attendance.AttendanceStatus.LATE;
+            case "E":
+            case "EXCUSED":
+                return Attendance.AttendanceStatus.EXCUSED;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Split one CSV line into trimmed fields, reusing the given list. Quoted fields may
+     * contain commas and doubled quotes; they may not span lines.
+     *
+     * @return false when a quoted field is not closed
+     */
+    static boolean splitLine(String line, List<String> fields) {
+        fields.clear();
+        int length = line.length();
+        int i = 0;
+        while (true) {
+            if (i < length && line.charAt(i) == '"') {
+                StringBuilder value = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        return false;
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < length && line.charAt(i) == '"') {
+                            value.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        value.append(c);
+                    }
+                }
+                fields.add(value.toString().trim());
+                // Skip anything between the closing quote and the next separator
+                while (i < length && line.charAt(i) != ',') {
+                    i++;
+                }
+            } else {
+                int next = line.indexOf(',', i);
+                int end = next < 0 ? length : next;
+                fields.add(line.substring(i, end).trim());
+                i = end;
+            }
+            if (i >= length) {
+                return true;
+            }
+            i++; // past the comma
+        }
+    }
+}
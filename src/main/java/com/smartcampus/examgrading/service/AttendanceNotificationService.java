@@ -0,0 +1,213 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.AttendanceChangeEvent;
+import com.smartcampus.examgrading.model.AttendanceFeedItem;
+import com.smartcampus.examgrading.model.Notification;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.CourseRepository;
+import com.smartcampus.examgrading.repository.NotificationJdbcRepository;
+import com.smartcampus.examgrading.repository.NotificationRepository;
+import com.smartcampus.examgrading.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns committed attendance changes into admin notifications off the request thread.
+ * Events are queued after commit and a single worker writes them in batches, merging
+ * every change to the same class session into one notification row and one live
+ * feed item.
+ */
+@Service
+public class AttendanceNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceNotificationService.class);
+
+    private final NotificationJdbcRepository notificationJdbcRepository;
+    private final NotificationRepository notificationRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final AttendanceFeedBroadcaster feedBroadcaster;
+    private final ThreadPoolTaskExecutor executor;
+    private final BlockingQueue<AttendanceChangeEvent> queue;
+    private final int batchSize;
+    private final long pollMillis;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private volatile boolean running = true;
+
+    public AttendanceNotificationService(NotificationJdbcRepository notificationJdbcRepository,
+                                         NotificationRepository notificationRepository,
+                                         CourseRepository courseRepository,
+                                         UserRepository userRepository,
+                                         AttendanceFeedBroadcaster feedBroadcaster,
+                                         @Qualifier("attendanceNotificationExecutor") ThreadPoolTaskExecutor executor,
+                                         @Value("${attendance.notifications.queue-capacity:10000}") int queueCapacity,
+                                         @Value("${attendance.notifications.batch-size:200}") int batchSize,
+                                         @Value("${attendance.notifications.poll-millis:1000}") long pollMillis) {
+        this.notificationJdbcRepository = notificationJdbcRepository;
+        this.notificationRepository = notificationRepository;
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+        this.feedBroadcaster = feedBroadcaster;
+        this.executor = executor;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.pollMillis = pollMillis;
+    }
+
+    /**
+     * Queue a change once its transaction has committed. Never blocks: when the queue
+     * is full the event is dropped and counted, so marking is unaffected by a slow writer.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChange(AttendanceChangeEvent event) {
+        if (!queue.offer(event)) {
+            long dropped = droppedEvents.incrementAndGet();
+            if (dropped == 1 || dropped % 1000 == 0) {
+                logger.warn("Attendance notification queue full, {} events dropped so far", dropped);
+            }
+        }
+    }
+
+    public List<Notification> getAdminNotifications() {
+        return notificationRepository.findTop50ByRecipientRoleOrderByUpdatedAtDesc(User.Role.ADMIN);
+    }
+
+    public long countUnreadAdminNotifications() {
+        return notificationRepository.countByRecipientRoleAndReadFalse(User.Role.ADMIN);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorker() {
+        executor.execute(this::drainQueue);
+    }
+
+    @PreDestroy
+    public void stopWorker() {
+        running = false;
+    }
+
+    private void drainQueue() {
+        List<AttendanceChangeEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AttendanceChangeEvent first = queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeNotifications(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Failed to write notifications for {} attendance events", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeNotifications(List<AttendanceChangeEvent> events) {
+        // Coalesce the batch by class session before resolving any names
+        Map<String, SessionChanges> sessions = new LinkedHashMap<>();
+        for (AttendanceChangeEvent event : events) {
+            sessions.computeIfAbsent(coalesceKey(event.getCourseId(), event.getAttendanceDate()),
+                    key -> new SessionChanges(event.getCourseId(), event.getAttendanceDate()))
+                .add(event);
+        }
+
+        Map<Long, Object[]> courses = courseRepository.findNamesAndFacultyIds(sessions.values().stream()
+                .map(session -> session.courseId)
+                .collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(row -> (Long) row[0], Function.identity()));
+        Map<Long, User> faculty = userRepository.findAllById(sessions.values().stream()
+                .map(session -> session.lastMarkedById)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<Notification> notifications = new ArrayList<>(sessions.size());
+        List<AttendanceFeedItem> feedItems = new ArrayList<>(sessions.size());
+        for (Map.Entry<String, SessionChanges> entry : sessions.entrySet()) {
+            SessionChanges session = entry.getValue();
+            Object[] course = courses.get(session.courseId);
+            String message = message(session, course == null ? null : (String) course[1],
+                faculty.get(session.lastMarkedById));
+            Notification notification = new Notification();
+            notification.setType(Notification.NotificationType.ATTENDANCE_CHANGE);
+            notification.setRecipientRole(User.Role.ADMIN);
+            notification.setCoalesceKey(entry.getKey());
+            notification.setCourseId(session.courseId);
+            notification.setEventDate(session.date);
+            notification.setMessage(message);
+            notification.setEventCount(session.changes);
+            notification.setUpdatedAt(session.lastOccurredAt);
+            notifications.add(notification);
+            feedItems.add(new AttendanceFeedItem(session.courseId, course == null ? null : (Long) course[2],
+                session.date, message, session.changes, session.lastOccurredAt));
+        }
+        notificationJdbcRepository.upsert(notifications);
+        feedBroadcaster.publish(feedItems);
+    }
+
+    private static String coalesceKey(Long courseId, LocalDate date) {
+        return "ATTENDANCE:" + courseId + ":" + date;
+    }
+
+    // The row is coalesced across batches and its message replaced each time, so the text
+    // only describes this batch; the running total of changes is the row's event_count
+    private static String message(SessionChanges session, String courseName, User markedBy) {
+        if (courseName == null) {
+            courseName = "course " + session.courseId;
+        }
+        String facultyName = markedBy == null ? "unknown" : markedBy.getFirstName() + " " + markedBy.getLastName();
+        return "Attendance for " + courseName + " on " + session.date + " changed; latest update covered "
+            + session.students.size() + " students, by " + facultyName;
+    }
+
+    private static class SessionChanges {
+        private final Long courseId;
+        private final LocalDate date;
+        private final Set<Long> students = new HashSet<>();
+        private int changes;
+        private Long lastMarkedById;
+        private LocalDateTime lastOccurredAt;
+
+        SessionChanges(Long courseId, LocalDate date) {
+            this.courseId = courseId;
+            this.date = date;
+        }
+
+        void add(AttendanceChangeEvent event) {
+            students.addAll(event.getStatusByStudentId().keySet());
+            changes += event.getStatusByStudentId().size();
+            lastMarkedById = event.getMarkedById();
+            lastOccurredAt = event.getOccurredAt();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.repository.AttendanceReportJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceReportJdbcRepository.ReportTotals;
+import com.smartcampus.examgrading.repository.AttendanceReportJdbcRepository.StatusCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes monthly attendance reports for every enrollment from a single grouped
+ * aggregate query and writes them back in batched, separately committed chunks.
+ */
+@Service
+public class AttendanceReportEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceReportEngine.class);
+
+    static final int CHUNK_SIZE = 1000;
+
+    private final AttendanceReportJdbcRepository reportJdbcRepository;
+    private final TransactionTemplate chunkTemplate;
+
+    public AttendanceReportEngine(AttendanceReportJdbcRepository reportJdbcRepository,
+                                  TransactionTemplate transactionTemplate) {
+        this.reportJdbcRepository = reportJdbcRepository;
+        // Chunks are flushed from inside the streaming callback, so they must not join a
+        // transaction the caller may hold open around the whole run
+        this.chunkTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.chunkTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Generate (or regenerate) the reports for one month.
+     *
+     * @param month            Month of the year, 1-12
+     * @param year             Calendar year
+     * @param lowAttendanceBar Reports below this percentage are returned for alerting
+     * @return Summary of the run including the low-attendance rows
+     */
+    public ReportRun generate(int month, int year, BigDecimal lowAttendanceBar) {
+        return generate(month, year, null, lowAttendanceBar);
+    }
+
+    /**
+     * Generate (or regenerate) one month's reports for a single course, or for every
+     * course when {@code courseId} is null.
+     */
+    public ReportRun generate(int month, int year, Long courseId, BigDecimal lowAttendanceBar) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        LocalDate start = yearMonth.atDay(1);
+        LocalDate end = yearMonth.plusMonths(1).atDay(1);
+
+        ReportRun run = new ReportRun(month, year);
+        LocalDateTime generatedAt = LocalDateTime.now();
+        List<ReportTotals> chunk = new ArrayList<>(CHUNK_SIZE);
+        ReportTotals[] current = new ReportTotals[1];
+
+        reportJdbcRepository.streamStatusCounts(start, end, courseId, (StatusCount row) -> {
+            ReportTotals totals = current[0];
+            if (totals == null || !totals.isFor(row.getStudentId(), row.getCourseId())) {
+                if (totals != null) {
+                    collect(totals, chunk, run, lowAttendanceBar, generatedAt);
+                }
+                totals = new ReportTotals(row.getStudentId(), row.getCourseId());
+                current[0] = totals;
+            }
+            totals.add(row.getStatus(), row.getCount());
+        });
+
+        if (current[0] != null) {
+            collect(current[0], chunk, run, lowAttendanceBar, generatedAt);
+        }
+        flush(chunk, run, generatedAt);
+
+        logger.info("Attendance reports for {}/{}{}: {} rows in {} ms ({} rows/s)",
+            month, year, courseId != null ? " course " + courseId : "",
+            run.getRowsWritten(), run.getElapsedMillis(), run.getRowsPerSecond());
+        return run;
+    }
+
+    private void collect(ReportTotals totals, List<ReportTotals> chunk, ReportRun run,
+                         BigDecimal lowAttendanceBar, LocalDateTime generatedAt) {
+        chunk.add(totals);
+        if (totals.getAttendancePercentage().compareTo(lowAttendanceBar) < 0) {
+            run.lowAttendance.add(totals);
+        }
+        if (chunk.size() >= CHUNK_SIZE) {
+            flush(chunk, run, generatedAt);
+        }
+    }
+
+    private void flush(List<ReportTotals> chunk, ReportRun run, LocalDateTime generatedAt) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Each chunk commits on its own so a long month-end run never holds one giant transaction
+        chunkTemplate.executeWithoutResult(status ->
+            reportJdbcRepository.upsertReports(run.getMonth(), run.getYear(), chunk, generatedAt));
+        run.rowsWritten += chunk.size();
+        chunk.clear();
+
+        logger.debug("Attendance reports for {}/{}: {} rows written ({} rows/s)",
+            run.getMonth(), run.getYear(), run.getRowsWritten(), run.getRowsPerSecond());
+    }
+
+    /**
+     * Progress and outcome of one report generation run.
+     */
+    public static class ReportRun {
+        private final int month;
+        private final int year;
+        private final long startedAt = System.nanoTime();
+        private final List<ReportTotals> lowAttendance = new ArrayList<>();
+        private long rowsWritten;
+
+        ReportRun(int month, int year) {
+            this.month = month;
+            this.year = year;
+        }
+
+        public int getMonth() {
+            return month;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public long getRowsWritten() {
+            return rowsWritten;
+        }
+
+        public List<ReportTotals> getLowAttendance() {
+            return lowAttendance;
+        }
+
+        public long getElapsedMillis() {
+            return (System.nanoTime() - startedAt) / 1_000_000;
+        }
+
+        public long getRowsPerSecond() {
+            long elapsed = Math.max(getElapsedMillis(), 1);
+            return rowsWritten * 1000 / elapsed;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.AttendanceReportJob;
+import com.smartcampus.examgrading.model.AttendanceReportJobPartition;
+import com.smartcampus.examgrading.repository.AttendanceReportJobPartitionRepository;
+import com.smartcampus.examgrading.repository.AttendanceReportJobRepository;
+import com.smartcampus.examgrading.repository.StudentCourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs month-end attendance report generation in the background, partitioned by
+ * course across a bounded worker pool. Every partition is checkpointed so a job
+ * interrupted by a crash resumes with the courses it had not finished.
+ */
+@Service
+public class AttendanceReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceReportJobService.class);
+
+    private static final EnumSet<AttendanceReportJob.JobStatus> UNFINISHED =
+        EnumSet.of(AttendanceReportJob.JobStatus.QUEUED, AttendanceReportJob.JobStatus.RUNNING);
+
+    private static final EnumSet<AttendanceReportJob.JobStatus> RESUMABLE =
+        EnumSet.of(AttendanceReportJob.JobStatus.QUEUED, AttendanceReportJob.JobStatus.RUNNING,
+            AttendanceReportJob.JobStatus.FAILED);
+
+    private final AttendanceReportJobRepository jobRepository;
+    private final AttendanceReportJobPartitionRepository partitionRepository;
+    private final StudentCourseRepository studentCourseRepository;
+    private final AttendanceService attendanceService;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final int workerThreads;
+
+    public AttendanceReportJobService(AttendanceReportJobRepository jobRepository,
+                                      AttendanceReportJobPartitionRepository partitionRepository,
+                                      StudentCourseRepository studentCourseRepository,
+                                      AttendanceService attendanceService,
+                                      @Qualifier("attendanceReportExecutor") ThreadPoolTaskExecutor executor,
+                                      TransactionTemplate transactionTemplate,
+                                      @Value("${attendance.reports.worker-threads:4}") int workerThreads) {
+        this.jobRepository = jobRepository;
+        this.partitionRepository = partitionRepository;
+        this.studentCourseRepository = studentCourseRepository;
+        this.attendanceService = attendanceService;
+        this.executor = executor;
+        this.transactionTemplate = transactionTemplate;
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Queue report generation for a month and return immediately. If a job for the
+     * same month is already queued or running, that job is returned instead; a failed
+     * job is restarted from its unfinished partitions. Concurrent calls for one month
+     * share a single job: the unique active period rejects a second unfinished job.
+     */
+    public AttendanceReportJob startJob(int month, int year) {
+        Optional<AttendanceReportJob> existing =
+            jobRepository.findFirstByMonthAndYearAndStatusIn(month, year, RESUMABLE);
+        if (existing.isPresent()) {
+            return resumeIfFailed(existing.get());
+        }
+
+        AttendanceReportJob job;
+        try {
+            job = transactionTemplate.execute(status -> {
+                List<Long> courseIds = studentCourseRepository.findDistinctCourseIds();
+
+                AttendanceReportJob newJob = new AttendanceReportJob();
+                newJob.setMonth(month);
+                newJob.setYear(year);
+                newJob.setStatus(AttendanceReportJob.JobStatus.QUEUED);
+                newJob.setActivePeriod(AttendanceReportJob.activePeriodOf(month, year));
+                newJob.setTotalPartitions(courseIds.size());
+                newJob.setCompletedPartitions(0);
+                newJob.setRowsWritten(0L);
+                newJob.setCreatedAt(LocalDateTime.now());
+                newJob = jobRepository.save(newJob);
+
+                List<AttendanceReportJobPartition> partitions = new ArrayList<>(courseIds.size());
+                for (Long courseId : courseIds) {
+                    AttendanceReportJobPartition partition = new AttendanceReportJobPartition();
+                    partition.setJobId(newJob.getJobId());
+                    partition.setCourseId(courseId);
+                    partition.setStatus(AttendanceReportJobPartition.PartitionStatus.PENDING);
+                    partitions.add(partition);
+                }
+                partitionRepository.saveAll(partitions);
+                return newJob;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another request created the month's job between our lookup and insert
+            AttendanceReportJob concurrent = jobRepository.findFirstByMonthAndYearAndStatusIn(month, year, RESUMABLE)
+                .orElseThrow(() -> e);
+            return resumeIfFailed(concurrent);
+        }
+
+        runJob(job);
+        return job;
+    }
+
+    private AttendanceReportJob resumeIfFailed(AttendanceReportJob job) {
+        if (job.getStatus() != AttendanceReportJob.JobStatus.FAILED) {
+            return job;
+        }
+        Integer claimed = transactionTemplate.execute(status -> jobRepository.updateStatusIf(
+            job.getJobId(), AttendanceReportJob.JobStatus.QUEUED, AttendanceReportJob.JobStatus.FAILED));
+        if (claimed != null && claimed == 1) {
+            runJob(job);
+        }
+        // Return the job as it is now, not the failed snapshot it was found as
+        return jobRepository.findById(job.getJobId()).orElse(job);
+    }
+
+    public Optional<AttendanceReportJob> getJob(Long jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    /**
+     * Pick up jobs that were queued or running when the application last stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        for (AttendanceReportJob job : jobRepository.findByStatusIn(UNFINISHED)) {
+            logger.info("Resuming attendance report job {} for {}/{} ({} of {} partitions done)",
+                job.getJobId(), job.getMonth(), job.getYear(),
+                job.getCompletedPartitions(), job.getTotalPartitions());
+            runJob(job);
+        }
+    }
+
+    private void runJob(AttendanceReportJob job) {
+        Queue<AttendanceReportJobPartition> pending = new ConcurrentLinkedQueue<>(
+            partitionRepository.findByJobIdAndStatusNot(
+                job.getJobId(), AttendanceReportJobPartition.PartitionStatus.COMPLETED));
+
+        updateStatus(job.getJobId(), AttendanceReportJob.JobStatus.RUNNING, null);
+        if (pending.isEmpty()) {
+            finishJob(job.getJobId(), new AtomicBoolean(false));
+            return;
+        }
+
+        // A fixed number of workers drain the partition queue, so the executor queue stays bounded
+        int workers = Math.min(workerThreads, pending.size());
+        AtomicInteger activeWorkers = new AtomicInteger(workers);
+        AtomicBoolean failed = new AtomicBoolean(false);
+        for (int i = 0; i < workers; i++) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        AttendanceReportJobPartition partition;
+                        while ((partition = pending.poll()) != null) {
+                            runPartition(job, partition, failed);
+                        }
+                    } finally {
+                        if (activeWorkers.decrementAndGet() == 0) {
+                            finishJob(job.getJobId(), failed);
+                        }
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                // Pool is saturated; the partitions stay pending for the workers already started
+                logger.warn("Attendance report worker rejected for job {}", job.getJobId());
+                if (activeWorkers.decrementAndGet() == 0) {
+                    failed.set(true);
+                    finishJob(job.getJobId(), failed);
+                }
+            }
+        }
+    }
+
+    private void runPartition(AttendanceReportJob job, AttendanceReportJobPartition partition, AtomicBoolean failed) {
+        try {
+            AttendanceReportEngine.ReportRun run =
+                attendanceService.generateMonthlyReports(job.getMonth(), job.getYear(), partition.getCourseId());
+
+            // Checkpoint the partition and advance the job counters together
+            transactionTemplate.executeWithoutResult(status -> {
+                partition.setStatus(AttendanceReportJobPartition.PartitionStatus.COMPLETED);
+                partition.setRowsWritten(run.getRowsWritten());
+                partition.setCompletedAt(LocalDateTime.now());
+                partitionRepository.save(partition);
+                jobRepository.recordCompletedPartition(job.getJobId(), run.getRowsWritten());
+            });
+        } catch (RuntimeException e) {
+            logger.error("Attendance report job {} failed for course {}", job.getJobId(), partition.getCourseId(), e);
+            failed.set(true);
+            partition.setStatus(AttendanceReportJobPartition.PartitionStatus.FAILED);
+            partitionRepository.save(partition);
+        }
+    }
+
+    private void finishJob(Long jobId, AtomicBoolean failed) {
+        if (failed.get()) {
+            updateStatus(jobId, AttendanceReportJob.JobStatus.FAILED, "One or more course partitions failed");
+        } else {
+            updateStatus(jobId, AttendanceReportJob.JobStatus.COMPLETED, null);
+        }
+    }
+
+    private void updateStatus(Long jobId, AttendanceReportJob.JobStatus status, String errorMessage) {
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setErrorMessage(errorMessage);
+            if (status == AttendanceReportJob.JobStatus.RUNNING && job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+            }
+            if (status == AttendanceReportJob.JobStatus.COMPLETED || status == AttendanceReportJob.JobStatus.FAILED) {
+                job.setFinishedAt(LocalDateTime.now());
+            }
+            if (status == AttendanceReportJob.JobStatus.COMPLETED) {
+                // Frees the month for a later regeneration
+                job.setActivePeriod(null);
+            }
+        }));
+    }
+}
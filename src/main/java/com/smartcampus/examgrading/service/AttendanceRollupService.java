@@ -0,0 +1,152 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.AttendanceChangeEvent;
+import com.smartcampus.examgrading.model.AttendanceRollup;
+import com.smartcampus.examgrading.model.AttendanceTrendPoint;
+import com.smartcampus.examgrading.model.Timetable;
+import com.smartcampus.examgrading.repository.AttendanceRollupJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceRollupRepository;
+import com.smartcampus.examgrading.repository.TimetableRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Maintains per-session attendance rollups for the admin heatmap and weekly trend, and
+ * serves both from them. A course has at most one rollup row per day, so a chart over any
+ * number of weeks reads at most seven rows per week no matter how long the history is.
+ */
+@Service
+public class AttendanceRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceRollupService.class);
+
+    private final AttendanceRollupRepository rollupRepository;
+    private final AttendanceRollupJdbcRepository rollupJdbcRepository;
+    private final TimetableRepository timetableRepository;
+
+    public AttendanceRollupService(AttendanceRollupRepository rollupRepository,
+                                   AttendanceRollupJdbcRepository rollupJdbcRepository,
+                                   TimetableRepository timetableRepository) {
+        this.rollupRepository = rollupRepository;
+        this.rollupJdbcRepository = rollupJdbcRepository;
+        this.timetableRepository = timetableRepository;
+    }
+
+    /**
+     * Recompute the changed session's rollup once its attendance has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAttendanceChange(AttendanceChangeEvent event) {
+        rollupJdbcRepository.refresh(event.getCourseId(), List.of(event.getAttendanceDate()));
+    }
+
+    /**
+     * Refresh the rollups of several sessions of one course in the current transaction.
+     */
+    @Transactional
+    public void refresh(Long courseId, Collection<LocalDate> dates) {
+        rollupJdbcRepository.refresh(courseId, dates);
+    }
+
+    /**
+     * Recompute every rollup from the attendance table to repair drift.
+     *
+     * @return Number of rollup rows written
+     */
+    @Transactional
+    public int rebuildAll() {
+        int rows = rollupJdbcRepository.rebuildAll();
+        logger.info("Rebuilt {} attendance rollups", rows);
+        return rows;
+    }
+
+    /**
+     * Populate the rollups on first start against an existing attendance table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeRollups() {
+        if (rollupJdbcRepository.isEmpty()) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Attendance of a course per ISO week, oldest first, for the given number of weeks up
+     * to and including the current one. Weeks without classes are included with no sessions.
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceTrendPoint> getWeeklyTrend(Long courseId, int weeks) {
+        LocalDate lastWeekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate firstWeekStart = lastWeekStart.minusWeeks(weeks - 1L);
+
+        Map<Integer, AttendanceTrendPoint> points = new LinkedHashMap<>();
+        for (LocalDate weekStart = firstWeekStart; !weekStart.isAfter(lastWeekStart); weekStart = weekStart.plusWeeks(1)) {
+            int isoWeek = AttendanceRollup.isoWeekOf(weekStart);
+            points.put(isoWeek, AttendanceTrendPoint.forWeek(isoWeek, weekStart));
+        }
+        for (AttendanceRollup rollup : findRollups(courseId, firstWeekStart, lastWeekStart)) {
+            AttendanceTrendPoint point = points.get(rollup.getIsoWeek());
+            if (point != null) {
+                point.add(rollup);
+            }
+        }
+        return new ArrayList<>(points.values());
+    }
+
+    /**
+     * Attendance of a course per weekday over the given number of weeks, with the start
+     * times the course is timetabled at. Attendance is recorded per day, so a weekday with
+     * several timetabled slots is one cell listing all of them.
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceTrendPoint> getWeekdayHeatmap(Long courseId, int weeks) {
+        LocalDate lastWeekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate firstWeekStart = lastWeekStart.minusWeeks(weeks - 1L);
+
+        Map<DayOfWeek, TreeSet<LocalTime>> slots = new EnumMap<>(DayOfWeek.class);
+        for (Timetable timetable : timetableRepository.findByCourseIdWithCourse(courseId)) {
+            slots.computeIfAbsent(timetable.getDayOfWeek(), day -> new TreeSet<>()).add(timetable.getStartTime());
+        }
+
+        Map<DayOfWeek, AttendanceTrendPoint> cells = new EnumMap<>(DayOfWeek.class);
+        for (AttendanceRollup rollup : findRollups(courseId, firstWeekStart, lastWeekStart)) {
+            DayOfWeek day = DayOfWeek.of(rollup.getWeekday());
+            cells.computeIfAbsent(day, d -> AttendanceTrendPoint.forWeekday(d, timeSlots(slots, d))).add(rollup);
+        }
+        // Timetabled days without any marked session still get a row
+        for (DayOfWeek day : slots.keySet()) {
+            cells.computeIfAbsent(day, d -> AttendanceTrendPoint.forWeekday(d, timeSlots(slots, d)));
+        }
+        return new ArrayList<>(cells.values());
+    }
+
+    private List<AttendanceRollup> findRollups(Long courseId, LocalDate firstWeekStart, LocalDate lastWeekStart) {
+        return rollupRepository.findByCourseIdAndIsoWeekBetweenOrderByIsoWeekAscWeekdayAsc(
+            courseId, AttendanceRollup.isoWeekOf(firstWeekStart), AttendanceRollup.isoWeekOf(lastWeekStart));
+    }
+
+    private static List<LocalTime> timeSlots(Map<DayOfWeek, TreeSet<LocalTime>> slots, DayOfWeek day) {
+        TreeSet<LocalTime> times = slots.get(day);
+        return times == null ? List.of() : List.copyOf(times);
+    }
+}
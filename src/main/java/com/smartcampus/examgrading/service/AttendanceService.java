@@ -3,23 +3,37 @@ package com.smartcampus.examgrading.service;
 import com.smartcampus.examgrading.model.*;
 import com.smartcampus.examgrading.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 public class AttendanceService {
 
-    private static final BigDecimal LOW_ATTENDANCE_THRESHOLD = new BigDecimal("75.00");
+    @Value("${attendance.low-threshold:75.00}")
+    private BigDecimal lowAttendanceThreshold;
 
     @Autowired
     private AttendanceRepository attendanceRepository;
@@ -38,6 +52,21 @@ public class AttendanceService {
     
     @Autowired
     private CourseRepository courseRepository;
+    
+    @Autowired
+    private AttendanceJdbcRepository attendanceJdbcRepository;
+    
+    @Autowired
+    private AttendanceReportEngine reportEngine;
+    
+    @Autowired
+    private AttendanceCounterService counterService;
+    
+    @Autowired
+    private AttendanceBitmapService bitmapService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     // Find attendance by ID
     public Optional<Attendance> findAttendanceById(Long attendanceId) {
@@ -49,97 +78,101 @@ public class AttendanceService {
         return attendanceRepository.findByStudentAndCourseAndAttendanceDate(student, course, date);
     }
 
-    // Faculty methods for marking attendance
+    // Faculty methods for marking attendance.
+    // A single upsert on the (student, course, date) unique key, so marks of the same
+    // class from several sessions at once cannot collide on insert.
     @Transactional
     public void markAttendance(Course course, User student, LocalDate date, 
                               Attendance.AttendanceStatus status, User faculty) {
-        Optional<Attendance> existingAttendance = 
-            attendanceRepository.findByStudentAndCourseAndAttendanceDate(student, course, date);
+        attendanceJdbcRepository.upsert(student.getUserId(), course.getId(), date, status, 
+            faculty.getUserId(), LocalDateTime.now());
+        counterService.refresh(student.getUserId(), course.getId());
+        bitmapService.record(student.getUserId(), course.getId(), date, status);
         
-        Attendance attendance;
-        if (existingAttendance.isPresent()) {
-            attendance = existingAttendance.get();
-            attendance.setStatus(status);
-            attendance.setMarkedBy(faculty);
-            attendance.setMarkedAt(LocalDateTime.now());
-        } else {
-            attendance = new Attendance();
-            attendance.setCourse(course);
-            attendance.setStudent(student);
-            attendance.setAttendanceDate(date);
-            attendance.setStatus(status);
-            attendance.setMarkedBy(faculty);
-            attendance.setMarkedAt(LocalDateTime.now());
-        }
-        
-        Attendance savedAttendance = attendanceRepository.save(attendance);
-        
-        // Send notification to admin dashboard
-        sendAttendanceAlert(savedAttendance);
+        // Admin notification is written by a background worker once this commits
+        eventPublisher.publishEvent(new AttendanceChangeEvent(
+            course.getId(), date, faculty.getUserId(), Map.of(student.getUserId(), status)));
     }
 
     @Transactional
-    public void markBulkAttendance(Course course, List<User> students, LocalDate date, 
+    public List<AttendanceMarkResult> markBulkAttendance(Course course, List<User> students, LocalDate date, 
                                   List<Attendance.AttendanceStatus> statuses, User faculty) {
-        List<Attendance> savedAttendances = new ArrayList<>();
-        
+        Map<Long, Attendance.AttendanceStatus> statusByStudentId = new LinkedHashMap<>();
         for (int i = 0; i < students.size(); i++) {
-            Optional<Attendance> existingAttendance = 
-                attendanceRepository.findByStudentAndCourseAndAttendanceDate(students.get(i), course, date);
+            statusByStudentId.put(students.get(i).getUserId(), statuses.get(i));
+        }
+        return markBulkAttendance(course, statusByStudentId, date, faculty);
+    }
+
+    /**
+     * Mark attendance for a whole class session in one pass. Existing rows for the
+     * course and date are read with a single query, then every row is written through
+     * a batched upsert against the (student, course, date) unique key.
+     *
+     * @return One result per requested student, in request order
+     */
+    @Transactional
+    public List<AttendanceMarkResult> markBulkAttendance(Course course, 
+                                  Map<Long, Attendance.AttendanceStatus> statusByStudentId,
+                                  LocalDate date, User faculty) {
+        Map<Long, Attendance.AttendanceStatus> existingStatuses = new HashMap<>();
+        for (Object[] row : attendanceRepository.findStudentStatusesByCourseAndDate(course, date)) {
+            existingStatuses.put((Long) row[0], (Attendance.AttendanceStatus) row[1]);
+        }
+        
+        // Students not already on the register must exist before we can insert them
+        Set<Long> newStudentIds = new HashSet<>(statusByStudentId.keySet());
+        newStudentIds.removeAll(existingStatuses.keySet());
+        Set<Long> knownStudentIds = newStudentIds.isEmpty() 
+            ? Collections.emptySet() 
+            : new HashSet<>(userRepository.findExistingIds(newStudentIds));
+        
+        List<AttendanceMarkResult> results = new ArrayList<>(statusByStudentId.size());
+        Map<Long, Attendance.AttendanceStatus> rowsToWrite = new LinkedHashMap<>();
+        for (Map.Entry<Long, Attendance.AttendanceStatus> entry : statusByStudentId.entrySet()) {
+            Long studentId = entry.getKey();
+            Attendance.AttendanceStatus status = entry.getValue();
+            Attendance.AttendanceStatus previous = existingStatuses.get(studentId);
             
-            Attendance attendance;
-            if (existingAttendance.isPresent()) {
-                attendance = existingAttendance.get();
-                attendance.setStatus(statuses.get(i));
-                attendance.setMarkedBy(faculty);
-                attendance.setMarkedAt(LocalDateTime.now());
+            AttendanceMarkResult.Outcome outcome;
+            if (previous != null) {
+                outcome = previous == status 
+                    ? AttendanceMarkResult.Outcome.UNCHANGED 
+                    : AttendanceMarkResult.Outcome.UPDATED;
+            } else if (knownStudentIds.contains(studentId)) {
+                outcome = AttendanceMarkResult.Outcome.INSERTED;
             } else {
-                attendance = new Attendance();
-                attendance.setCourse(course);
-                attendance.setStudent(students.get(i));
-                attendance.setAttendanceDate(date);
-                attendance.setStatus(statuses.get(i));
-                attendance.setMarkedBy(faculty);
-                attendance.setMarkedAt(LocalDateTime.now());
+                outcome = AttendanceMarkResult.Outcome.SKIPPED;
             }
             
-            savedAttendances.add(attendanceRepository.save(attendance));
+            if (outcome != AttendanceMarkResult.Outcome.SKIPPED) {
+                rowsToWrite.put(studentId, status);
+            }
+            results.add(new AttendanceMarkResult(studentId, status, previous, outcome));
         }
         
-        // Send batch notification to admin dashboard
-        for (Attendance attendance : savedAttendances) {
-            sendAttendanceAlert(attendance);
+        if (!rowsToWrite.isEmpty()) {
+            attendanceJdbcRepository.upsertSession(course.getId(), date, rowsToWrite, 
+                faculty.getUserId(), LocalDateTime.now());
+            counterService.refresh(course.getId(), rowsToWrite.keySet());
+            bitmapService.record(course.getId(), date, rowsToWrite);
         }
-    }
-    
-    /**
-     * Send an alert about attendance changes to the admin dashboard
-     * 
-     * @param attendance The attendance record that was updated
-     */
-    private void sendAttendanceAlert(Attendance attendance) {
-        // In a real application, this would use a message broker or event system
-        // For this implementation, we'll log the event which can be displayed in admin views
         
-        String studentName = attendance.getStudent().getFirstName() + " " + attendance.getStudent().getLastName();
-        String courseName = attendance.getCourse().getCourseName();
-        String facultyName = attendance.getMarkedBy().getFirstName() + " " + attendance.getMarkedBy().getLastName();
+        // One admin notification for the changed rows, written after commit
+        Map<Long, Attendance.AttendanceStatus> changed = new LinkedHashMap<>();
+        for (AttendanceMarkResult result : results) {
+            if (result.getOutcome() == AttendanceMarkResult.Outcome.INSERTED 
+                    || result.getOutcome() == AttendanceMarkResult.Outcome.UPDATED) {
+                changed.put(result.getStudentId(), result.getStatus());
+            }
+        }
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new AttendanceChangeEvent(course.getId(), date, faculty.getUserId(), changed));
+        }
         
-        // Log this event (in a real app would be stored in database)
-        System.out.println("ATTENDANCE_ALERT: " + 
-            "Student: " + studentName + 
-            ", Course: " + courseName + 
-            ", Date: " + attendance.getAttendanceDate() + 
-            ", Status: " + attendance.getStatus() + 
-            ", Marked by: " + facultyName + 
-            ", At: " + attendance.getMarkedAt());
-            
-        // Additional logic could be added here to:
-        // 1. Store in a notifications table
-        // 2. Send email alerts to administrators
-        // 3. Update real-time dashboard indicators
+        return results;
     }
-
+    
     // Student methods for viewing attendance
     public List<Attendance> getStudentAttendance(User student) {
         return attendanceRepository.findByStudent(student);
@@ -148,113 +181,90 @@ public class AttendanceService {
     public List<Attendance> getStudentCourseAttendance(User student, Course course) {
         return attendanceRepository.findByStudentAndCourse(student, course);
     }
+    
+    // Records of one course for the student, oldest first; loaded on demand by the detail views
+    public List<Attendance> getStudentCourseAttendance(User student, Long courseId) {
+        return attendanceRepository.findByStudentAndCourse_IdOrderByAttendanceDateAsc(student, courseId);
+    }
+    
+    // Attendance between from and to (inclusive), served by the attendance_date range indexes
+    public List<Attendance> getStudentAttendance(User student, LocalDate from, LocalDate to) {
+        return attendanceRepository.findByStudentAndDateRange(student, from, to.plusDays(1));
+    }
+
+    public List<Attendance> getStudentCourseAttendance(User student, Course course, LocalDate from, LocalDate to) {
+        return attendanceRepository.findByStudentAndCourseAndDateRange(student, course, from, to.plusDays(1));
+    }
+    
+    public List<Attendance> getCourseAttendance(Course course, LocalDate from, LocalDate to) {
+        return attendanceRepository.findByCourseAndDateRange(course, from, to.plusDays(1));
+    }
 
     // Calculate attendance percentage for a student in a course
     public BigDecimal calculateAttendancePercentage(User student, Course course) {
-        long totalClasses = attendanceRepository.countAllByStudentAndCourse(student, course);
-        if (totalClasses == 0) {
-            return BigDecimal.ZERO;
-        }
-        
-        long presentClasses = attendanceRepository.countPresentByStudentAndCourse(student, course);
-        return BigDecimal.valueOf(presentClasses * 100.0 / totalClasses)
-                .setScale(2, RoundingMode.HALF_UP);
+        return counterService.getCounter(student.getUserId(), course.getId())
+            .map(AttendanceCounter::getAttendancePercentage)
+            .orElse(BigDecimal.ZERO);
+    }
+
+    // Attendance totals for every active enrollment across all courses, from one grouped query
+    public List<AttendanceSummary> getAttendanceSummaries() {
+        return attendanceRepository.summarizeActiveEnrollments();
+    }
+
+    // Attendance totals for every active enrollment, counting only classes between from and to (inclusive)
+    public List<AttendanceSummary> getAttendanceSummaries(LocalDate from, LocalDate to) {
+        return attendanceRepository.summarizeActiveEnrollments(from, to.plusDays(1));
+    }
+
+    // Per-course totals, percentage and last marked date for all of a student's enrolled courses in one query
+    public List<StudentCourseAttendance> getStudentCourseSummaries(User student) {
+        return attendanceRepository.summarizeStudentCourses(student);
+    }
+
+    // Term statistics from the attendance bitmap of the term containing the given date
+    public BigDecimal getTermAttendancePercentage(User student, Course course, LocalDate dateInTerm) {
+        return bitmapService.getBitmap(student.getUserId(), course.getId(), AttendanceTerm.of(dateInTerm))
+            .map(AttendanceBitmap::getAttendancePercentage)
+            .orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Longest run of consecutive sessions the student missed without excuse in the term.
+     */
+    public int getLongestAbsenceStreak(User student, Course course, LocalDate dateInTerm) {
+        return bitmapService.getBitmap(student.getUserId(), course.getId(), AttendanceTerm.of(dateInTerm))
+            .map(AttendanceBitmap::getLongestAbsenceStreak)
+            .orElse(0);
+    }
+
+    public List<AttendanceBitmap.WeeklyPresence> getWeeklyPresence(User student, Course course, LocalDate dateInTerm) {
+        return bitmapService.getBitmap(student.getUserId(), course.getId(), AttendanceTerm.of(dateInTerm))
+            .map(AttendanceBitmap::getWeeklyPresence)
+            .orElse(Collections.emptyList());
     }
 
     // Check if student has low attendance
     public boolean hasLowAttendance(User student, Course course) {
         BigDecimal attendancePercentage = calculateAttendancePercentage(student, course);
-        return attendancePercentage.compareTo(LOW_ATTENDANCE_THRESHOLD) < 0;
+        return attendancePercentage.compareTo(lowAttendanceThreshold) < 0;
+    }
+    
+    // Recompute attendance counters from the attendance table (all courses when courseId is null)
+    public int rebuildAttendanceCounters(Long courseId) {
+        return courseId == null ? counterService.rebuildAll() : counterService.rebuildCourse(courseId);
     }
 
-    // Generate monthly attendance reports
-    @Transactional
+    // Generate monthly attendance reports.
+    // Not transactional: the report engine commits its batched writes in chunks.
+    // Low-attendance alerts come from AttendanceAlertService's scan of the counters.
     public void generateMonthlyReports(int month, int year) {
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
-        
-        // Get all student-course enrollments
-        List<StudentCourse> enrollments = studentCourseRepository.findAll();
-        
-        for (StudentCourse enrollment : enrollments) {
-            // Get student and course from IDs in enrollment
-            User student = userRepository.findById(enrollment.getStudentId())
-                .orElseThrow(() -> new RuntimeException("Student not found"));
-            
-            Course course = courseRepository.findById(enrollment.getCourseId())
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-            
-            // Get attendance records for the month
-            List<Attendance> attendanceRecords = attendanceRepository
-                .findByStudentAndCourseAndMonthAndYear(student, course, month, year);
-            
-            // Calculate statistics
-            int totalClasses = attendanceRecords.size();
-            int presentCount = (int) attendanceRecords.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.PRESENT)
-                .count();
-            int absentCount = (int) attendanceRecords.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.ABSENT)
-                .count();
-            int lateCount = (int) attendanceRecords.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.LATE)
-                .count();
-            int excusedCount = (int) attendanceRecords.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.EXCUSED)
-                .count();
-            
-            // Calculate percentage
-            BigDecimal percentage = BigDecimal.ZERO;
-            if (totalClasses > 0) {
-                percentage = BigDecimal.valueOf((presentCount + lateCount) * 100.0 / totalClasses)
-                    .setScale(2, RoundingMode.HALF_UP);
-            }
-            
-            // Create or update report
-            Optional<AttendanceReport> existingReport = 
-                reportRepository.findByStudentAndCourseAndMonthAndYear(student, course, month, year);
-            
-            AttendanceReport report;
-            if (existingReport.isPresent()) {
-                report = existingReport.get();
-            } else {
-                report = new AttendanceReport();
-                report.setStudent(student);
-                report.setCourse(course);
-                report.setMonth(month);
-                report.setYear(year);
-            }
-            
-            report.setTotalClasses(totalClasses);
-            report.setPresentCount(presentCount);
-            report.setAbsentCount(absentCount);
-            report.setLateCount(lateCount);
-            report.setExcusedCount(excusedCount);
-            report.setAttendancePercentage(percentage);
-            report.setGeneratedAt(LocalDateTime.now());
-            
-            reportRepository.save(report);
-            
-            // Send low attendance alerts if needed
-            if (percentage.compareTo(LOW_ATTENDANCE_THRESHOLD) < 0) {
-                sendLowAttendanceAlert(student, course, percentage);
-            }
-        }
+        reportEngine.generate(month, year, lowAttendanceThreshold);
     }
     
-    // Send low attendance alerts
-    private void sendLowAttendanceAlert(User student, Course course, BigDecimal percentage) {
-        String message = "Low attendance alert: Your attendance in " + course.getCourseName() 
-            + " is " + percentage + "%, which is below the required 75%.";
-        createAlert(student, message);
-    }
-    
-    // Create attendance alert for student
-    private void createAlert(User student, String message) {
-        // In a real application, this would create an alert entry in the database
-        // and potentially send an email or notification to the student
-        System.out.println("Alert for " + student.getUsername() + ": " + message);
+    // Generate one course's monthly attendance reports (one partition of a report job)
+    public AttendanceReportEngine.ReportRun generateMonthlyReports(int month, int year, Long courseId) {
+        return reportEngine.generate(month, year, courseId, lowAttendanceThreshold);
     }
     
     // Create attendance correction request from student
@@ -351,20 +361,125 @@ public class AttendanceService {
         if (status == AttendanceCorrectionRequest.RequestStatus.APPROVED) {
             Attendance attendance = request.getAttendance();
             attendance.setStatus(Attendance.AttendanceStatus.PRESENT);
-            attendanceRepository.save(attendance);
+            attendanceRepository.saveAndFlush(attendance);
+            counterService.refresh(attendance.getStudent().getUserId(), attendance.getCourse().getId());
+            bitmapService.record(attendance.getStudent().getUserId(), attendance.getCourse().getId(),
+                attendance.getAttendanceDate(), Attendance.AttendanceStatus.PRESENT);
+            eventPublisher.publishEvent(new AttendanceChangeEvent(
+                attendance.getCourse().getId(), attendance.getAttendanceDate(), faculty.getUserId(),
+                Map.of(attendance.getStudent().getUserId(), Attendance.AttendanceStatus.PRESENT)));
         }
         
         return savedRequest;
     }
     
+    /**
+     * Approve or reject many pending correction requests at once. Ownership and status
+     * are checked with one query; requests and, on approval, attendance rows are then
+     * written with bulk UPDATEs and the derived counters refreshed once per course.
+     *
+     * @return Number of requests reviewed
+     * @throws IllegalArgumentException if any request is unknown, already reviewed or
+     *         belongs to attendance marked by another faculty
+     */
+    @Transactional
+    public int reviewCorrectionRequests(Collection<Long> requestIds, 
+                                        AttendanceCorrectionRequest.RequestStatus status, 
+                                        User faculty, 
+                                        String comments) {
+        if (status == AttendanceCorrectionRequest.RequestStatus.PENDING) {
+            throw new IllegalArgumentException("Review decision must be APPROVED or REJECTED");
+        }
+        Set<Long> ids = new HashSet<>(requestIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        List<Object[]> reviewable = correctionRequestRepository.findReviewableRequests(
+            ids, faculty, AttendanceCorrectionRequest.RequestStatus.PENDING);
+        if (reviewable.size() != ids.size()) {
+            Set<Long> rejectedIds = new TreeSet<>(ids);
+            reviewable.forEach(row -> rejectedIds.remove((Long) row[0]));
+            throw new IllegalArgumentException("Requests not found or not pending for review: " + rejectedIds);
+        }
+        
+        int reviewed = correctionRequestRepository.reviewPending(ids, status, faculty, comments, LocalDateTime.now());
+        
+        if (status == AttendanceCorrectionRequest.RequestStatus.APPROVED) {
+            List<Long> attendanceIds = new ArrayList<>(reviewable.size());
+            Map<Long, Map<LocalDate, Map<Long, Attendance.AttendanceStatus>>> sessionsByCourse = new HashMap<>();
+            for (Object[] row : reviewable) {
+                Long studentId = (Long) row[2];
+                Long courseId = (Long) row[3];
+                attendanceIds.add((Long) row[1]);
+                sessionsByCourse.computeIfAbsent(courseId, id -> new HashMap<>())
+                    .computeIfAbsent((LocalDate) row[4], date -> new HashMap<>())
+                    .put(studentId, Attendance.AttendanceStatus.PRESENT);
+            }
+            
+            attendanceRepository.updateStatus(attendanceIds, Attendance.AttendanceStatus.PRESENT);
+            recordSessionChanges(sessionsByCourse, faculty.getUserId());
+        }
+        
+        return reviewed;
+    }
+    
+    /**
+     * Bring the derived attendance state up to date with rows already written for several
+     * class sessions: counters once per course and bitmaps per session in the current
+     * transaction, then one {@link AttendanceChangeEvent} per session so rollups and
+     * notifications follow after commit. Must run in the transaction that wrote the rows.
+     *
+     * @param sessionsByCourse Written statuses by course, then date, then student
+     * @param markedById       User the change is attributed to
+     */
+    @Transactional
+    public void recordSessionChanges(Map<Long, Map<LocalDate, Map<Long, Attendance.AttendanceStatus>>> sessionsByCourse,
+                                     Long markedById) {
+        sessionsByCourse.forEach((courseId, sessions) -> {
+            Set<Long> studentIds = new HashSet<>();
+            sessions.values().forEach(statuses -> studentIds.addAll(statuses.keySet()));
+            counterService.refresh(courseId, studentIds);
+        });
+        recordSessionChangesExceptCounters(sessionsByCourse, markedById);
+    }
+    
+    /**
+     * Same as {@link #recordSessionChanges} but leaves the counters to the caller, for bulk
+     * writers that touch the same students many times and refresh each counter once at the
+     * end with {@link AttendanceCounterService#refresh(Long, Collection)}.
+     */
+    @Transactional
+    public void recordSessionChangesExceptCounters(
+            Map<Long, Map<LocalDate, Map<Long, Attendance.AttendanceStatus>>> sessionsByCourse, Long markedById) {
+        sessionsByCourse.forEach((courseId, sessions) -> sessions.forEach((date, statuses) -> {
+            bitmapService.record(courseId, date, statuses);
+            eventPublisher.publishEvent(new AttendanceChangeEvent(courseId, date, markedById, statuses));
+        }));
+    }
+    
     // Get pending correction requests for a faculty
     public List<AttendanceCorrectionRequest> getPendingRequestsForFaculty(User faculty) {
-        List<AttendanceCorrectionRequest> facultyRequests = 
-            correctionRequestRepository.findByAttendance_MarkedBy(faculty);
-        
-        return facultyRequests.stream()
-            .filter(req -> req.getStatus() == AttendanceCorrectionRequest.RequestStatus.PENDING)
-            .collect(Collectors.toList());
+        return correctionRequestRepository.findByAttendance_MarkedByAndStatusOrderByRequestedAtAscRequestIdAsc(
+            faculty, AttendanceCorrectionRequest.RequestStatus.PENDING);
+    }
+    
+    /**
+     * One page of a faculty's pending correction requests, oldest first. Pass
+     * {@code ScrollPosition.keyset()} for the first page and {@code Window.positionAt}
+     * of the last row seen for the next one.
+     */
+    @Transactional(readOnly = true)
+    public Window<AttendanceCorrectionRequest> getPendingRequestsForFaculty(User faculty, 
+                                                                           ScrollPosition position, 
+                                                                           int limit) {
+        return correctionRequestRepository.findByAttendance_MarkedByAndStatusOrderByRequestedAtAscRequestIdAsc(
+            faculty, AttendanceCorrectionRequest.RequestStatus.PENDING, position, Limit.of(limit));
+    }
+    
+    public long countPendingRequestsForFaculty(User faculty) {
+        return correctionRequestRepository.countByAttendance_MarkedByAndStatus(
+            faculty, AttendanceCorrectionRequest.RequestStatus.PENDING);
     }
     
     // Get student's correction requests
@@ -377,10 +492,7 @@ public class AttendanceService {
         return reportRepository.findByCourseAndMonthAndYear(course, month, year);
     }
     
-    public List<AttendanceReport> getAllStudentsAttendanceReports(int month, int year) {
-        List<AttendanceReport> reports = reportRepository.findAll();
-        return reports.stream()
-            .filter(report -> report.getMonth() == month && report.getYear() == year)
-            .collect(Collectors.toList());
+    public Page<AttendanceReportRow> getAllStudentsAttendanceReports(int month, int year, Pageable pageable) {
+        return reportRepository.findRowsByMonthAndYear(month, year, pageable);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.ExamRank;
+import com.smartcampus.examgrading.model.GradeChangeEvent;
+import com.smartcampus.examgrading.repository.GradeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers class rank and percentile queries from an in-memory index of each exam's marks.
+ * An exam's marks are loaded once into a sorted array of hundredths, so a query is two
+ * binary searches instead of ordering the grades on every view. The array is dropped
+ * after a grade of the exam is saved or deleted and reloaded on the next query.
+ *
+ * <p>Loads run outside the map so a slow query never holds a map bin. Each exam has a
+ * generation that grade changes bump; a load only installs its array when the generation
+ * it started from is still current, so marks read before a change are never cached after it.
+ */
+@Service
+public class ExamRankService {
+
+    private final GradeRepository gradeRepository;
+
+    // Sorted marks of each exam in hundredths; marks have two decimals
+    private final Map<Long, int[]> marksByExamId = new ConcurrentHashMap<>();
+
+    // Bumped on every committed grade change of the exam
+    private final Map<Long, Long> generationByExamId = new ConcurrentHashMap<>();
+
+    public ExamRankService(GradeRepository gradeRepository) {
+        this.gradeRepository = gradeRepository;
+    }
+
+    /**
+     * Drop the exam's index once its grade changes have committed. The generation is
+     * bumped first, so a load that started before the change cannot install its array
+     * after the removal.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeChange(GradeChangeEvent event) {
+        generationByExamId.merge(event.getExamId(), 1L, Long::sum);
+        marksByExamId.remove(event.getExamId());
+    }
+
+    /**
+     * Rank and percentile of the given marks in an exam.
+     *
+     * @return Null when the exam has no grades
+     */
+    public ExamRank getRank(Long examId, BigDecimal marksObtained) {
+        int[] marks = marksByExamId.get(examId);
+        if (marks == null) {
+            long generation = generationByExamId.getOrDefault(examId, 0L);
+            int[] loaded = loadMarks(examId);
+            // A stale load still answers this query but is not cached
+            marks = marksByExamId.compute(examId, (id, current) -> current != null
+                    ? current
+                    : generationByExamId.getOrDefault(id, 0L) == generation ? loaded : null);
+            if (marks == null) {
+                marks = loaded;
+            }
+        }
+        return rankIn(marks, examId, marksObtained);
+    }
+
+    /**
+     * Rank and percentile of the given marks among an exam's sorted marks in hundredths.
+     *
+     * @return Null when there are no marks
+     */
+    static ExamRank rankIn(int[] marks, Long examId, BigDecimal marksObtained) {
+        if (marks.length == 0) {
+            return null;
+        }
+
+        int value = toHundredths(marksObtained);
+        int below = lowerBound(marks, value);
+        int notAbove = upperBound(marks, value);
+        int rank = marks.length - notAbove + 1;
+        BigDecimal percentile = BigDecimal.valueOf((below + (notAbove - below) / 2.0) * 100.0 / marks.length)
+                .setScale(2, RoundingMode.HALF_UP);
+        return new ExamRank(examId, marksObtained, rank, marks.length, percentile);
+    }
+
+    private int[] loadMarks(Long examId) {
+        List<BigDecimal> marks = gradeRepository.findMarksByExamId(examId);
+        int[] sorted = new int[marks.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = toHundredths(marks.get(i));
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static int toHundredths(BigDecimal marks) {
+        return marks.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    // Index of the first mark not below the value
+    private static int lowerBound(int[] marks, int value) {
+        int low = 0;
+        int high = marks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (marks[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Index of the first mark above the value
+    private static int upperBound(int[] marks, int value) {
+        int low = 0;
+        int high = marks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (marks[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,203 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.Exam;
+import com.smartcampus.examgrading.model.ExamScoreBucket;
+import com.smartcampus.examgrading.model.ExamStatistics;
+import com.smartcampus.examgrading.model.Grade;
+import com.smartcampus.examgrading.repository.ExamRepository;
+import com.smartcampus.examgrading.repository.ExamScoreBucketRepository;
+import com.smartcampus.examgrading.repository.ExamStatisticsJdbcRepository;
+import com.smartcampus.examgrading.repository.ExamStatisticsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains per-exam statistics as grades are saved and deleted, and serves them without
+ * reading the grades. The mean, standard deviation and pass rate come from running totals;
+ * the median and letter histogram from whole-percent score buckets, so a read costs the
+ * same for a class of ten or a class of a thousand.
+ */
+@Service
+public class ExamStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExamStatisticsService.class);
+
+    private final ExamStatisticsRepository statisticsRepository;
+    private final ExamScoreBucketRepository bucketRepository;
+    private final ExamStatisticsJdbcRepository statisticsJdbcRepository;
+    private final ExamRepository examRepository;
+
+    public ExamStatisticsService(ExamStatisticsRepository statisticsRepository,
+                                 ExamScoreBucketRepository bucketRepository,
+                                 ExamStatisticsJdbcRepository statisticsJdbcRepository,
+                                 ExamRepository examRepository) {
+        this.statisticsRepository = statisticsRepository;
+        this.bucketRepository = bucketRepository;
+        this.statisticsJdbcRepository = statisticsJdbcRepository;
+        this.examRepository = examRepository;
+    }
+
+    /**
+     * Recompute one exam's statistics in the current transaction. Used after bulk writes;
+     * a single grade goes through {@link #applyGradeChange}.
+     */
+    @Transactional
+    public void refresh(Long examId) {
+        statisticsJdbcRepository.refresh(examId);
+    }
+
+    /**
+     * Apply one grade's change to its exam's statistics in the current transaction instead
+     * of recomputing the exam. The grade row must already be written, and the previous
+     * values read under a row lock so concurrent changes of the grade apply one after the
+     * other.
+     *
+     * @param previous The grade as stored before the change, or null for a new grade
+     * @param current  The grade as written, or null for a deleted grade
+     */
+    @Transactional
+    public void applyGradeChange(Exam exam, Grade previous, Grade current) {
+        if (current != null) {
+            statisticsJdbcRepository.addGrade(exam.getId(), current.getMarksObtained(),
+                    isPassed(exam, current), bucketOf(exam, current), current.getGradeLetter());
+        }
+        if (previous != null) {
+            statisticsJdbcRepository.removeGrade(exam.getId(), previous.getMarksObtained(),
+                    isPassed(exam, previous), bucketOf(exam, previous), previous.getGradeLetter());
+        }
+    }
+
+    /**
+     * Recompute the statistics of every exam to repair drift.
+     *
+     * @return Number of exams with statistics
+     */
+    @Transactional
+    public int rebuildAll() {
+        int exams = statisticsJdbcRepository.rebuildAll();
+        logger.info("Rebuilt statistics for {} exams", exams);
+        return exams;
+    }
+
+    /**
+     * Populate the statistics on first start against an existing grades table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeStatistics() {
+        if (statisticsJdbcRepository.isEmpty()) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Full statistics of one exam, including the median and letter histogram.
+     *
+     * @return Empty when the exam has no grades
+     */
+    @Transactional(readOnly = true)
+    public Optional<ExamStatistics> getExamStatistics(Long examId) {
+        Optional<ExamStatistics> statisticsOpt = statisticsRepository.findById(examId)
+                .filter(statistics -> statistics.getGradeCount() > 0);
+        Optional<Exam> examOpt = examRepository.findById(examId);
+        if (statisticsOpt.isEmpty() || examOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ExamStatistics statistics = statisticsOpt.get();
+        List<ExamScoreBucket> buckets = bucketRepository.findByExamIdAndGradeCountGreaterThanOrderByBucketAsc(examId, 0);
+
+        // Best letters first, in the order their scores fall
+        Map<String, Integer> letters = new LinkedHashMap<>();
+        for (int i = buckets.size() - 1; i >= 0; i--) {
+            ExamScoreBucket bucket = buckets.get(i);
+            if (!bucket.getGradeLetter().isEmpty()) {
+                letters.merge(bucket.getGradeLetter(), bucket.getGradeCount(), Integer::sum);
+            }
+        }
+        statistics.setLetterDistribution(letters);
+
+        BigDecimal median = percentileMarks(buckets, statistics.getGradeCount(), 0.5, examOpt.get().getTotalMarks());
+        // The estimate is within one percent of the true median; keep it inside the real range
+        median = median.max(statistics.getMinMarks()).min(statistics.getMaxMarks());
+        statistics.setMedianMarks(median);
+        return Optional.of(statistics);
+    }
+
+    /**
+     * Running totals of several exams, without the median or letter histogram.
+     *
+     * @return Statistics keyed by exam id; exams without grades are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ExamStatistics> getExamStatistics(Collection<Long> examIds) {
+        return statisticsRepository.findAllById(examIds).stream()
+                .filter(statistics -> statistics.getGradeCount() > 0)
+                .collect(Collectors.toMap(ExamStatistics::getExamId, Function.identity()));
+    }
+
+    private static boolean isPassed(Exam exam, Grade grade) {
+        return grade.getMarksObtained().compareTo(exam.getPassingMarks()) >= 0;
+    }
+
+    /**
+     * Whole percent bucket of a grade, matching the bucket expression of the recompute.
+     */
+    static int bucketOf(Exam exam, Grade grade) {
+        BigDecimal percentage = grade.getPercentage() != null
+                ? grade.getPercentage()
+                : grade.getMarksObtained().multiply(BigDecimal.valueOf(100))
+                        .divide(exam.getTotalMarks(), 4, RoundingMode.HALF_UP);
+        return Math.min(percentage.setScale(0, RoundingMode.FLOOR).intValue(), 100);
+    }
+
+    /**
+     * Estimate the marks below which the given fraction of grades fall, interpolating
+     * linearly inside the whole-percent bucket the rank lands in.
+     *
+     * @param buckets    The exam's buckets in ascending bucket order
+     * @param gradeCount Total number of grades in the buckets
+     * @param fraction   0.5 for the median
+     * @param totalMarks The exam's total marks
+     */
+    static BigDecimal percentileMarks(List<ExamScoreBucket> buckets, int gradeCount, double fraction,
+                                      BigDecimal totalMarks) {
+        // Letters split a percent into several rows; only the percent matters here
+        TreeMap<Integer, Integer> counts = new TreeMap<>();
+        for (ExamScoreBucket bucket : buckets) {
+            counts.merge(bucket.getBucket(), bucket.getGradeCount(), Integer::sum);
+        }
+        if (counts.isEmpty() || gradeCount == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        double rank = fraction * gradeCount;
+        double percent = counts.lastKey();
+        int seen = 0;
+        for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+            int count = entry.getValue();
+            if (seen + count >= rank) {
+                percent = entry.getKey() + (rank - seen) / count;
+                break;
+            }
+            seen += count;
+        }
+        return totalMarks.multiply(BigDecimal.valueOf(Math.min(percent, 100.0)))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,325 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.Course;
+import com.smartcampus.examgrading.model.Exam;
+import com.smartcampus.examgrading.model.GradeImportResult;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.CourseRepository;
+import com.smartcampus.examgrading.repository.ExamRepository;
+import com.smartcampus.examgrading.repository.GradeImportJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports the marks of one exam from a gradebook spreadsheet saved as CSV or .xlsx.
+ * Rows are streamed one at a time, usernames are resolved from a map of the course's
+ * students loaded once per file, and valid marks are written through
+ * {@link GradeService#writeGrades} in chunks, so memory use stays flat however many rows
+ * the file has.
+ *
+ * <p>The first row must name the columns {@code username} and {@code marks}; other
+ * columns are ignored. Only the first worksheet of a workbook is read.
+ */
+@Service
+public class GradeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeImportService.class);
+
+    private static final String USERNAME = "username";
+    private static final String MARKS = "marks";
+
+    // Header spellings seen in gradebooks, normalized to lower case without separators
+    private static final Map<String, String> HEADER_ALIASES = Map.of(
+            "username", USERNAME,
+            "student", USERNAME,
+            "studentusername", USERNAME,
+            "marks", MARKS,
+            "mark", MARKS,
+            "marksobtained", MARKS,
+            "score", MARKS);
+
+    private final ExamRepository examRepository;
+    private final CourseRepository courseRepository;
+    private final GradeImportJdbcRepository importJdbcRepository;
+    private final GradeService gradeService;
+    private final int chunkSize;
+    private final int maxRejectedDetails;
+
+    public GradeImportService(ExamRepository examRepository,
+                              CourseRepository courseRepository,
+                              GradeImportJdbcRepository importJdbcRepository,
+                              GradeService gradeService,
+                              @Value("${grades.import.chunk-size:2000}") int chunkSize,
+                              @Value("${grades.import.max-rejected-details:1000}") int maxRejectedDetails) {
+        this.examRepository = examRepository;
+        this.courseRepository = courseRepository;
+        this.importJdbcRepository = importJdbcRepository;
+        this.gradeService = gradeService;
+        this.chunkSize = chunkSize;
+        this.maxRejectedDetails = maxRejectedDetails;
+    }
+
+    /**
+     * Import one gradebook file for an exam. Each chunk of valid rows commits on its own,
+     * so a failure part-way keeps the chunks already written and re-running the file is
+     * safe. A later row for the same student overwrites an earlier one.
+     *
+     * @param file       The uploaded file; read but not deleted
+     * @param fileName   Original name, used to tell .xlsx from CSV and reported back
+     * @param examId     The exam being graded
+     * @param importedBy Recorded as the grader; must teach the exam's course
+     * @return Row counts and the rejected rows with the reason for each
+     */
+    public GradeImportResult importFile(File file, String fileName, Long examId, User importedBy) throws IOException {
+        long started = System.currentTimeMillis();
+
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new IllegalArgumentException("Exam not found with id: " + examId));
+        Course course = courseRepository.findById(exam.getCourseId()).orElse(null);
+        if (importedBy == null || importedBy.getRole() != User.Role.FACULTY || course == null
+                || course.getFaculty() == null || !course.getFaculty().getUserId().equals(importedBy.getUserId())) {
+            throw new IllegalArgumentException("Only the faculty member teaching the course can import its grades");
+        }
+
+        String lowerName = fileName == null ? "" : fileName.toLowerCase();
+        if (lowerName.endsWith(".xls")) {
+            throw new IllegalArgumentException("Legacy .xls workbooks are not supported; save the sheet as .xlsx or .csv");
+        }
+
+        GradeImportResult result = new GradeImportResult(fileName, examId, maxRejectedDetails);
+        try (RowSource rows = lowerName.endsWith(".xlsx") ? new XlsxRowSource(file) : new CsvRowSource(file)) {
+            importRows(rows, exam, importedBy.getUserId(), result);
+        }
+
+        result.setDurationMillis(System.currentTimeMillis() - started);
+        logger.info("Imported {} of {} grade rows for exam {} from {} in {} ms ({} rejected)",
+            result.getRowsImported(), result.getRowsRead(), examId, fileName,
+            result.getDurationMillis(), result.getRowsRejected());
+        return result;
+    }
+
+    private void importRows(RowSource rows, Exam exam, Long graderId, GradeImportResult result) throws IOException {
+        List<String> fields = new ArrayList<>();
+        if (!rows.next(fields) || rows.isMalformed()) {
+            throw new IllegalArgumentException("The file has no readable header row");
+        }
+        int[] columns = resolveColumns(fields);
+        int fieldCount = Math.max(columns[0], columns[1]) + 1;
+
+        Map<String, Long> studentIds = importJdbcRepository.loadEnrolledStudentIdsByUsername(exam.getCourseId());
+        BigDecimal totalMarks = exam.getTotalMarks();
+
+        Map<Long, BigDecimal> chunk = new LinkedHashMap<>();
+        int chunkRows = 0;
+        while (rows.next(fields)) {
+            if (isBlank(fields)) {
+                continue;
+            }
+            result.rowRead();
+            long lineNumber = rows.getLineNumber();
+
+            if (rows.isMalformed()) {
+                result.reject(lineNumber, rows.getLine(), "Unbalanced quotes");
+                continue;
+            }
+            if (fields.size() < fieldCount) {
+                result.reject(lineNumber, rows.getLine(), "Expected at least " + fieldCount + " columns");
+                continue;
+            }
+
+            String username = fields.get(columns[0]).trim();
+            Long studentId = studentIds.get(username.toLowerCase());
+            if (studentId == null) {
+                result.reject(lineNumber, rows.getLine(),
+                    "Unknown student '" + username + "' or not enrolled in the course");
+                continue;
+            }
+            String marksText = fields.get(columns[1]).trim();
+            BigDecimal marks;
+            try {
+                marks = new BigDecimal(marksText).setScale(2, RoundingMode.HALF_UP);
+            } catch (NumberFormatException e) {
+                result.reject(lineNumber, rows.getLine(), "Invalid marks '" + marksText + "'");
+                continue;
+            }
+            if (marks.signum() < 0 || marks.compareTo(totalMarks) > 0) {
+                result.reject(lineNumber, rows.getLine(), "Marks must be between 0 and " + totalMarks);
+                continue;
+            }
+
+            chunk.put(studentId, marks);
+            chunkRows++;
+            if (chunkRows >= chunkSize) {
+                gradeService.writeGrades(exam, chunk, graderId);
+                result.rowsImported(chunkRows);
+                chunk.clear();
+                chunkRows = 0;
+            }
+        }
+        if (chunkRows > 0) {
+            gradeService.writeGrades(exam, chunk, graderId);
+            result.rowsImported(chunkRows);
+        }
+    }
+
+    /**
+     * Map the required columns to their positions in the header.
+     *
+     * @return Positions of username and marks
+     */
+    private static int[] resolveColumns(List<String> names) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String normalized = names.get(i).toLowerCase().replaceAll("[^a-z]", "");
+            String column = HEADER_ALIASES.get(normalized);
+            if (column != null) {
+                positions.putIfAbsent(column, i);
+            }
+        }
+        Integer username = positions.get(USERNAME);
+        Integer marks = positions.get(MARKS);
+        if (username == null || marks == null) {
+            throw new IllegalArgumentException("The header must name the columns username and marks");
+        }
+        return new int[] { username, marks };
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        for (String field : fields) {
+            if (!field.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rows of a gradebook file as lists of cell text.
+     */
+    private interface RowSource extends Closeable {
+
+        /**
+         * Read the next row into the given list, replacing its contents.
+         *
+         * @return false at the end of the file
+         */
+        boolean next(List<String> fields) throws IOException;
+
+        /**
+         * @return Whether the row last read could not be split into fields
+         */
+        boolean isMalformed();
+
+        /**
+         * @return Line or row number of the row last read, as the user sees it
+         */
+        long getLineNumber();
+
+        /**
+         * @return The row last read as text for the error report
+         */
+        String getLine();
+    }
+
+    private static class CsvRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private long lineNumber;
+        private String line;
+        private boolean malformed;
+
+        CsvRowSource(File file) throws IOException {
+            reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8), 1 << 16);
+        }
+
+        @Override
+        public boolean next(List<String> fields) throws IOException {
+            line = reader.readLine();
+            if (line == null) {
+                fields.clear();
+                return false;
+            }
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            // Reuses the roll-call import's CSV splitting
+            malformed = !AttendanceImportService.splitLine(line, fields);
+            return true;
+        }
+
+        @Override
+        public boolean isMalformed() {
+            return malformed;
+        }
+
+        @Override
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        @Override
+        public String getLine() {
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static class XlsxRowSource implements RowSource {
+
+        private final XlsxSheetReader reader;
+        private List<String> cells;
+
+        XlsxRowSource(File file) throws IOException {
+            reader = new XlsxSheetReader(file);
+        }
+
+        @Override
+        public boolean next(List<String> fields) throws IOException {
+            cells = fields;
+            return reader.nextRow(fields);
+        }
+
+        @Override
+        public boolean isMalformed() {
+            return false;
+        }
+
+        @Override
+        public long getLineNumber() {
+            return reader.getRowNumber();
+        }
+
+        @Override
+        public String getLine() {
+            return String.join(",", cells);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
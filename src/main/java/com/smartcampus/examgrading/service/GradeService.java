@@ -2,34 +2,56 @@ package com.smartcampus.examgrading.service;
 
 import com.smartcampus.examgrading.model.Exam;
 import com.smartcampus.examgrading.model.Grade;
+import com.smartcampus.examgrading.model.GradeChangeEvent;
 import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.EnrollmentRepository;
 import com.smartcampus.examgrading.repository.ExamRepository;
+import com.smartcampus.examgrading.repository.GradeJdbcRepository;
 import com.smartcampus.examgrading.repository.GradeRepository;
 import com.smartcampus.examgrading.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class GradeService {
 
+    // Invalid entries listed in a bulk save's error message; the rest are only counted
+    private static final int MAX_REPORTED_ERRORS = 10;
+
     private final GradeRepository gradeRepository;
+    private final GradeJdbcRepository gradeJdbcRepository;
     private final UserRepository userRepository;
     private final ExamRepository examRepository;
+    private final EnrollmentRepository enrollmentRepository;
     private final SessionService sessionService;
+    private final ExamStatisticsService statisticsService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public GradeService(GradeRepository gradeRepository, UserRepository userRepository,
-            ExamRepository examRepository, SessionService sessionService) {
+    public GradeService(GradeRepository gradeRepository, GradeJdbcRepository gradeJdbcRepository,
+            UserRepository userRepository, ExamRepository examRepository,
+            EnrollmentRepository enrollmentRepository, SessionService sessionService, ExamStatisticsService statisticsService, ApplicationEventPublisher eventPublisher) {
         this.gradeRepository = gradeRepository;
+        this.gradeJdbcRepository = gradeJdbcRepository;
         this.userRepository = userRepository;
         this.examRepository = examRepository;
+        this.enrollmentRepository = enrollmentRepository;
         this.sessionService = sessionService;
+        this.statisticsService = statisticsService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -43,24 +65,14 @@ public class GradeService {
      * Get all grades for a specific student
      */
     public List<Grade> getGradesByStudentId(Long studentId) {
-        List<Grade> grades = gradeRepository.findByStudentId(studentId);
-
-        // Populate related entities
-        return grades.stream()
-                .map(this::populateGradeRelations)
-                .collect(Collectors.toList());
+        return populateGradeRelations(gradeRepository.findByStudentId(studentId));
     }
 
     /**
      * Get all grades for a specific exam
      */
     public List<Grade> getGradesByExamId(Long examId) {
-        List<Grade> grades = gradeRepository.findByExamId(examId);
-
-        // Populate related entities
-        return grades.stream()
-                .map(this::populateGradeRelations)
-                .collect(Collectors.toList());
+        return populateGradeRelations(gradeRepository.findByExamId(examId));
     }
 
     /**
@@ -84,6 +96,7 @@ public class GradeService {
     /**
      * Save or update a grade
      */
+    @Transactional
     public Grade saveGrade(Grade grade) {
         // Verify user is authorized (faculty or admin)
         User currentUser = sessionService.getCurrentUser();
@@ -112,13 +125,108 @@ public class GradeService {
         grade.setGradedBy(currentUser.getUserId());
         grade.setGradedAt(Timestamp.valueOf(LocalDateTime.now()));
 
-        // Save the grade
-        return gradeRepository.save(grade);
+        // Save the grade and apply the difference to the exam's statistics
+        Grade previous = gradeJdbcRepository.findForUpdate(grade.getStudentId(), grade.getExamId()).orElse(null);
+        Grade saved = gradeRepository.saveAndFlush(grade);
+        statisticsService.applyGradeChange(exam, previous, saved);
+        eventPublisher.publishEvent(new GradeChangeEvent(saved.getExamId(), List.of(saved.getStudentId())));
+        return saved;
+    }
+
+    /**
+     * Save or update the marks of many students for one exam at once. Every entry is
+     * validated before anything is written, so either all grades are saved or none are.
+     * Only students actively enrolled in the exam's course can be graded. Existing
+     * feedback is kept.
+     *
+     * @param examId           The exam being graded
+     * @param marksByStudentId Marks obtained, keyed by student id
+     * @return Number of grades written
+     */
+    @Transactional
+    public int saveGrades(Long examId, Map<Long, BigDecimal> marksByStudentId) {
+        User currentUser = sessionService.getCurrentUser();
+        if (currentUser == null || (!sessionService.isFaculty())) {
+            throw new RuntimeException("Only faculty  can enter grades");
+        }
+
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new RuntimeException("Exam not found with id: " + examId));
+        if (marksByStudentId.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> enrolledStudentIds = new HashSet<>(
+                enrollmentRepository.findActiveStudentIds(exam.getCourseId(), marksByStudentId.keySet()));
+        BigDecimal totalMarks = exam.getTotalMarks();
+
+        List<String> errors = new ArrayList<>();
+        int errorCount = 0;
+        for (Map.Entry<Long, BigDecimal> entry : marksByStudentId.entrySet()) {
+            Long studentId = entry.getKey();
+            BigDecimal marks = entry.getValue();
+            String error = null;
+            if (!enrolledStudentIds.contains(studentId)) {
+                error = "Student " + studentId + " is not enrolled in the course";
+            } else if (marks == null || marks.signum() < 0 || marks.compareTo(totalMarks) > 0) {
+                error = "Marks for student " + studentId + " must be between 0 and " + totalMarks;
+            }
+            if (error != null && errorCount++ < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        if (errorCount > 0) {
+            String message = String.join("; ", errors);
+            if (errorCount > errors.size()) {
+                message += " (and " + (errorCount - errors.size()) + " more)";
+            }
+            throw new RuntimeException("No grades were saved: " + message);
+        }
+
+        return writeGrades(exam, marksByStudentId, currentUser.getUserId());
+    }
+
+    /**
+     * Compute percentages and letters for already validated marks and upsert them in JDBC
+     * batches. Callers are responsible for checking the grader, the students and the range
+     * of the marks.
+     *
+     * @param exam             The exam being graded
+     * @param marksByStudentId Marks obtained, keyed by student id
+     * @param graderId         Recorded as the grader of every grade
+     * @return Number of grades written
+     */
+    @Transactional
+    public int writeGrades(Exam exam, Map<Long, BigDecimal> marksByStudentId, Long graderId) {
+        Timestamp gradedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Grade> grades = new ArrayList<>(marksByStudentId.size());
+        for (Map.Entry<Long, BigDecimal> entry : marksByStudentId.entrySet()) {
+            BigDecimal percentage = entry.getValue()
+                    .multiply(new BigDecimal(100))
+                    .divide(exam.getTotalMarks(), 2, RoundingMode.HALF_UP);
+
+            Grade grade = new Grade();
+            grade.setStudentId(entry.getKey());
+            grade.setExamId(exam.getId());
+            grade.setMarksObtained(entry.getValue());
+            grade.setPercentage(percentage);
+            grade.setGradeLetter(calculateGradeLetter(percentage));
+            grade.setGradedBy(graderId);
+            grade.setGradedAt(gradedAt);
+            grades.add(grade);
+        }
+
+        gradeJdbcRepository.upsertGrades(grades);
+        statisticsService.refresh(exam.getId());
+        eventPublisher.publishEvent(new GradeChangeEvent(exam.getId(), marksByStudentId.keySet()));
+        return grades.size();
     }
 
     /**
      * Delete a grade
      */
+    @Transactional
     public void deleteGrade(Long gradeId) {
         // Verify user is authorized (faculty or admin)
         User currentUser = sessionService.getCurrentUser();
@@ -126,7 +234,17 @@ public class GradeService {
             throw new RuntimeException("Only faculty and administrators can delete grades");
         }
 
-        gradeRepository.deleteById(gradeId);
+        Optional<Grade> grade = gradeRepository.findById(gradeId);
+        Optional<Grade> locked = grade.flatMap(
+                found -> gradeJdbcRepository.findForUpdate(found.getStudentId(), found.getExamId()));
+        if (locked.isPresent()) {
+            gradeRepository.delete(grade.get());
+            gradeRepository.flush();
+            examRepository.findById(locked.get().getExamId()).ifPresent(
+                    exam -> statisticsService.applyGradeChange(exam, locked.get(), null));
+            eventPublisher.publishEvent(
+                    new GradeChangeEvent(grade.get().getExamId(), List.of(grade.get().getStudentId())));
+        }
     }
 
     /**
@@ -164,15 +282,38 @@ public class GradeService {
      * Populate grade with related entities
      */
     private Grade populateGradeRelations(Grade grade) {
-        userRepository.findById(grade.getStudentId())
-                .ifPresent(grade::setStudent);
+        populateGradeRelations(List.of(grade));
+        return grade;
+    }
 
-        examRepository.findById(grade.getExamId())
-                .ifPresent(grade::setExam);
+    /**
+     * Populate a list of grades with their students, exams and graders using one IN-query
+     * for users and one for exams. Grades referring to the same user or exam share the
+     * same instance.
+     */
+    private List<Grade> populateGradeRelations(List<Grade> grades) {
+        if (grades.isEmpty()) {
+            return grades;
+        }
 
-        userRepository.findById(grade.getGradedBy())
-                .ifPresent(grade::setGrader);
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> examIds = new HashSet<>();
+        for (Grade grade : grades) {
+            userIds.add(grade.getStudentId());
+            userIds.add(grade.getGradedBy());
+            examIds.add(grade.getExamId());
+        }
 
-        return grade;
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        Map<Long, Exam> exams = examRepository.findAllById(examIds).stream()
+                .collect(Collectors.toMap(Exam::getId, Function.identity()));
+
+        for (Grade grade : grades) {
+            grade.setStudent(users.get(grade.getStudentId()));
+            grade.setExam(exams.get(grade.getExamId()));
+            grade.setGrader(users.get(grade.getGradedBy()));
+        }
+        return grades;
     }
 }
\ No newline at end of file
@@ -0,0 +1,352 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.AcademicTerm;
+import com.smartcampus.examgrading.model.GradeChangeEvent;
+import com.smartcampus.examgrading.model.StudentTermGpa;
+import com.smartcampus.examgrading.model.TranscriptRebuild;
+import com.smartcampus.examgrading.repository.StudentTermGpaRepository;
+import com.smartcampus.examgrading.repository.TranscriptJdbcRepository;
+import com.smartcampus.examgrading.repository.TranscriptJdbcRepository.TranscriptGradeRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Maintains materialized transcripts: one row per student and term with the term GPA and
+ * the cumulative CGPA up to that term. Letters map to grade points through the configured
+ * scale, a course's points in a term are the average over its exams weighted by the
+ * exams' total marks, and term averages are weighted by the course's credit hours.
+ *
+ * <p>Only the students whose grades changed are recomputed after each grade write. A
+ * campus-wide rebuild runs in the background, splits the student ids into ranges and
+ * recomputes them in parallel, each range in its own transaction.
+ */
+@Service
+public class TranscriptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranscriptService.class);
+
+    // Students recomputed per statement after a bulk grade write
+    private static final int RECOMPUTE_CHUNK_SIZE = 500;
+
+    private final TranscriptJdbcRepository transcriptJdbcRepository;
+    private final StudentTermGpaRepository termGpaRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, BigDecimal> gradePoints;
+    private final int workerThreads;
+    private final int partitionSize;
+
+    private final AtomicReference<TranscriptRebuild> currentRebuild = new AtomicReference<>();
+
+    public TranscriptService(TranscriptJdbcRepository transcriptJdbcRepository,
+                             StudentTermGpaRepository termGpaRepository,
+                             @Qualifier("transcriptExecutor") ThreadPoolTaskExecutor executor,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${transcript.grade-points:A+:4.0,A:4.0,A-:3.7,B+:3.3,B:3.0,B-:2.7,C+:2.3,C:2.0,C-:1.7,D+:1.3,D:1.0,F:0.0}")
+                             String gradePoints,
+                             @Value("${transcript.rebuild.worker-threads:4}") int workerThreads,
+                             @Value("${transcript.rebuild.partition-size:1000}") int partitionSize) {
+        this.transcriptJdbcRepository = transcriptJdbcRepository;
+        this.termGpaRepository = termGpaRepository;
+        this.executor = executor;
+        this.transactionTemplate = transactionTemplate;
+        this.gradePoints = parseGradePoints(gradePoints);
+        this.workerThreads = workerThreads;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * Recompute the transcripts of the students whose grades changed, once the change has
+     * committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onGradeChange(GradeChangeEvent event) {
+        recomputeStudents(event.getStudentIds());
+    }
+
+    /**
+     * Recompute the transcripts of some students in the current transaction.
+     */
+    @Transactional
+    public void recomputeStudents(Collection<Long> studentIds) {
+        List<Long> ids = new ArrayList<>(studentIds);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += RECOMPUTE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + RECOMPUTE_CHUNK_SIZE, ids.size()));
+            // Delete before reading: the delete locks the students' rows, so a rebuild
+            // partition covering them waits for this transaction or is waited for
+            transcriptJdbcRepository.deleteStudents(chunk);
+            List<TranscriptGradeRow> grades = transcriptJdbcRepository.findGradesOfStudents(chunk);
+            transcriptJdbcRepository.insertRows(computeTranscripts(grades, gradePoints, now));
+        }
+    }
+
+    /**
+     * Queue a rebuild of every transcript, to repair drift or apply a changed grade point
+     * scale, and return immediately. If a rebuild is already queued or running, that one
+     * is returned instead. The student id range is split into partitions that a fixed
+     * number of workers drain in parallel; each partition commits on its own.
+     *
+     * @throws TaskRejectedException When the executor cannot take the rebuild
+     */
+    public TranscriptRebuild startRebuild() {
+        TranscriptRebuild rebuild = new TranscriptRebuild();
+        TranscriptRebuild previous = currentRebuild.getAndUpdate(
+            current -> current == null || current.isFinished() ? rebuild : current);
+        if (previous != null && !previous.isFinished()) {
+            return previous;
+        }
+        try {
+            executor.execute(() -> runRebuild(rebuild));
+        } catch (TaskRejectedException e) {
+            rebuild.failed("The transcript executor rejected the rebuild");
+            throw e;
+        }
+        return rebuild;
+    }
+
+    /**
+     * The rebuild that is running, or the last one to finish since startup.
+     */
+    public Optional<TranscriptRebuild> getRebuild() {
+        return Optional.ofNullable(currentRebuild.get());
+    }
+
+    /**
+     * Populate the transcripts on first start against an existing grades table, in the
+     * background so startup is not held up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeTranscripts() {
+        if (transcriptJdbcRepository.isEmpty()) {
+            startRebuild();
+        }
+    }
+
+    // Runs on the executor; the coordinating thread drains partitions alongside the workers
+    private void runRebuild(TranscriptRebuild rebuild) {
+        try {
+            long started = System.currentTimeMillis();
+            long[] range = transcriptJdbcRepository.findStudentIdRange();
+            if (range == null) {
+                rebuild.started(0);
+                rebuild.completed();
+                return;
+            }
+
+            Queue<long[]> pending = new ConcurrentLinkedQueue<>();
+            for (long from = range[0]; from <= range[1]; from += partitionSize) {
+                pending.add(new long[] { from, Math.min(from + partitionSize - 1, range[1]) });
+            }
+            int partitions = pending.size();
+            rebuild.started(partitions);
+
+            AtomicInteger failedPartitions = new AtomicInteger();
+            Runnable worker = () -> {
+                long[] partition;
+                while ((partition = pending.poll()) != null) {
+                    rebuildPartition(partition[0], partition[1], rebuild, failedPartitions);
+                }
+            };
+
+            int workers = Math.min(workerThreads, partitions) - 1;
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                try {
+                    futures.add(executor.submit(worker));
+                } catch (TaskRejectedException e) {
+                    // Pool is saturated; the partitions stay queued for the threads already draining
+                    logger.warn("Transcript rebuild worker rejected; continuing with {} workers", futures.size() + 1);
+                    break;
+                }
+            }
+            worker.run();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    rebuild.failed("Interrupted while waiting for the transcript rebuild");
+                    return;
+                } catch (ExecutionException e) {
+                    logger.error("Transcript rebuild worker failed", e.getCause());
+                    failedPartitions.incrementAndGet();
+                }
+            }
+
+            if (failedPartitions.get() > 0) {
+                rebuild.failed(failedPartitions.get() + " of " + partitions + " transcript partitions failed");
+                return;
+            }
+            logger.info("Rebuilt transcripts for {} students in {} partitions in {} ms",
+                rebuild.getStudents(), partitions, System.currentTimeMillis() - started);
+            rebuild.completed();
+        } catch (RuntimeException e) {
+            logger.error("Transcript rebuild failed", e);
+            rebuild.failed(e.getMessage());
+        }
+    }
+
+    /**
+     * A student's transcript in term order; the last row holds the current CGPA.
+     */
+    @Transactional(readOnly = true)
+    public List<StudentTermGpa> getTranscript(Long studentId) {
+        return termGpaRepository.findByStudentIdOrderByTermAsc(studentId);
+    }
+
+    private void rebuildPartition(long fromStudentId, long toStudentId,
+                                  TranscriptRebuild rebuild, AtomicInteger failedPartitions) {
+        try {
+            int rebuilt = transactionTemplate.execute(status -> {
+                transcriptJdbcRepository.deleteRange(fromStudentId, toStudentId);
+                List<StudentTermGpa> rows = computeTranscripts(
+                    transcriptJdbcRepository.findGradesInRange(fromStudentId, toStudentId), gradePoints,
+                    LocalDateTime.now());
+                transcriptJdbcRepository.insertRows(rows);
+                return (int) rows.stream().mapToLong(StudentTermGpa::getStudentId).distinct().count();
+            });
+            rebuild.partitionCompleted(rebuilt);
+        } catch (RuntimeException e) {
+            logger.error("Transcript rebuild failed for students {} to {}", fromStudentId, toStudentId, e);
+            failedPartitions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Transcript rows of the students in the given grades.
+     *
+     * @param grades      Graded exams ordered by student
+     * @param gradePoints Points of each upper-cased letter
+     */
+    static List<StudentTermGpa> computeTranscripts(List<TranscriptGradeRow> grades,
+                                                   Map<String, BigDecimal> gradePoints, LocalDateTime now) {
+        List<StudentTermGpa> rows = new ArrayList<>();
+        int start = 0;
+        while (start < grades.size()) {
+            long studentId = grades.get(start).getStudentId();
+            int end = start + 1;
+            while (end < grades.size() && grades.get(end).getStudentId() == studentId) {
+                end++;
+            }
+            addTranscript(studentId, grades.subList(start, end), gradePoints, now, rows);
+            start = end;
+        }
+        return rows;
+    }
+
+    private static void addTranscript(long studentId, List<TranscriptGradeRow> grades,
+                                      Map<String, BigDecimal> gradePoints, LocalDateTime now,
+                                      List<StudentTermGpa> rows) {
+        // Term keys sort chronologically, which the cumulative totals rely on
+        Map<String, Map<Long, CourseTotals>> terms = new TreeMap<>();
+        for (TranscriptGradeRow grade : grades) {
+            BigDecimal points = gradePoints.get(grade.getGradeLetter().trim().toUpperCase());
+            // Letters outside the scale and non-credit courses do not count towards the GPA
+            if (points == null || grade.getCreditHours() <= 0 || grade.getTotalMarks().signum() <= 0) {
+                continue;
+            }
+            String term = AcademicTerm.of(grade.getExamDate()).getKey();
+            CourseTotals course = terms.computeIfAbsent(term, t -> new HashMap<>())
+                .computeIfAbsent(grade.getCourseId(), id -> new CourseTotals(grade.getCreditHours()));
+            course.weightedPoints = course.weightedPoints.add(points.multiply(grade.getTotalMarks()));
+            course.totalMarks = course.totalMarks.add(grade.getTotalMarks());
+        }
+
+        int cumulativeCredits = 0;
+        BigDecimal cumulativePoints = BigDecimal.ZERO;
+        for (Map.Entry<String, Map<Long, CourseTotals>> term : terms.entrySet()) {
+            int credits = 0;
+            BigDecimal qualityPoints = BigDecimal.ZERO;
+            for (CourseTotals course : term.getValue().values()) {
+                credits += course.creditHours;
+                qualityPoints = qualityPoints.add(course.weightedPoints
+                    .multiply(BigDecimal.valueOf(course.creditHours))
+                    .divide(course.totalMarks, 4, RoundingMode.HALF_UP));
+            }
+            cumulativeCredits += credits;
+            cumulativePoints = cumulativePoints.add(qualityPoints);
+
+            StudentTermGpa row = new StudentTermGpa();
+            row.setStudentId(studentId);
+            row.setTerm(term.getKey());
+            row.setCourseCount(term.getValue().size());
+            row.setCreditHours(credits);
+            row.setQualityPoints(qualityPoints);
+            row.setGpa(qualityPoints.divide(BigDecimal.valueOf(credits), 2, RoundingMode.HALF_UP));
+            row.setCumulativeCreditHours(cumulativeCredits);
+            row.setCumulativeQualityPoints(cumulativePoints);
+            row.setCgpa(cumulativePoints.divide(BigDecimal.valueOf(cumulativeCredits), 2, RoundingMode.HALF_UP));
+            row.setUpdatedAt(now);
+            rows.add(row);
+        }
+    }
+
+    /**
+     * Parse a scale written as {@code letter:points} pairs separated by commas.
+     */
+    static Map<String, BigDecimal> parseGradePoints(String scale) {
+        Map<String, BigDecimal> points = new HashMap<>();
+        for (String entry : scale.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid grade point entry '" + entry.trim() + "', expected letter:points");
+            }
+            try {
+                BigDecimal value = new BigDecimal(entry.substring(separator + 1).trim());
+                points.put(entry.substring(0, separator).trim().toUpperCase(), value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid grade points in '" + entry.trim() + "'", e);
+            }
+        }
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("The grade point scale is empty");
+        }
+        return Collections.unmodifiableMap(points);
+    }
+
+    // One course's exams in one term
+    private static class CourseTotals {
+
+        private final int creditHours;
+        private BigDecimal weightedPoints = BigDecimal.ZERO;
+        private BigDecimal totalMarks = BigDecimal.ZERO;
+
+        CourseTotals(int creditHours) {
+            this.creditHours = creditHours;
+        }
+    }
+}
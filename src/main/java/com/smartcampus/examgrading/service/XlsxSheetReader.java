@@ -0,0 +1,267 @@
+package com.smartcampus.examgrading.service;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads the first worksheet of an .xlsx workbook one row at a time with a streaming XML
+ * parser, the way event-based spreadsheet readers do, instead of loading the workbook
+ * into a document tree. Only the current row and the shared string table stay in memory.
+ *
+ * <p>Cells are returned as text: shared and inline strings as written, numbers as stored
+ * in the file (e.g. {@code 72.5}), booleans as TRUE or FALSE. Missing cells in a row are
+ * returned as empty strings. Formatting, formulas and dates are not interpreted.
+ */
+public class XlsxSheetReader implements Closeable {
+
+    private static final String DEFAULT_SHEET = "xl/worksheets/sheet1.xml";
+    private static final String DEFAULT_SHARED_STRINGS = "xl/sharedStrings.xml";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        // Workbook parts never need DTDs; refusing them rules out entity expansion attacks
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final ZipFile zip;
+    private final List<String> sharedStrings;
+    private final InputStream sheetStream;
+    private final XMLStreamReader sheet;
+    private long rowNumber;
+
+    public XlsxSheetReader(File file) throws IOException {
+        zip = new ZipFile(file);
+        try {
+            String sheetPart = DEFAULT_SHEET;
+            String sharedStringsPart = DEFAULT_SHARED_STRINGS;
+
+            String sheetRelationId = findFirstSheetRelationId();
+            ZipEntry relsEntry = zip.getEntry("xl/_rels/workbook.xml.rels");
+            if (relsEntry != null) {
+                try (InputStream in = zip.getInputStream(relsEntry)) {
+                    XMLStreamReader rels = XML_INPUT_FACTORY.createXMLStreamReader(in);
+                    while (rels.hasNext()) {
+                        if (rels.next() == XMLStreamConstants.START_ELEMENT
+                                && "Relationship".equals(rels.getLocalName())) {
+                            String id = rels.getAttributeValue(null, "Id");
+                            String type = rels.getAttributeValue(null, "Type");
+                            String target = rels.getAttributeValue(null, "Target");
+                            if (target == null) {
+                                continue;
+                            }
+                            if (id != null && id.equals(sheetRelationId)) {
+                                sheetPart = resolvePart(target);
+                            } else if (type != null && type.endsWith("/sharedStrings")) {
+                                sharedStringsPart = resolvePart(target);
+                            }
+                        }
+                    }
+                    rels.close();
+                }
+            }
+
+            sharedStrings = readSharedStrings(sharedStringsPart);
+
+            ZipEntry sheetEntry = zip.getEntry(sheetPart);
+            if (sheetEntry == null) {
+                throw new IOException("The workbook has no worksheet");
+            }
+            sheetStream = zip.getInputStream(sheetEntry);
+            sheet = XML_INPUT_FACTORY.createXMLStreamReader(sheetStream);
+        } catch (XMLStreamException e) {
+            zip.close();
+            throw new IOException("Not a valid .xlsx workbook: " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            zip.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read the next row present in the sheet into the given list, replacing its contents.
+     *
+     * @return false when the sheet has no more rows
+     */
+    public boolean nextRow(List<String> cells) throws IOException {
+        cells.clear();
+        try {
+            while (sheet.hasNext()) {
+                if (sheet.next() == XMLStreamConstants.START_ELEMENT && "row".equals(sheet.getLocalName())) {
+                    String ref = sheet.getAttributeValue(null, "r");
+                    rowNumber = ref != null ? Long.parseLong(ref) : rowNumber + 1;
+                    readRow(cells);
+                    return true;
+                }
+            }
+            return false;
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed worksheet near row " + rowNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return The spreadsheet row number (1-based) of the row last read
+     */
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sheet.close();
+        } catch (XMLStreamException e) {
+            // Nothing left to release beyond the streams closed below
+        }
+        sheetStream.close();
+        zip.close();
+    }
+
+    private void readRow(List<String> cells) throws XMLStreamException {
+        while (sheet.hasNext()) {
+            int event = sheet.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(sheet.getLocalName())) {
+                return;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT || !"c".equals(sheet.getLocalName())) {
+                continue;
+            }
+
+            String ref = sheet.getAttributeValue(null, "r");
+            String type = sheet.getAttributeValue(null, "t");
+            int column = ref != null ? columnIndex(ref) : cells.size();
+            String value = null;
+            StringBuilder inline = null;
+            while (sheet.hasNext()) {
+                event = sheet.next();
+                if (event == XMLStreamConstants.END_ELEMENT && "c".equals(sheet.getLocalName())) {
+                    break;
+                }
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if ("v".equals(sheet.getLocalName())) {
+                        value = sheet.getElementText();
+                    } else if ("t".equals(sheet.getLocalName())) {
+                        if (inline == null) {
+                            inline = new StringBuilder();
+                        }
+                        inline.append(sheet.getElementText());
+                    }
+                }
+            }
+
+            while (cells.size() <= column) {
+                cells.add("");
+            }
+            cells.set(column, cellText(type, value, inline));
+        }
+    }
+
+    private String cellText(String type, String value, StringBuilder inline) {
+        if ("inlineStr".equals(type)) {
+            return inline != null ? inline.toString() : "";
+        }
+        if (value == null) {
+            return "";
+        }
+        if ("s".equals(type)) {
+            int index = Integer.parseInt(value.trim());
+            return index < sharedStrings.size() ? sharedStrings.get(index) : "";
+        }
+        if ("b".equals(type)) {
+            return "1".equals(value.trim()) ? "TRUE" : "FALSE";
+        }
+        return value;
+    }
+
+    private String findFirstSheetRelationId() throws IOException, XMLStreamException {
+        ZipEntry workbookEntry = zip.getEntry("xl/workbook.xml");
+        if (workbookEntry == null) {
+            throw new IOException("Not a valid .xlsx workbook: xl/workbook.xml is missing");
+        }
+        try (InputStream in = zip.getInputStream(workbookEntry)) {
+            XMLStreamReader workbook = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                while (workbook.hasNext()) {
+                    if (workbook.next() == XMLStreamConstants.START_ELEMENT
+                            && "sheet".equals(workbook.getLocalName())) {
+                        // r:id, whichever namespace prefix the producer used
+                        for (int i = 0; i < workbook.getAttributeCount(); i++) {
+                            if ("id".equals(workbook.getAttributeLocalName(i))) {
+                                return workbook.getAttributeValue(i);
+                            }
+                        }
+                        return null;
+                    }
+                }
+                return null;
+            } finally {
+                workbook.close();
+            }
+        }
+    }
+
+    private List<String> readSharedStrings(String part) throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry(part);
+        if (entry == null) {
+            return strings;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            StringBuilder text = new StringBuilder();
+            boolean phonetic = false;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("si".equals(name)) {
+                        text.setLength(0);
+                    } else if ("rPh".equals(name)) {
+                        phonetic = true;
+                    } else if ("t".equals(name) && !phonetic) {
+                        text.append(reader.getElementText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if ("si".equals(name)) {
+                        strings.add(text.toString());
+                    } else if ("rPh".equals(name)) {
+                        phonetic = false;
+                    }
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    // Relationship targets are relative to xl/ unless absolute within the package
+    private static String resolvePart(String target) {
+        return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+    }
+
+    // Zero-based column of a cell reference such as "C12"
+    static int columnIndex(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+}
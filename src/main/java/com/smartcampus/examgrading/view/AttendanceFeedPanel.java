@@ -0,0 +1,79 @@
+package com.smartcampus.examgrading.view;
+
+import com.smartcampus.examgrading.model.AttendanceFeedItem;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.service.AttendanceFeedBroadcaster;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.component.html.H4;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Live list of attendance changes, updated through server push. Admins see every
+ * course; faculty see the courses they teach.
+ */
+public class AttendanceFeedPanel extends VerticalLayout {
+
+    private static final int MAX_ENTRIES = 20;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final AttendanceFeedBroadcaster broadcaster;
+    private final Predicate<AttendanceFeedItem> filter;
+    private final VerticalLayout entries = new VerticalLayout();
+    private final Span emptyMessage = new Span("No attendance changes yet");
+    private AttendanceFeedBroadcaster.Subscription subscription;
+
+    public AttendanceFeedPanel(AttendanceFeedBroadcaster broadcaster, User viewer) {
+        this.broadcaster = broadcaster;
+        this.filter = viewer.getRole() == User.Role.ADMIN
+            ? item -> true
+            : item -> Objects.equals(item.getFacultyId(), viewer.getUserId());
+
+        setPadding(false);
+        setSpacing(false);
+        entries.setPadding(false);
+        entries.setSpacing(false);
+        entries.add(emptyMessage);
+        add(new H4("Live Attendance Feed"), entries);
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        UI ui = attachEvent.getUI();
+        subscription = broadcaster.subscribe(filter, items -> {
+            try {
+                ui.access(() -> show(items));
+            } catch (UIDetachedException e) {
+                // The UI is closing; onDetach cancels the subscription
+            }
+        });
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        if (subscription != null) {
+            subscription.cancel();
+            subscription = null;
+        }
+        super.onDetach(detachEvent);
+    }
+
+    private void show(List<AttendanceFeedItem> items) {
+        entries.remove(emptyMessage);
+        for (AttendanceFeedItem item : items) {
+            entries.addComponentAsFirst(new Span(item.getUpdatedAt().format(TIME_FORMAT) + "  " + item.getMessage()));
+        }
+        while (entries.getComponentCount() > MAX_ENTRIES) {
+            entries.remove(entries.getComponentAt(entries.getComponentCount() - 1));
+        }
+    }
+}
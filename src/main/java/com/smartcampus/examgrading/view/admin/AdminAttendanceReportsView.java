@@ -1,12 +1,19 @@
 package com.smartcampus.examgrading.view.admin;
 
 import com.smartcampus.examgrading.model.Course;
-import com.smartcampus.examgrading.model.Enrollment;
 import com.smartcampus.examgrading.model.User;
 import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceAlertSummary;
+import com.smartcampus.examgrading.model.AttendanceSummary;
+import com.smartcampus.examgrading.model.AttendanceTrendPoint;
 import com.smartcampus.examgrading.security.SecurityService;
 import com.smartcampus.examgrading.service.CourseService;
+import com.smartcampus.examgrading.service.AttendanceAlertService;
+import com.smartcampus.examgrading.service.AttendanceExportService;
+import com.smartcampus.examgrading.service.AttendanceFeedBroadcaster;
+import com.smartcampus.examgrading.service.AttendanceRollupService;
 import com.smartcampus.examgrading.service.AttendanceService;
+import com.smartcampus.examgrading.view.AttendanceFeedPanel;
 import com.smartcampus.examgrading.view.MainLayout;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -27,10 +34,8 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.StreamResource;
 
-import java.io.ByteArrayInputStream;
-import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,24 +48,41 @@ import java.util.stream.Collectors;
 @PageTitle("Attendance Reports | Admin")
 public class AdminAttendanceReportsView extends VerticalLayout {
 
+    private static final int TREND_WEEKS = 12;
+
     private final SecurityService securityService;
     private final CourseService courseService;
     private final AttendanceService attendanceService;
+    private final AttendanceExportService exportService;
+    private final AttendanceFeedBroadcaster feedBroadcaster;
+    private final AttendanceAlertService attendanceAlertService;
+    private final AttendanceRollupService rollupService;
     private final ComboBox<Course> courseSelector = new ComboBox<>("Select Course");
     private final DatePicker startDatePicker = new DatePicker("Start Date");
     private final DatePicker endDatePicker = new DatePicker("End Date");
     private final VerticalLayout mainContent = new VerticalLayout();
     private Tabs tabs;
     
+    // Date range applied by "Generate Report"; null means all dates
+    private LocalDate appliedStartDate;
+    private LocalDate appliedEndDate;
+    
     // Sample data for demo
     private List<Course> allCourses = new ArrayList<>();
     private Map<String, List<StudentAttendanceSummary>> courseAttendanceMap = new HashMap<>();
 
     public AdminAttendanceReportsView(SecurityService securityService, CourseService courseService, 
-                                    AttendanceService attendanceService) {
+                                    AttendanceService attendanceService, AttendanceExportService exportService,
+                                    AttendanceFeedBroadcaster feedBroadcaster,
+                                    AttendanceAlertService attendanceAlertService,
+                                    AttendanceRollupService rollupService) {
         this.securityService = securityService;
         this.courseService = courseService;
         this.attendanceService = attendanceService;
+        this.exportService = exportService;
+        this.feedBroadcaster = feedBroadcaster;
+        this.attendanceAlertService = attendanceAlertService;
+        this.rollupService = rollupService;
         
         setSizeFull();
         setPadding(true);
@@ -115,7 +137,7 @@ public class AdminAttendanceReportsView extends VerticalLayout {
         // Create tabs with real data
         createTabs();
         
-        add(filterControls, mainContent);
+        add(filterControls, new AttendanceFeedPanel(feedBroadcaster, securityService.getCurrentUser()), mainContent);
         
         // Default to course reports
         showCourseReports();
@@ -126,20 +148,15 @@ public class AdminAttendanceReportsView extends VerticalLayout {
         Tab courseReportsTab = new Tab("Course Reports");
         Tab studentReportsTab = new Tab("Student Reports");
         
-        // Count students with low attendance for the tab label
-        int lowAttendanceCount = 0;
-        for (List<StudentAttendanceSummary> summaries : courseAttendanceMap.values()) {
-            for (StudentAttendanceSummary summary : summaries) {
-                if (summary.getAttendancePercentage() < 75.0) {
-                    lowAttendanceCount++;
-                }
-            }
-        }
+        // Open alerts recorded by the low-attendance scanner
+        long lowAttendanceCount = attendanceAlertService.countOpenAlerts();
         
         Tab lowAttendanceTab = new Tab("Low Attendance Alerts (" + lowAttendanceCount + ")");
         
+        Tab trendsTab = new Tab("Trends");
+        
         // Create tabs component
-        tabs = new Tabs(courseReportsTab, studentReportsTab, lowAttendanceTab);
+        tabs = new Tabs(courseReportsTab, studentReportsTab, lowAttendanceTab, trendsTab);
         tabs.setWidthFull();
         
         // Add before the mainContent
@@ -152,6 +169,8 @@ public class AdminAttendanceReportsView extends VerticalLayout {
                 showCourseReports();
             } else if (event.getSelectedTab().equals(studentReportsTab)) {
                 showStudentReports();
+            } else if (event.getSelectedTab().equals(trendsTab)) {
+                showAttendanceTrends();
             } else {
                 showLowAttendanceAlerts();
             }
@@ -200,8 +219,8 @@ public class AdminAttendanceReportsView extends VerticalLayout {
             viewButton.getStyle().set("margin-right", "8px");
             
             Anchor exportAnchor = new Anchor(
-                new StreamResource("attendance_" + summary.getCourse().getCourseCode() + ".csv", 
-                    () -> generateCsvForCourse(summary.getCourse())),
+                csvResource("attendance_" + summary.getCourse().getCourseCode() + ".csv", 
+                    summary.getCourse().getId(), null),
                 "Export CSV"
             );
             exportAnchor.getElement().setAttribute("download", true);
@@ -240,8 +259,9 @@ public class AdminAttendanceReportsView extends VerticalLayout {
         
         // Export all button
         Button exportAllButton = new Button("Export All Data");
+        Course selectedCourse = courseSelector.getValue();
         Anchor exportAllAnchor = new Anchor(
-            new StreamResource("all_attendance.csv", this::generateCsvForAllCourses),
+            csvResource("all_attendance.csv", selectedCourse != null ? selectedCourse.getId() : null, null),
             ""
         );
         exportAllAnchor.getElement().setAttribute("download", true);
@@ -297,84 +317,60 @@ public class AdminAttendanceReportsView extends VerticalLayout {
         mainContent.add(alertTitle);
         
         // Create grid for low attendance alerts
-        Grid<StudentAttendanceSummary> alertsGrid = new Grid<>();
+        Grid<AttendanceAlertSummary> alertsGrid = new Grid<>();
         alertsGrid.setWidthFull();
         
-        alertsGrid.addColumn(StudentAttendanceSummary::getStudentId)
+        alertsGrid.addColumn(AttendanceAlertSummary::getStudentId)
                  .setHeader("ID")
                  .setAutoWidth(true);
                  
-        alertsGrid.addColumn(StudentAttendanceSummary::getStudentName)
+        alertsGrid.addColumn(AttendanceAlertSummary::getStudentName)
                  .setHeader("Name")
                  .setAutoWidth(true);
                  
-        alertsGrid.addColumn(summary -> summary.getCourse().getCourseName())
+        alertsGrid.addColumn(AttendanceAlertSummary::getCourseName)
                  .setHeader("Course")
                  .setAutoWidth(true);
                  
-        alertsGrid.addComponentColumn(summary -> {
+        alertsGrid.addComponentColumn(alert -> {
+            double percentage = alert.getAttendancePercentage().doubleValue();
             ProgressBar progress = new ProgressBar();
             progress.setMin(0);
             progress.setMax(100);
-            progress.setValue(summary.getAttendancePercentage());
+            progress.setValue(percentage);
             progress.setWidth("100px");
             
-            if (summary.getAttendancePercentage() < 60) {
+            if (percentage < 60) {
                 progress.getStyle().set("--lumo-primary-color", "var(--lumo-error-color)");
-            } else if (summary.getAttendancePercentage() < 70) {
+            } else if (percentage < 70) {
                 progress.getStyle().set("--lumo-primary-color", "var(--lumo-warning-color)");
             }
             
             HorizontalLayout progressLayout = new HorizontalLayout(
                 progress, 
-                new Span(String.format("%.1f%%", summary.getAttendancePercentage()))
+                new Span(String.format("%.1f%%", percentage))
             );
             progressLayout.setAlignItems(Alignment.CENTER);
             
             return progressLayout;
         }).setHeader("Attendance").setWidth("200px");
         
-        alertsGrid.addComponentColumn(summary -> {
-            String emailText = "Dear " + summary.getStudentName().split(" ")[0] + ",\n\n" +
-                "This is to inform you that your attendance in " + summary.getCourse().getCourseName() +
-                " is below the required 70%. Your current attendance is " + 
-                String.format("%.1f%%", summary.getAttendancePercentage()) + ".\n\n" +
-                "Please improve your attendance to avoid academic penalties.\n\n" +
-                "Regards,\nAdmin Team";
-                
+        alertsGrid.addColumn(AttendanceAlertSummary::getPeriod)
+                 .setHeader("Period")
+                 .setAutoWidth(true);
+        
+        alertsGrid.addComponentColumn(alert -> {
             Button emailButton = new Button("Send Alert", e -> {
-                Notification.show("Alert email sent to " + summary.getStudentName());
+                Notification.show("Alert email sent to " + alert.getStudentName());
             });
             
             return emailButton;
         }).setHeader("Action").setAutoWidth(true);
         
-        // Get all students with attendance below 70%
-        List<StudentAttendanceSummary> lowAttendanceStudents = new ArrayList<>();
-        
-        // Filter by selected course if one is selected
+        // Open alerts, filtered by selected course if one is selected
         Course selectedCourse = courseSelector.getValue();
-        
-        if (selectedCourse != null) {
-            // Filter to only show students from the selected course
-            List<StudentAttendanceSummary> courseSummaries = courseAttendanceMap.get(selectedCourse.getCourseCode());
-            if (courseSummaries != null) {
-                for (StudentAttendanceSummary summary : courseSummaries) {
-                    if (summary.getAttendancePercentage() < 70) {
-                        lowAttendanceStudents.add(summary);
-                    }
-                }
-            }
-        } else {
-            // Show all low attendance students from all courses
-            for (List<StudentAttendanceSummary> summaries : courseAttendanceMap.values()) {
-                for (StudentAttendanceSummary summary : summaries) {
-                    if (summary.getAttendancePercentage() < 70) {
-                        lowAttendanceStudents.add(summary);
-                    }
-                }
-            }
-        }
+        List<AttendanceAlertSummary> lowAttendanceStudents = 
+            attendanceAlertService.getOpenAlerts(selectedCourse == null ? null : selectedCourse.getId());
         
         alertsGrid.setItems(lowAttendanceStudents);
         mainContent.add(alertsGrid);
@@ -386,6 +382,81 @@ public class AdminAttendanceReportsView extends VerticalLayout {
         mainContent.add(massNotifyButton);
     }
     
+    // Weekday heatmap and weekly trend of the selected course, read from the session rollups
+    private void showAttendanceTrends() {
+        mainContent.removeAll();
+        
+        Course selectedCourse = courseSelector.getValue();
+        if (selectedCourse == null) {
+            mainContent.add(new H4("Select a course to view its attendance trends"));
+            return;
+        }
+        
+        mainContent.add(new H4("Attendance by Weekday (last " + TREND_WEEKS + " weeks)"));
+        Grid<AttendanceTrendPoint> heatmapGrid = new Grid<>();
+        heatmapGrid.setWidthFull();
+        heatmapGrid.setAllRowsVisible(true);
+        heatmapGrid.addColumn(AttendanceTrendPoint::getLabel)
+                 .setHeader("Day")
+                 .setAutoWidth(true);
+        heatmapGrid.addColumn(point -> point.getTimeSlots().isEmpty() ? "-" : point.getTimeSlots().stream()
+                    .map(LocalTime::toString)
+                    .collect(Collectors.joining(", ")))
+                 .setHeader("Time Slots")
+                 .setAutoWidth(true);
+        heatmapGrid.addColumn(AttendanceTrendPoint::getSessions)
+                 .setHeader("Sessions")
+                 .setAutoWidth(true);
+        heatmapGrid.addComponentColumn(this::createTrendBar)
+                 .setHeader("Attendance")
+                 .setWidth("220px");
+        heatmapGrid.setItems(rollupService.getWeekdayHeatmap(selectedCourse.getId(), TREND_WEEKS));
+        mainContent.add(heatmapGrid);
+        
+        mainContent.add(new H4("Weekly Trend"));
+        Grid<AttendanceTrendPoint> trendGrid = new Grid<>();
+        trendGrid.setWidthFull();
+        trendGrid.setAllRowsVisible(true);
+        trendGrid.addColumn(AttendanceTrendPoint::getLabel)
+                 .setHeader("Week")
+                 .setAutoWidth(true);
+        trendGrid.addColumn(point -> point.getWeekStart().format(DateTimeFormatter.ISO_LOCAL_DATE))
+                 .setHeader("Week Of")
+                 .setAutoWidth(true);
+        trendGrid.addColumn(AttendanceTrendPoint::getSessions)
+                 .setHeader("Sessions")
+                 .setAutoWidth(true);
+        trendGrid.addComponentColumn(this::createTrendBar)
+                 .setHeader("Attendance")
+                 .setWidth("220px");
+        trendGrid.setItems(rollupService.getWeeklyTrend(selectedCourse.getId(), TREND_WEEKS));
+        mainContent.add(trendGrid);
+    }
+    
+    private HorizontalLayout createTrendBar(AttendanceTrendPoint point) {
+        if (point.getSessions() == 0) {
+            return new HorizontalLayout(new Span("No classes"));
+        }
+        double percentage = point.getAttendancePercentage().doubleValue();
+        ProgressBar progress = new ProgressBar();
+        progress.setMin(0);
+        progress.setMax(100);
+        progress.setValue(percentage);
+        progress.setWidth("120px");
+        
+        if (percentage < 60) {
+            progress.getStyle().set("--lumo-primary-color", "var(--lumo-error-color)");
+        } else if (percentage < 75) {
+            progress.getStyle().set("--lumo-primary-color", "var(--lumo-warning-color)");
+        } else {
+            progress.getStyle().set("--lumo-primary-color", "var(--lumo-success-color)");
+        }
+        
+        HorizontalLayout layout = new HorizontalLayout(progress, new Span(String.format("%.1f%%", percentage)));
+        layout.setAlignItems(Alignment.CENTER);
+        return layout;
+    }
+    
     private void showCourseDetails(Course course) {
         // Create a dialog or navigate to a new view with detailed course attendance
         Dialog dialog = new Dialog();
@@ -499,11 +570,12 @@ public class AdminAttendanceReportsView extends VerticalLayout {
         
         // Create export button
         Button exportButton = new Button("Export Student Report");
+        Long studentId = studentCourses.isEmpty() ? null : Long.valueOf(studentCourses.get(0).getStudentId());
         Anchor exportAnchor = new Anchor(
-            new StreamResource(studentName.replace(" ", "_") + "_attendance.csv", 
-                () -> generateCsvForStudent(studentName, studentCourses)),
+            csvResource(studentName.replace(" ", "_") + "_attendance.csv", null, studentId),
             ""
         );
+        exportButton.setEnabled(studentId != null);
         exportAnchor.getElement().setAttribute("download", true);
         exportAnchor.add(exportButton);
         
@@ -529,9 +601,14 @@ public class AdminAttendanceReportsView extends VerticalLayout {
             return;
         }
         
-        // In a real app, this would query the database with the selected filters
-        // For demo, we'll just refresh the current view
+        // Reload the summaries for the selected period; CSV exports use the same range
+        appliedStartDate = startDate;
+        appliedEndDate = endDate;
+        courseAttendanceMap.clear();
+        initializeSampleData();
+        
         mainContent.removeAll();
+        tabs.setSelectedIndex(0);
         showCourseReports();
         
         Notification.show("Report generated for period: " + 
@@ -539,96 +616,43 @@ public class AdminAttendanceReportsView extends VerticalLayout {
             endDate.format(DateTimeFormatter.ISO_LOCAL_DATE));
     }
     
-    private ByteArrayInputStream generateCsvForCourse(Course course) {
-        // In a real app, this would generate a proper CSV from database data
-        StringBuilder csv = new StringBuilder();
-        csv.append("Student ID,Student Name,Classes Present,Classes Absent,Attendance %\n");
-        
-        List<StudentAttendanceSummary> studentSummaries = courseAttendanceMap.getOrDefault(
-            course.getCourseCode(), new ArrayList<>());
-            
-        for (StudentAttendanceSummary summary : studentSummaries) {
-            csv.append(summary.getStudentId()).append(",");
-            csv.append(summary.getStudentName()).append(",");
-            csv.append(summary.getClassesPresentCount()).append(",");
-            csv.append(summary.getClassesAbsentCount()).append(",");
-            csv.append(String.format("%.1f", summary.getAttendancePercentage())).append("\n");
-        }
-        
-        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
-    }
-    
-    private ByteArrayInputStream generateCsvForStudent(String studentName, List<StudentAttendanceSummary> courses) {
-        // In a real app, this would generate a proper CSV from database data
-        StringBuilder csv = new StringBuilder();
-        csv.append("Course Code,Course Name,Classes Present,Classes Absent,Attendance %\n");
-        
-        for (StudentAttendanceSummary summary : courses) {
-            csv.append(summary.getCourse().getCourseCode()).append(",");
-            csv.append(summary.getCourse().getCourseName()).append(",");
-            csv.append(summary.getClassesPresentCount()).append(",");
-            csv.append(summary.getClassesAbsentCount()).append(",");
-            csv.append(String.format("%.1f", summary.getAttendancePercentage())).append("\n");
-        }
-        
-        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
-    }
-    
-    private ByteArrayInputStream generateCsvForAllCourses() {
-        // In a real app, this would generate a proper CSV from database data
-        StringBuilder csv = new StringBuilder();
-        csv.append("Course Code,Course Name,Student ID,Student Name,Classes Present,Classes Absent,Attendance %\n");
-        
-        for (Map.Entry<String, List<StudentAttendanceSummary>> entry : courseAttendanceMap.entrySet()) {
-            for (StudentAttendanceSummary summary : entry.getValue()) {
-                csv.append(summary.getCourse().getCourseCode()).append(",");
-                csv.append(summary.getCourse().getCourseName()).append(",");
-                csv.append(summary.getStudentId()).append(",");
-                csv.append(summary.getStudentName()).append(",");
-                csv.append(summary.getClassesPresentCount()).append(",");
-                csv.append(summary.getClassesAbsentCount()).append(",");
-                csv.append(String.format("%.1f", summary.getAttendancePercentage())).append("\n");
-            }
-        }
-        
-        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    /**
+     * CSV download streamed from the database with the currently applied date range.
+     */
+    private StreamResource csvResource(String fileName, Long courseId, Long studentId) {
+        LocalDate from = appliedStartDate;
+        LocalDate to = appliedEndDate;
+        StreamResource resource = new StreamResource(fileName, (out, session) ->
+            exportService.exportCsv(out, courseId, studentId, from, to));
+        resource.setContentType("text/csv");
+        return resource;
     }
     
     private void initializeSampleData() {
-        // Get real attendance data for courses using enrolled students
-        for (Course course : allCourses) {
-            List<StudentAttendanceSummary> studentSummaries = new ArrayList<>();
-            
-            // Get all enrollments for this course
-            List<Enrollment> enrollments = courseService.getEnrollmentsForCourse(course);
+        // Real attendance totals for every enrolled student in every course, from one grouped query
+        Map<Long, Course> coursesById = allCourses.stream()
+            .collect(Collectors.toMap(Course::getId, course -> course));
+        
+        List<AttendanceSummary> summaries = appliedStartDate != null && appliedEndDate != null
+            ? attendanceService.getAttendanceSummaries(appliedStartDate, appliedEndDate)
+            : attendanceService.getAttendanceSummaries();
+        
+        for (AttendanceSummary attendance : summaries) {
+            Course course = coursesById.get(attendance.getCourseId());
+            if (course == null) {
+                continue;
+            }
             
-            // For each enrolled student, get their attendance data
-            for (Enrollment enrollment : enrollments) {
-                User student = enrollment.getStudent();
-                
-                // Get their attendance percentage
-                BigDecimal percentage = attendanceService.calculateAttendancePercentage(student, course);
-                
-                // Since we can't directly get the attendance records without the proper model,
-                // we'll derive some reasonable values for display purposes
-                int totalClasses = 100; // Assuming ~100 classes per course
-                int presentClasses = (int) Math.round(percentage.doubleValue() * totalClasses / 100.0);
-                int absentClasses = totalClasses - presentClasses;
-                
-                studentSummaries.add(new StudentAttendanceSummary(
-                    student.getUserId().toString(),
-                    student.getFirstName() + " " + student.getLastName(),
+            // Only courses with enrolled students end up in the map
+            courseAttendanceMap.computeIfAbsent(course.getCourseCode(), code -> new ArrayList<>())
+                .add(new StudentAttendanceSummary(
+                    attendance.getStudentId().toString(),
+                    attendance.getStudentName(),
                     course,
-                    presentClasses,
-                    absentClasses,
-                    percentage.doubleValue()
+                    attendance.getPresentCount().intValue(),
+                    attendance.getAbsentCount().intValue(),
+                    attendance.getAttendancePercentage().doubleValue()
                 ));
-            }
-            
-            // Only add courses with enrolled students
-            if (!studentSummaries.isEmpty()) {
-                courseAttendanceMap.put(course.getCourseCode(), studentSummaries);
-            }
         }
     }
     
@@ -23,6 +23,8 @@ import com.vaadin.flow.theme.lumo.LumoUtility.Padding;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Route(value = "attendance-corrections", layout = MainLayout.class)
 @PageTitle("Attendance Correction Requests | Smart Campus")
@@ -32,6 +34,8 @@ public class AttendanceCorrectionsView extends VerticalLayout implements BeforeE
     private final SessionService sessionService;
     private final User currentUser;
     
+    private final PendingCorrectionRequestsLoader requestsLoader;
+    
     private Grid<AttendanceCorrectionRequest> requestsGrid = new Grid<>(AttendanceCorrectionRequest.class);
 
     public AttendanceCorrectionsView(
@@ -40,6 +44,7 @@ public class AttendanceCorrectionsView extends VerticalLayout implements BeforeE
         this.attendanceService = attendanceService;
         this.sessionService = sessionService;
         this.currentUser = sessionService.getCurrentUser();
+        this.requestsLoader = new PendingCorrectionRequestsLoader(attendanceService, currentUser);
 
         setPadding(true);
         setSpacing(true);
@@ -71,26 +76,22 @@ public class AttendanceCorrectionsView extends VerticalLayout implements BeforeE
         // Add columns
         requestsGrid.addColumn(request -> 
                 request.getAttendance().getAttendanceDate().format(DateTimeFormatter.ofPattern("dd MMM yyyy")))
-                .setHeader("Date")
-                .setSortable(true);
+                .setHeader("Date");
         
         requestsGrid.addColumn(request -> 
                 request.getAttendance().getCourse().getCourseName())
-                .setHeader("Course")
-                .setSortable(true);
+                .setHeader("Course");
         
         requestsGrid.addColumn(request -> 
                 request.getRequestedBy().getFirstName() + " " + request.getRequestedBy().getLastName())
-                .setHeader("Student")
-                .setSortable(true);
+                .setHeader("Student");
         
         requestsGrid.addColumn(AttendanceCorrectionRequest::getReason)
                 .setHeader("Reason");
                 
         requestsGrid.addColumn(request -> 
                 request.getRequestedAt().format(DateTimeFormatter.ofPattern("dd MMM yyyy")))
-                .setHeader("Requested Date")
-                .setSortable(true);
+                .setHeader("Requested Date");
         
         // Add action buttons
         requestsGrid.addComponentColumn(request -> {
@@ -110,23 +111,47 @@ public class AttendanceCorrectionsView extends VerticalLayout implements BeforeE
             return actionsLayout;
         }).setHeader("Actions").setWidth("200px").setFlexGrow(0);
         
+        // Multi-select for reviewing many requests at once
+        requestsGrid.setSelectionMode(Grid.SelectionMode.MULTI);
+        
+        Button approveSelectedButton = new Button("Approve Selected", e -> 
+            showBulkReviewDialog(AttendanceCorrectionRequest.RequestStatus.APPROVED));
+        approveSelectedButton.getStyle().set("color", "white").set("background-color", "green");
+        
+        Button rejectSelectedButton = new Button("Reject Selected", e -> 
+            showBulkReviewDialog(AttendanceCorrectionRequest.RequestStatus.REJECTED));
+        rejectSelectedButton.getStyle().set("color", "white").set("background-color", "red");
+        
+        approveSelectedButton.setEnabled(false);
+        rejectSelectedButton.setEnabled(false);
+        requestsGrid.addSelectionListener(e -> {
+            boolean hasSelection = !e.getAllSelectedItems().isEmpty();
+            approveSelectedButton.setEnabled(hasSelection);
+            rejectSelectedButton.setEnabled(hasSelection);
+        });
+        
         // Add refresh button
         Button refreshButton = new Button("Refresh", e -> loadRequests());
         
-        gridLayout.add(requestsGrid, refreshButton);
+        HorizontalLayout buttonsLayout = new HorizontalLayout(approveSelectedButton, rejectSelectedButton, refreshButton);
+        
+        gridLayout.add(requestsGrid, buttonsLayout);
         add(gridLayout);
         
-        // Load data
-        loadRequests();
+        // Rows are loaded page by page as the grid scrolls
+        requestsLoader.bind(requestsGrid);
+        notifyIfEmpty();
     }
 
     private void loadRequests() {
-        List<AttendanceCorrectionRequest> pendingRequests = 
-            attendanceService.getPendingRequestsForFaculty(currentUser);
-        
-        requestsGrid.setItems(pendingRequests);
-        
-        if (pendingRequests.isEmpty()) {
+        requestsGrid.deselectAll();
+        requestsLoader.reset();
+        requestsGrid.getDataProvider().refreshAll();
+        notifyIfEmpty();
+    }
+    
+    private void notifyIfEmpty() {
+        if (attendanceService.countPendingRequestsForFaculty(currentUser) == 0) {
             Notification.show("No pending correction requests");
         }
     }
@@ -211,6 +236,71 @@ public class AttendanceCorrectionsView extends VerticalLayout implements BeforeE
         dialog.open();
     }
 
+    private void showBulkReviewDialog(AttendanceCorrectionRequest.RequestStatus status) {
+        Set<AttendanceCorrectionRequest> selected = requestsGrid.getSelectedItems();
+        if (selected.isEmpty()) {
+            return;
+        }
+        
+        Dialog dialog = new Dialog();
+        dialog.setWidth("500px");
+        
+        VerticalLayout dialogLayout = new VerticalLayout();
+        dialogLayout.setPadding(true);
+        dialogLayout.setSpacing(true);
+        
+        String actionText = (status == AttendanceCorrectionRequest.RequestStatus.APPROVED) 
+            ? "Approve" : "Reject";
+        
+        H3 dialogTitle = new H3(actionText + " " + selected.size() + " Correction Requests");
+        
+        TextArea commentsField = new TextArea("Review Comments");
+        commentsField.setWidthFull();
+        commentsField.setMinHeight("100px");
+        
+        Button confirmButton = new Button(actionText, e -> {
+            try {
+                List<Long> requestIds = selected.stream()
+                    .map(AttendanceCorrectionRequest::getRequestId)
+                    .collect(Collectors.toList());
+                int reviewed = attendanceService.reviewCorrectionRequests(
+                    requestIds, 
+                    status, 
+                    currentUser, 
+                    commentsField.getValue()
+                );
+                
+                Notification.show(reviewed + " requests " + actionText.toLowerCase() + "d successfully")
+                    .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+                
+                loadRequests();
+                dialog.close();
+            } catch (Exception ex) {
+                Notification.show("Failed to process requests: " + ex.getMessage())
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+            }
+        });
+        
+        confirmButton.getStyle().set("margin-top", "20px");
+        
+        if (status == AttendanceCorrectionRequest.RequestStatus.APPROVED) {
+            confirmButton.getStyle().set("background-color", "green").set("color", "white");
+        } else {
+            confirmButton.getStyle().set("background-color", "red").set("color", "white");
+        }
+        
+        Button cancelButton = new Button("Cancel", e -> dialog.close());
+        
+        HorizontalLayout buttonLayout = new HorizontalLayout(cancelButton, confirmButton);
+        buttonLayout.setWidthFull();
+        buttonLayout.setJustifyContentMode(JustifyContentMode.END);
+        
+        dialogLayout.add(dialogTitle, commentsField, buttonLayout);
+        
+        dialog.add(dialogLayout);
+        dialog.open();
+    }
+
     @Override
     public void beforeEnter(BeforeEnterEvent event) {
         if (!sessionService.isLoggedIn() || !sessionService.isFaculty()) {
@@ -5,10 +5,11 @@ import com.smartcampus.examgrading.model.Enrollment;
 import com.smartcampus.examgrading.model.User;
 import com.smartcampus.examgrading.model.Attendance;
 import com.smartcampus.examgrading.model.AttendanceCorrectionRequest;
-import com.smartcampus.examgrading.repository.UserRepository;
 import com.smartcampus.examgrading.security.SecurityService;
 import com.smartcampus.examgrading.service.CourseService;
+import com.smartcampus.examgrading.service.AttendanceFeedBroadcaster;
 import com.smartcampus.examgrading.service.AttendanceService;
+import com.smartcampus.examgrading.view.AttendanceFeedPanel;
 import com.smartcampus.examgrading.view.MainLayout;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -36,6 +37,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -47,7 +49,7 @@ public class FacultyAttendanceView extends VerticalLayout {
     private final SecurityService securityService;
     private final CourseService courseService;
     private final AttendanceService attendanceService;
-    private final UserRepository userRepository;
+    private final AttendanceFeedBroadcaster feedBroadcaster;
     private ComboBox<Course> courseSelector;
     private DatePicker datePicker;
     private Grid<StudentAttendanceEntry> studentGrid;
@@ -60,11 +62,11 @@ public class FacultyAttendanceView extends VerticalLayout {
     private List<CorrectionRequest> correctionRequests = new ArrayList<>();
 
     public FacultyAttendanceView(SecurityService securityService, CourseService courseService,
-                                AttendanceService attendanceService, UserRepository userRepository) {
+                                AttendanceService attendanceService, AttendanceFeedBroadcaster feedBroadcaster) {
         this.securityService = securityService;
         this.courseService = courseService;
         this.attendanceService = attendanceService;
-        this.userRepository = userRepository;
+        this.feedBroadcaster = feedBroadcaster;
         
         setSizeFull();
         setPadding(true);
@@ -167,7 +169,7 @@ public class FacultyAttendanceView extends VerticalLayout {
         mainContent.setPadding(false);
         mainContent.setSpacing(true);
         
-        add(tabs, mainContent);
+        add(new AttendanceFeedPanel(feedBroadcaster, securityService.getCurrentUser()), tabs, mainContent);
         
         // Default to the first tab
         showMarkAttendanceContent();
@@ -227,16 +229,14 @@ public class FacultyAttendanceView extends VerticalLayout {
         User faculty = securityService.getCurrentUser();
         
         try {
-            // Get all pending correction requests for this faculty
-            List<AttendanceCorrectionRequest> pendingRequests = 
-                attendanceService.getPendingRequestsForFaculty(faculty);
+            long pendingCount = attendanceService.countPendingRequestsForFaculty(faculty);
 
             // Add a refresh button
             Button refreshButton = new Button("Refresh", e -> showCorrectionRequestsContent());
             refreshButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
             mainContent.add(refreshButton);
             
-            if (pendingRequests.isEmpty()) {
+            if (pendingCount == 0) {
                 mainContent.add(new H3("No correction requests pending"));
                 return;
             }
@@ -288,9 +288,10 @@ public class FacultyAttendanceView extends VerticalLayout {
                 return actions;
             }).setHeader("Actions").setAutoWidth(true);
             
-            requestsGrid.setItems(pendingRequests);
+            // Rows are loaded page by page as the grid scrolls
+            new PendingCorrectionRequestsLoader(attendanceService, faculty).bind(requestsGrid);
             
-            mainContent.add(new H3("Pending Correction Requests (" + pendingRequests.size() + ")"), requestsGrid);
+            mainContent.add(new H3("Pending Correction Requests (" + pendingCount + ")"), requestsGrid);
         } catch (Exception e) {
             Notification notification = Notification.show(
                 "Error loading correction requests: " + e.getMessage(),
@@ -339,36 +340,29 @@ public class FacultyAttendanceView extends VerticalLayout {
         LocalDate selectedDate = datePicker.getValue();
         User faculty = securityService.getCurrentUser();
         
-        List<User> students = new ArrayList<>();
-        List<Attendance.AttendanceStatus> statuses = new ArrayList<>();
+        Map<Long, Attendance.AttendanceStatus> statusByStudentId = new LinkedHashMap<>();
         
         // Collect all students and their attendance statuses
         for (StudentAttendanceEntry entry : studentGrid.getDataProvider().fetch(new Query<>()).collect(Collectors.toList())) {
-            // Find actual student in the system by ID
             try {
                 Long studentId = Long.parseLong(entry.getStudentId());
-                User student = userRepository.findById(studentId).orElse(null);
                 
-                if (student != null) {
-                    students.add(student);
+                // Convert status string to enum
+                Attendance.AttendanceStatus status = "Present".equals(entry.getStatus()) 
+                    ? Attendance.AttendanceStatus.PRESENT 
+                    : Attendance.AttendanceStatus.ABSENT;
                     
-                    // Convert status string to enum
-                    Attendance.AttendanceStatus status = "Present".equals(entry.getStatus()) 
-                        ? Attendance.AttendanceStatus.PRESENT 
-                        : Attendance.AttendanceStatus.ABSENT;
-                        
-                    statuses.add(status);
-                }
+                statusByStudentId.put(studentId, status);
             } catch (NumberFormatException e) {
                 // Skip invalid student IDs
                 continue;
             }
         }
         
-        if (!students.isEmpty()) {
+        if (!statusByStudentId.isEmpty()) {
             try {
                 // Save to database through service
-                attendanceService.markBulkAttendance(selectedCourse, students, selectedDate, statuses, faculty);
+                attendanceService.markBulkAttendance(selectedCourse, statusByStudentId, selectedDate, faculty);
         Notification.show("Attendance saved successfully");
             } catch (Exception e) {
                 Notification.show("Error saving attendance: " + e.getMessage());
@@ -2,11 +2,15 @@ package com.smartcampus.examgrading.view.faculty;
 
 import com.smartcampus.examgrading.model.Course;
 import com.smartcampus.examgrading.model.Exam;
+import com.smartcampus.examgrading.model.ExamStatistics;
 import com.smartcampus.examgrading.model.Grade;
 import com.smartcampus.examgrading.model.User;
 import com.smartcampus.examgrading.model.Enrollment;
+import com.smartcampus.examgrading.model.GradeImportResult;
 import com.smartcampus.examgrading.model.RevaluationRequest;
 import com.smartcampus.examgrading.service.ExamService;
+import com.smartcampus.examgrading.service.ExamStatisticsService;
+import com.smartcampus.examgrading.service.GradeImportService;
 import com.smartcampus.examgrading.service.GradeService;
 import com.smartcampus.examgrading.service.SessionService;
 import com.smartcampus.examgrading.service.CourseService;
@@ -19,6 +23,7 @@ import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.formlayout.FormLayout;
+import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.H3;
@@ -31,13 +36,18 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.NumberField;
 import com.vaadin.flow.component.textfield.TextArea;
+import com.vaadin.flow.component.upload.Upload;
+import com.vaadin.flow.component.upload.receivers.FileBuffer;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.*;
 
+import java.io.File;
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -50,26 +60,41 @@ public class FacultyGradeView extends VerticalLayout implements BeforeEnterObser
     private final SessionService sessionService;
     private final CourseService courseService;
     private final RevaluationService revaluationService;
+    private final GradeImportService gradeImportService;
+    private final ExamStatisticsService statisticsService;
 
     // Add course selector
     private ComboBox<Course> courseComboBox = new ComboBox<>("Select Course");
     private ComboBox<Exam> examComboBox = new ComboBox<>("Select Exam");
     private Grid<User> studentGrid = new Grid<>(User.class, false);
     private Grid<Grade> gradeGrid = new Grid<>(Grade.class, false);
+    private final Paragraph examStats = new Paragraph();
     private Grid<RevaluationRequest> revaluationGrid = new Grid<>(RevaluationRequest.class, false);
 
     private Course selectedCourse;
     private Exam selectedExam;
     private User currentUser;
+    // Grades of the selected exam by student id, filled with the grade grid
+    private final Map<Long, Grade> gradesByStudentId = new HashMap<>();
+
+    // "Enter all marks" mode: marks typed into the student grid, saved together
+    private final Map<Long, Double> pendingMarks = new HashMap<>();
+    private Grid.Column<User> marksColumn;
+    private final Button enterAllMarksButton = new Button("Enter All Marks", new Icon(VaadinIcon.TABLE));
+    private final Button saveAllMarksButton = new Button("Save All Marks", new Icon(VaadinIcon.CHECK));
+    private final Button cancelAllMarksButton = new Button("Cancel");
 
     public FacultyGradeView(GradeService gradeService, ExamService examService,
             SessionService sessionService, CourseService courseService,
-            RevaluationService revaluationService) {
+            RevaluationService revaluationService, GradeImportService gradeImportService,
+            ExamStatisticsService statisticsService) {
         this.gradeService = gradeService;
         this.examService = examService;
         this.sessionService = sessionService;
         this.courseService = courseService;
         this.revaluationService = revaluationService;
+        this.gradeImportService = gradeImportService;
+        this.statisticsService = statisticsService;
 
         // Set layout properties
         setSizeFull();
@@ -111,6 +136,7 @@ public class FacultyGradeView extends VerticalLayout implements BeforeEnterObser
                 updateExamComboBox(selectedCourse);
                 // Clear exam selection when course changes
                 examComboBox.clear();
+                setBulkEntryMode(false);
                 studentGrid.setItems(new ArrayList<>());
                 gradeGrid.setItems(new ArrayList<>());
                 updateRevaluationGrid();
@@ -122,6 +148,7 @@ public class FacultyGradeView extends VerticalLayout implements BeforeEnterObser
         examComboBox.setItemLabelGenerator(exam -> exam.getExamName() + " (" + exam.getExamType() + ")");
         examComboBox.addValueChangeListener(event -> {
             selectedExam = event.getValue();
+            setBulkEntryMode(false);
             if (selectedExam != null) {
                 updateStudentGrid();
             }
@@ -134,11 +161,23 @@ public class FacultyGradeView extends VerticalLayout implements BeforeEnterObser
 
         // Student grid for displaying students enrolled in the course
         configureStudentGrid();
-        add(new H3("Students"), studentGrid);
+        enterAllMarksButton.addClickListener(e -> setBulkEntryMode(true));
+        saveAllMarksButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+        saveAllMarksButton.addClickListener(e -> saveAllMarks());
+        cancelAllMarksButton.addClickListener(e -> setBulkEntryMode(false));
+        HorizontalLayout studentHeader = new HorizontalLayout(new H3("Students"), enterAllMarksButton,
+                saveAllMarksButton, cancelAllMarksButton);
+        studentHeader.setAlignItems(Alignment.BASELINE);
+        if (sessionService.isFaculty()) {
+            studentHeader.add(createImportUpload());
+        }
+        setBulkEntryMode(false);
+        add(studentHeader, studentGrid);
 
         // Grades grid for displaying all grades for the selected exam
         configureGradeGrid();
-        add(new H3("All Grades"), gradeGrid);
+        examStats.getStyle().set("white-space", "pre-line");
+        add(new H3("All Grades"), examStats, gradeGrid);
 
         // Revaluation requests grid
         configureRevaluationGrid();
@@ -193,10 +232,26 @@ public class FacultyGradeView extends VerticalLayout implements BeforeEnterObser
             if (selectedExam == null)
                 return "No exam selected";
 
-            Optional<Grade> grade = gradeService.getGradeByStudentAndExam(student.getUserId(), selectedExam.getId());
-            return grade.isPresent() ? "Graded" : "Not Graded";
+            return gradesByStudentId.containsKey(student.getUserId()) ? "Graded" : "Not Graded";
         }).setHeader("Grade Status").setAutoWidth(true);
 
+        // Editable marks, shown only while entering all marks
+        marksColumn = studentGrid.addColumn(new ComponentRenderer<>(student -> {
+            NumberField marksField = new NumberField();
+            marksField.setMin(0);
+            marksField.setMax(selectedExam != null ? selectedExam.getTotalMarks().doubleValue() : 0);
+            marksField.setStep(0.5);
+            marksField.setValue(pendingMarks.get(student.getUserId()));
+            marksField.addValueChangeListener(e -> {
+                if (e.getValue() == null) {
+                    pendingMarks.remove(student.getUserId());
+                } else {
+                    pendingMarks.put(student.getUserId(), e.getValue());
+                }
+            });
+            return marksField;
+        })).setHeader("Marks").setAutoWidth(true);
+
         // Add column for actions
         studentGrid.addColumn(new ComponentRenderer<>(student -> {
             Button gradeBtn = new Button("Enter Grade", new Icon(VaadinIcon.PENCIL));
@@ -308,9 +363,148 @@ public class FacultyGradeView extends VerticalLayout implements BeforeEnterObser
     private void updateGradeGrid() {
         if (selectedExam != null) {
             List<Grade> grades = gradeService.getGradesByExamId(selectedExam.getId());
+            gradesByStudentId.clear();
+            for (Grade grade : grades) {
+                gradesByStudentId.put(grade.getStudentId(), grade);
+            }
             gradeGrid.setItems(grades);
+            updateExamStatistics();
         } else {
+            gradesByStudentId.clear();
             gradeGrid.setItems();
+            examStats.setText("");
+        }
+    }
+
+    private void updateExamStatistics() {
+        Optional<ExamStatistics> statisticsOpt = statisticsService.getExamStatistics(selectedExam.getId());
+        if (statisticsOpt.isEmpty()) {
+            examStats.setText("No grades entered for this exam yet.");
+            return;
+        }
+
+        ExamStatistics statistics = statisticsOpt.get();
+        StringBuilder statsText = new StringBuilder();
+        statsText.append("Graded: ").append(statistics.getGradeCount())
+                .append("   Mean: ").append(statistics.getMeanMarks())
+                .append("   Median: ").append(statistics.getMedianMarks())
+                .append("   Std. deviation: ").append(statistics.getStandardDeviation())
+                .append("   Min / Max: ").append(statistics.getMinMarks()).append(" / ").append(statistics.getMaxMarks())
+                .append("   Pass rate: ").append(statistics.getPassRate()).append("%\n");
+        statsText.append("Grade distribution: ").append(statistics.getLetterDistribution().entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + entry.getValue())
+                .collect(Collectors.joining(", ")));
+        examStats.setText(statsText.toString());
+    }
+
+    private void setBulkEntryMode(boolean enabled) {
+        if (enabled && selectedExam == null) {
+            Notification.show("Please select an exam first", 3000, Notification.Position.MIDDLE)
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
+            return;
+        }
+
+        // Start from the marks already recorded
+        pendingMarks.clear();
+        if (enabled) {
+            gradesByStudentId.forEach((studentId, grade) ->
+                    pendingMarks.put(studentId, grade.getMarksObtained().doubleValue()));
+        }
+
+        marksColumn.setVisible(enabled);
+        enterAllMarksButton.setVisible(!enabled);
+        saveAllMarksButton.setVisible(enabled);
+        cancelAllMarksButton.setVisible(enabled);
+        studentGrid.getDataProvider().refreshAll();
+    }
+
+    // Gradebook import: the upload is buffered to a temporary file and streamed from there
+    private Upload createImportUpload() {
+        FileBuffer buffer = new FileBuffer();
+        Upload upload = new Upload(buffer);
+        upload.setAcceptedFileTypes(".csv", ".xlsx");
+        upload.setDropAllowed(false);
+        upload.setUploadButton(new Button("Import Marks", new Icon(VaadinIcon.UPLOAD)));
+        upload.addSucceededListener(event -> {
+            File file = buffer.getFileData().getFile();
+            try {
+                if (selectedExam == null) {
+                    Notification.show("Please select an exam first", 3000, Notification.Position.MIDDLE)
+                            .addThemeVariants(NotificationVariant.LUMO_ERROR);
+                    return;
+                }
+
+                GradeImportResult result = gradeImportService.importFile(
+                        file, event.getFileName(), selectedExam.getId(), currentUser);
+
+                Notification.show("Imported " + result.getRowsImported() + " of " + result.getRowsRead()
+                        + " rows (" + result.getRowsRejected() + " rejected)", 5000,
+                        Notification.Position.BOTTOM_CENTER)
+                        .addThemeVariants(result.getRowsRejected() == 0
+                                ? NotificationVariant.LUMO_SUCCESS
+                                : NotificationVariant.LUMO_CONTRAST);
+                if (result.getRowsRejected() > 0) {
+                    openImportReportDialog(result);
+                }
+
+                setBulkEntryMode(false);
+                updateGradeGrid();
+            } catch (Exception ex) {
+                Notification.show("Error importing grades: " + ex.getMessage(),
+                        5000, Notification.Position.MIDDLE)
+                        .addThemeVariants(NotificationVariant.LUMO_ERROR);
+            } finally {
+                file.delete();
+                upload.clearFileList();
+            }
+        });
+        return upload;
+    }
+
+    private void openImportReportDialog(GradeImportResult result) {
+        Dialog dialog = new Dialog();
+        dialog.setHeaderTitle("Rejected Rows in " + result.getFileName());
+        dialog.setWidth("800px");
+
+        Grid<GradeImportResult.RejectedRow> rejectedGrid = new Grid<>(GradeImportResult.RejectedRow.class, false);
+        rejectedGrid.addColumn(GradeImportResult.RejectedRow::getLineNumber).setHeader("Row").setAutoWidth(true);
+        rejectedGrid.addColumn(GradeImportResult.RejectedRow::getReason).setHeader("Reason").setAutoWidth(true);
+        rejectedGrid.addColumn(GradeImportResult.RejectedRow::getLine).setHeader("Content").setFlexGrow(1);
+        rejectedGrid.setItems(result.getRejectedRows());
+        rejectedGrid.setHeight("400px");
+
+        if (result.isRejectedRowsTruncated()) {
+            dialog.add(new Paragraph("Showing the first " + result.getRejectedRows().size() + " of "
+                    + result.getRowsRejected() + " rejected rows."));
+        }
+        dialog.add(rejectedGrid);
+        dialog.getFooter().add(new Button("Close", e -> dialog.close()));
+        dialog.open();
+    }
+
+    private void saveAllMarks() {
+        // Only send marks that are new or differ from the recorded grade
+        Map<Long, BigDecimal> changedMarks = new HashMap<>();
+        pendingMarks.forEach((studentId, marks) -> {
+            Grade existing = gradesByStudentId.get(studentId);
+            BigDecimal value = BigDecimal.valueOf(marks);
+            if (existing == null || existing.getMarksObtained().compareTo(value) != 0) {
+                changedMarks.put(studentId, value);
+            }
+        });
+
+        try {
+            int saved = gradeService.saveGrades(selectedExam.getId(), changedMarks);
+
+            Notification.show(saved + " grade(s) saved successfully", 3000, Notification.Position.BOTTOM_CENTER)
+                    .addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+
+            updateGradeGrid();
+            setBulkEntryMode(false);
+        } catch (Exception ex) {
+            Notification.show("Error saving grades: " + ex.getMessage(),
+                    5000, Notification.Position.MIDDLE)
+                    .addThemeVariants(NotificationVariant.LUMO_ERROR);
         }
     }
 
@@ -327,18 +521,10 @@ public class FacultyGradeView extends VerticalLayout implements BeforeEnterObser
         // Form layout
         FormLayout formLayout = new FormLayout();
 
-        // Get existing grade, if any
-        Optional<Grade> existingGradeOpt = gradeService.getGradeByStudentAndExam(
-                student.getUserId(), selectedExam.getId());
-
-        Grade grade = existingGradeOpt.orElseGet(() -> {
-            Grade newGrade = new Grade();
-            newGrade.setStudentId(student.getUserId());
-            newGrade.setExamId(selectedExam.getId());
-            newGrade.setMarksObtained(BigDecimal.ZERO);
-            newGrade.setGradedBy(currentUser.getUserId()); // Set current faculty as grader
-            return newGrade;
-        });
+        // Get existing grade, if any, from the grades already loaded for the exam
+        Grade existingGrade = gradesByStudentId.get(student.getUserId());
+
+        Grade grade = existingGrade != null ? existingGrade : newGrade(student);
 
         // Form fields
         NumberField marksField = new NumberField("Marks Obtained");
@@ -380,6 +566,8 @@ public class FacultyGradeView extends VerticalLayout implements BeforeEnterObser
                 Notification.show("Error saving grade: " + ex.getMessage(),
                         3000, Notification.Position.MIDDLE)
                         .addThemeVariants(NotificationVariant.LUMO_ERROR);
+                // The loaded grade may hold the unsaved marks; reload it
+                updateGradeGrid();
             }
         });
 
@@ -389,6 +577,15 @@ public class FacultyGradeView extends VerticalLayout implements BeforeEnterObser
         dialog.open();
     }
 
+    private Grade newGrade(User student) {
+        Grade grade = new Grade();
+        grade.setStudentId(student.getUserId());
+        grade.setExamId(selectedExam.getId());
+        grade.setMarksObtained(BigDecimal.ZERO);
+        grade.setGradedBy(currentUser.getUserId()); // Set current faculty as grader
+        return grade;
+    }
+
     private void openProcessRevaluationDialog(RevaluationRequest request) {
         Dialog dialog = new Dialog();
         dialog.setHeaderTitle("Process Revaluation Request");
@@ -0,0 +1,58 @@
+package com.smartcampus.examgrading.view.faculty;
+
+import com.smartcampus.examgrading.model.AttendanceCorrectionRequest;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.service.AttendanceService;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.data.provider.Query;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Lazy Grid loading for a faculty's pending correction queue. The grid asks for rows by
+ * offset, so the keyset position after each fetched page is remembered against the offset
+ * it ends at and the next page continues from there instead of skipping rows in SQL.
+ */
+class PendingCorrectionRequestsLoader {
+
+    private final AttendanceService attendanceService;
+    private final User faculty;
+    private final TreeMap<Integer, ScrollPosition> positions = new TreeMap<>();
+
+    PendingCorrectionRequestsLoader(AttendanceService attendanceService, User faculty) {
+        this.attendanceService = attendanceService;
+        this.faculty = faculty;
+        positions.put(0, ScrollPosition.keyset());
+    }
+
+    void bind(Grid<AttendanceCorrectionRequest> grid) {
+        grid.setItems(this::fetch, query -> (int) attendanceService.countPendingRequestsForFaculty(faculty));
+    }
+
+    /**
+     * Forget the remembered positions, e.g. after requests were reviewed.
+     */
+    void reset() {
+        positions.clear();
+        positions.put(0, ScrollPosition.keyset());
+    }
+
+    private Stream<AttendanceCorrectionRequest> fetch(Query<AttendanceCorrectionRequest, Void> query) {
+        int offset = query.getOffset();
+        int limit = query.getLimit();
+
+        // Continue from the nearest page boundary at or before the offset
+        Map.Entry<Integer, ScrollPosition> start = positions.floorEntry(offset);
+        int skip = offset - start.getKey();
+        Window<AttendanceCorrectionRequest> window =
+            attendanceService.getPendingRequestsForFaculty(faculty, start.getValue(), skip + limit);
+        if (!window.isEmpty()) {
+            positions.put(start.getKey() + window.size(), window.positionAt(window.size() - 1));
+        }
+        return window.getContent().stream().skip(skip);
+    }
+}
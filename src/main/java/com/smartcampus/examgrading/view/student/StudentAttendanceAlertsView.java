@@ -4,6 +4,7 @@ import com.smartcampus.examgrading.model.Attendance;
 import com.smartcampus.examgrading.model.Course;
 import com.smartcampus.examgrading.model.User;
 import com.smartcampus.examgrading.security.SecurityService;
+import com.smartcampus.examgrading.service.AttendanceAlertService;
 import com.smartcampus.examgrading.service.AttendanceService;
 import com.smartcampus.examgrading.service.CourseService;
 import com.smartcampus.examgrading.view.MainLayout;
@@ -19,10 +20,11 @@ import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Route(value = "attendance/alerts", layout = MainLayout.class)
 @PageTitle("Attendance Alerts | Smart Campus")
@@ -31,14 +33,17 @@ public class StudentAttendanceAlertsView extends VerticalLayout {
     private final SecurityService securityService;
     private final CourseService courseService;
     private final AttendanceService attendanceService;
+    private final AttendanceAlertService attendanceAlertService;
     
     private final List<AttendanceAlert> attendanceAlerts = new ArrayList<>();
 
     public StudentAttendanceAlertsView(SecurityService securityService, CourseService courseService, 
-                                       AttendanceService attendanceService) {
+                                       AttendanceService attendanceService,
+                                       AttendanceAlertService attendanceAlertService) {
         this.securityService = securityService;
         this.courseService = courseService;
         this.attendanceService = attendanceService;
+        this.attendanceAlertService = attendanceAlertService;
         
         setSizeFull();
         setPadding(true);
@@ -66,8 +71,8 @@ public class StudentAttendanceAlertsView extends VerticalLayout {
         alertsContainer.setPadding(false);
         alertsContainer.setSpacing(true);
         
-        // Generate alerts from real attendance data
-        generateAttendanceAlerts(currentUser, enrolledCourses);
+        // Alerts recorded by the low-attendance scanner
+        loadAttendanceAlerts(currentUser, enrolledCourses);
         
         if (attendanceAlerts.isEmpty()) {
             add(new H4("No attendance issues detected"));
@@ -128,42 +133,42 @@ public class StudentAttendanceAlertsView extends VerticalLayout {
         alertsGrid.setItems(attendanceAlerts);
         
         // Add help text
-        Span helpText = new Span("You will receive alerts when your attendance falls below the minimum requirement of 70%");
+        Span helpText = new Span("You will receive alerts when your attendance falls below the minimum requirement of " 
+            + attendanceAlertService.getThreshold().stripTrailingZeros().toPlainString() + "%");
         helpText.getStyle().set("color", "var(--lumo-secondary-text-color)");
         helpText.getStyle().set("font-style", "italic");
         
         add(helpText, alertsGrid);
     }
     
-    private void generateAttendanceAlerts(User student, List<Course> courses) {
-        for (Course course : courses) {
-            // Get real attendance percentage from service
-            BigDecimal attendancePercentage = attendanceService.calculateAttendancePercentage(student, course);
-            double percentage = attendancePercentage.doubleValue();
+    private void loadAttendanceAlerts(User student, List<Course> courses) {
+        Map<Long, Course> coursesById = courses.stream()
+            .collect(Collectors.toMap(Course::getId, course -> course));
+        
+        for (com.smartcampus.examgrading.model.AttendanceAlert alert : 
+                attendanceAlertService.getOpenAlertsForStudent(student)) {
+            Course course = coursesById.get(alert.getCourseId());
+            if (course == null) {
+                continue;
+            }
+            double percentage = alert.getAttendancePercentage().doubleValue();
+            String severity = percentage < 60 ? "Critical" : "Warning";
             
-            // Only add alerts for courses with attendance below 70%
-            if (percentage < 70) {
-                String severity = percentage < 60 ? "Critical" : "Warning";
-                
-                String message;
-                if (percentage < 60) {
-                    message = "Your attendance is critically low. You may be barred from exams.";
-                } else {
-                    message = "Your attendance is below the required 70% minimum.";
-                }
-                
-                // Format today's date as YYYY-MM-DD for consistency
-                // In a production app, this would be the date of the most recent attendance record
-                String formattedDate = LocalDate.now().format(java.time.format.DateTimeFormatter.ISO_LOCAL_DATE);
-                
-                attendanceAlerts.add(new AttendanceAlert(
-                    course,
-                    message,
-                    severity,
-                    percentage,
-                    formattedDate
-                ));
+            String message;
+            if (percentage < 60) {
+                message = "Your attendance is critically low. You may be barred from exams.";
+            } else {
+                message = "Your attendance is below the required " 
+                    + alert.getThreshold().stripTrailingZeros().toPlainString() + "% minimum.";
             }
+            
+            attendanceAlerts.add(new AttendanceAlert(
+                course,
+                message,
+                severity,
+                percentage,
+                alert.getUpdatedAt().toLocalDate().format(DateTimeFormatter.ISO_LOCAL_DATE)
+            ));
         }
     }
     
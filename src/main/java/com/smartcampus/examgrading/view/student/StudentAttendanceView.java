@@ -1,11 +1,11 @@
 package com.smartcampus.examgrading.view.student;
 
 import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.StudentCourseAttendance;
 import com.smartcampus.examgrading.model.User;
-import com.smartcampus.examgrading.model.Course;
 import com.smartcampus.examgrading.security.SecurityService;
-import com.smartcampus.examgrading.service.CourseService;
 import com.smartcampus.examgrading.service.AttendanceService;
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.dialog.Dialog;
@@ -21,14 +21,13 @@ import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.notification.NotificationVariant;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.smartcampus.examgrading.view.MainLayout;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Route(value = "attendance/view", layout = MainLayout.class)
@@ -36,13 +35,10 @@ import java.util.stream.Collectors;
 public class StudentAttendanceView extends VerticalLayout {
 
     private final SecurityService securityService;
-    private final CourseService courseService;
     private final AttendanceService attendanceService;
     
-    public StudentAttendanceView(SecurityService securityService, CourseService courseService, 
-                                 AttendanceService attendanceService) {
+    public StudentAttendanceView(SecurityService securityService, AttendanceService attendanceService) {
         this.securityService = securityService;
-        this.courseService = courseService;
         this.attendanceService = attendanceService;
 
         setSizeFull();
@@ -54,42 +50,48 @@ public class StudentAttendanceView extends VerticalLayout {
 
         User currentUser = securityService.getCurrentUser();
         if (currentUser != null) {
-            List<Course> enrolledCourses = courseService.getEnrolledCourses(currentUser);
+            List<StudentCourseAttendance> summaries = attendanceService.getStudentCourseSummaries(currentUser);
             
-            if (enrolledCourses.isEmpty()) {
+            if (summaries.isEmpty()) {
                 add(new H4("You are not enrolled in any courses"));
             } else {
-                createAttendanceSummaryTable(currentUser, enrolledCourses);
+                createAttendanceSummaryTable(currentUser, summaries);
             }
         } else {
             add(new H4("Please log in to view your attendance"));
         }
     }
 
-    private void createAttendanceSummaryTable(User student, List<Course> courses) {
+    private void createAttendanceSummaryTable(User student, List<StudentCourseAttendance> summaries) {
         // Create a single grid for the summary view
-        Grid<CourseAttendanceSummary> summaryGrid = new Grid<>();
+        Grid<StudentCourseAttendance> summaryGrid = new Grid<>();
         summaryGrid.addThemeVariants(GridVariant.LUMO_ROW_STRIPES, GridVariant.LUMO_COLUMN_BORDERS);
-        summaryGrid.setHeight("auto");
+        summaryGrid.setAllRowsVisible(true);
         summaryGrid.setWidthFull();
         
         // Add columns to match the format in the second image
-        summaryGrid.addColumn(summary -> summary.getCourse().getCourseCode())
+        summaryGrid.addColumn(StudentCourseAttendance::getCourseCode)
             .setHeader("Course Code")
             .setAutoWidth(true)
             .setFlexGrow(0);
             
-        summaryGrid.addColumn(summary -> summary.getCourse().getCourseName())
+        summaryGrid.addColumn(StudentCourseAttendance::getCourseName)
             .setHeader("Course Name")
             .setAutoWidth(true)
             .setFlexGrow(1);
             
-        summaryGrid.addColumn(CourseAttendanceSummary::getClassesAttendedDisplay)
+        summaryGrid.addColumn(summary -> summary.getPresentCount() + "/" + summary.getTotalClasses())
             .setHeader("Total Classes")
             .setAutoWidth(true)
             .setFlexGrow(0);
             
+        summaryGrid.addColumn(summary -> summary.getLastMarkedDate() == null ? "-" : summary.getLastMarkedDate().toString())
+            .setHeader("Last Marked")
+            .setAutoWidth(true)
+            .setFlexGrow(0);
+            
         summaryGrid.addComponentColumn(summary -> {
+            double percentage = summary.getAttendancePercentage().doubleValue();
             HorizontalLayout layout = new HorizontalLayout();
             layout.setWidthFull();
             layout.setSpacing(false);
@@ -97,19 +99,19 @@ public class StudentAttendanceView extends VerticalLayout {
             ProgressBar progressBar = new ProgressBar();
             progressBar.setMin(0);
             progressBar.setMax(100);
-            progressBar.setValue(summary.getAttendancePercentage());
+            progressBar.setValue(percentage);
             progressBar.setWidth("150px");
             
             // Color based on attendance percentage
-            if (summary.getAttendancePercentage() < 70) {
+            if (percentage < 70) {
                 progressBar.getStyle().set("--lumo-primary-color", "var(--lumo-error-color)");
-            } else if (summary.getAttendancePercentage() < 80) {
+            } else if (percentage < 80) {
                 progressBar.getStyle().set("--lumo-primary-color", "var(--lumo-warning-color)");
             } else {
                 progressBar.getStyle().set("--lumo-primary-color", "var(--lumo-success-color)");
             }
             
-            Span percentageText = new Span(summary.getFormattedPercentage());
+            Span percentageText = new Span(formatPercentage(summary));
             percentageText.getStyle().set("margin-left", "8px");
             
             layout.add(progressBar, percentageText);
@@ -121,9 +123,10 @@ public class StudentAttendanceView extends VerticalLayout {
         .setWidth("200px")
         .setFlexGrow(0);
         
-        // Add view details / action column
+        // Expanding a row loads that course's records; collapsed rows never touch the attendance rows
         summaryGrid.addComponentColumn(summary -> {
-            Button viewDetailsBtn = new Button("View Details", e -> viewAttendanceDetails(student, summary.getCourse()));
+            Button viewDetailsBtn = new Button("View Details", e -> 
+                summaryGrid.setDetailsVisible(summary, !summaryGrid.isDetailsVisible(summary)));
             viewDetailsBtn.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
             return viewDetailsBtn;
         })
@@ -131,40 +134,30 @@ public class StudentAttendanceView extends VerticalLayout {
         .setAutoWidth(true)
         .setFlexGrow(0);
         
-        // Fetch and prepare data
-        List<CourseAttendanceSummary> summaries = new ArrayList<>();
-        for (Course course : courses) {
-            // Get real attendance data from service
-            List<Attendance> attendances = attendanceService.getStudentCourseAttendance(student, course);
-            BigDecimal percentage = attendanceService.calculateAttendancePercentage(student, course);
-            
-            // Calculate present and total classes
-            long presentCount = attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.PRESENT)
-                .count();
-            
-            summaries.add(new CourseAttendanceSummary(
-                course,
-                (int) presentCount,
-                attendances.size(),
-                percentage.doubleValue()
-            ));
-        }
+        summaryGrid.setDetailsVisibleOnClick(false);
+        summaryGrid.setItemDetailsRenderer(new ComponentRenderer<>(summary -> createAttendanceDetails(student, summary)));
         
         summaryGrid.setItems(summaries);
         add(summaryGrid);
         
+        // Custom styling for Present/Absent status
+        getElement().executeJs(
+            "document.head.innerHTML += '<style>" +
+            ".status-present { color: var(--lumo-success-color); font-weight: 500; }" +
+            ".status-absent { color: var(--lumo-error-color); font-weight: 500; }" +
+            "</style>'");
+        
         // Style the grid
         summaryGrid.getStyle()
             .set("box-shadow", "0 2px 4px rgba(0, 0, 0, 0.1)")
             .set("border-radius", "var(--lumo-border-radius-m)");
         
         // Show warnings for low attendance
-        for (CourseAttendanceSummary summary : summaries) {
-            if (summary.getAttendancePercentage() < 75) {
+        for (StudentCourseAttendance summary : summaries) {
+            if (summary.getAttendancePercentage().doubleValue() < 75) {
                 Notification notification = new Notification(
-                    "Warning: Your attendance in " + summary.getCourse().getCourseName() + 
-                    " is below 75%. Current attendance: " + summary.getFormattedPercentage(),
+                    "Warning: Your attendance in " + summary.getCourseName() + 
+                    " is below 75%. Current attendance: " + formatPercentage(summary),
                     5000,
                     Notification.Position.TOP_CENTER
                 );
@@ -174,22 +167,19 @@ public class StudentAttendanceView extends VerticalLayout {
         }
     }
     
-    // This method opens a dialog to view detailed attendance
-    private void viewAttendanceDetails(User student, Course course) {
-        Dialog dialog = new Dialog();
-        dialog.setHeaderTitle("Attendance Details: " + course.getCourseName());
-        dialog.setWidth("800px");
+    // Detailed attendance records of one course, shown when its row is expanded
+    private Component createAttendanceDetails(User student, StudentCourseAttendance summary) {
+        List<Attendance> records = attendanceService.getStudentCourseAttendance(student, summary.getCourseId());
         
-        VerticalLayout content = new VerticalLayout();
-        content.setPadding(true);
-        content.setSpacing(true);
-        
-        // Get actual attendance records
-        List<Attendance> records = attendanceService.getStudentCourseAttendance(student, course);
+        // Attendance rows that already have a correction request, looked up once for the whole course
+        Set<Long> requestedAttendanceIds = attendanceService.getStudentCorrectionRequests(student).stream()
+            .map(req -> req.getAttendance().getAttendanceId())
+            .collect(Collectors.toSet());
         
         // Create grid for detailed view
         Grid<Attendance> detailsGrid = new Grid<>();
         detailsGrid.setWidthFull();
+        detailsGrid.setAllRowsVisible(true);
         detailsGrid.addThemeVariants(GridVariant.LUMO_ROW_STRIPES, GridVariant.LUMO_COLUMN_BORDERS);
         
         detailsGrid.addColumn(a -> a.getAttendanceDate().toString())
@@ -210,18 +200,7 @@ public class StudentAttendanceView extends VerticalLayout {
             
         detailsGrid.addComponentColumn(attendance -> {
             if (attendance.getStatus() == Attendance.AttendanceStatus.ABSENT) {
-                // Check if there's already a pending correction request
-                boolean hasPendingRequest = false;
-                try {
-                    List<com.smartcampus.examgrading.model.AttendanceCorrectionRequest> requests = 
-                        attendanceService.getStudentCorrectionRequests(student);
-                    hasPendingRequest = requests.stream()
-                        .anyMatch(req -> req.getAttendance().getAttendanceId().equals(attendance.getAttendanceId()));
-                } catch (Exception e) {
-                    // Handle exception
-                }
-                
-                if (hasPendingRequest) {
+                if (requestedAttendanceIds.contains(attendance.getAttendanceId())) {
                     Span pendingSpan = new Span("Correction Requested");
                     pendingSpan.getStyle()
                         .set("color", "var(--lumo-primary-color)")
@@ -233,32 +212,18 @@ public class StudentAttendanceView extends VerticalLayout {
                 } else {
                     Button requestButton = new Button("Request Correction");
                     requestButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
-                    requestButton.addClickListener(e -> openCorrectionRequestDialog(course, attendance, dialog));
+                    requestButton.addClickListener(e -> openCorrectionRequestDialog(summary.getCourseName(), attendance));
                     return requestButton;
                 }
             }
             return new Span("");
         }).setHeader("Actions").setAutoWidth(true);
         
-        // Custom styling for Present/Absent status
-        getElement().executeJs(
-            "document.head.innerHTML += '<style>" +
-            ".status-present { color: var(--lumo-success-color); font-weight: 500; }" +
-            ".status-absent { color: var(--lumo-error-color); font-weight: 500; }" +
-            "</style>'");
-        
         detailsGrid.setItems(records);
-        content.add(detailsGrid);
-        
-        Button closeButton = new Button("Close", e -> dialog.close());
-        closeButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
-        content.add(closeButton);
-        
-        dialog.add(content);
-        dialog.open();
+        return detailsGrid;
     }
     
-    private void openCorrectionRequestDialog(Course course, Attendance attendance, Dialog parentDialog) {
+    private void openCorrectionRequestDialog(String courseName, Attendance attendance) {
         Dialog dialog = new Dialog();
         dialog.setHeaderTitle("Request Attendance Correction");
         
@@ -266,7 +231,7 @@ public class StudentAttendanceView extends VerticalLayout {
         layout.setPadding(true);
         layout.setSpacing(true);
         
-        Span info = new Span("Course: " + course.getCourseName() + ", Date: " + attendance.getAttendanceDate());
+        Span info = new Span("Course: " + courseName + ", Date: " + attendance.getAttendanceDate());
         TextArea reasonField = new TextArea("Reason for correction");
         reasonField.setWidthFull();
         reasonField.setMinHeight("100px");
@@ -296,7 +261,6 @@ public class StudentAttendanceView extends VerticalLayout {
                     notification.addThemeVariants(NotificationVariant.LUMO_SUCCESS);
                     
                     dialog.close();
-                    parentDialog.close();
                     
                     // Refresh the view
                     refreshView();
@@ -329,49 +293,14 @@ public class StudentAttendanceView extends VerticalLayout {
         
         User currentUser = securityService.getCurrentUser();
         if (currentUser != null) {
-            List<Course> enrolledCourses = courseService.getEnrolledCourses(currentUser);
-            if (!enrolledCourses.isEmpty()) {
-                createAttendanceSummaryTable(currentUser, enrolledCourses);
+            List<StudentCourseAttendance> summaries = attendanceService.getStudentCourseSummaries(currentUser);
+            if (!summaries.isEmpty()) {
+                createAttendanceSummaryTable(currentUser, summaries);
             }
         }
     }
     
-    // Data model for course attendance summary
-    private static class CourseAttendanceSummary {
-        private final Course course;
-        private final int classesAttended;
-        private final int totalClasses;
-        private final double attendancePercentage;
-        
-        public CourseAttendanceSummary(Course course, int classesAttended, int totalClasses, double attendancePercentage) {
-            this.course = course;
-            this.classesAttended = classesAttended;
-            this.totalClasses = totalClasses;
-            this.attendancePercentage = attendancePercentage;
-        }
-        
-        public Course getCourse() {
-            return course;
-        }
-        
-        public int getClassesAttended() {
-            return classesAttended;
-        }
-        
-        public int getTotalClasses() {
-            return totalClasses;
-        }
-        
-        public String getClassesAttendedDisplay() {
-            return classesAttended + "/" + totalClasses;
-        }
-        
-        public double getAttendancePercentage() {
-            return attendancePercentage;
-        }
-        
-        public String getFormattedPercentage() {
-            return String.format("%.1f%%", attendancePercentage);
-        }
+    private static String formatPercentage(StudentCourseAttendance summary) {
+        return String.format("%.1f%%", summary.getAttendancePercentage().doubleValue());
     }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.smartcampus.examgrading.view.student;
 
 import com.smartcampus.examgrading.model.Course;
+import com.smartcampus.examgrading.model.StudentCourseAttendance;
 import com.smartcampus.examgrading.model.User;
 import com.smartcampus.examgrading.security.SecurityService;
 import com.smartcampus.examgrading.service.CourseService;
@@ -19,7 +20,6 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Random;
 
@@ -59,7 +59,7 @@ public class StudentDashboardView extends VerticalLayout {
         statCards.setSpacing(true);
         statCards.add(
             createStatCard("Courses", String.valueOf(enrolledCourses.size()), VaadinIcon.ACADEMY_CAP, "var(--lumo-primary-color)"),
-            createAttendanceCard(enrolledCourses),
+            createAttendanceCard(student),
             createExamCard(enrolledCourses),
             createFeesCard()
         );
@@ -149,21 +149,13 @@ public class StudentDashboardView extends VerticalLayout {
         return card;
     }
     
-    private Component createAttendanceCard(List<Course> courses) {
-        // Get actual attendance data from service
-        User student = securityService.getCurrentUser();
-        double totalAttendance = 0.0;
-        int totalCourses = courses.size();
-        
-        if (totalCourses > 0) {
-            for (Course course : courses) {
-                BigDecimal courseAttendance = attendanceService.calculateAttendancePercentage(student, course);
-                totalAttendance += courseAttendance.doubleValue();
-            }
-            
-            // Calculate average attendance across all courses
-            totalAttendance = totalAttendance / totalCourses;
-        }
+    private Component createAttendanceCard(User student) {
+        // Average of the per-course percentages, all courses summarized in one query
+        List<StudentCourseAttendance> summaries = attendanceService.getStudentCourseSummaries(student);
+        double totalAttendance = summaries.stream()
+            .mapToDouble(summary -> summary.getAttendancePercentage().doubleValue())
+            .average()
+            .orElse(0.0);
         
         // Round to nearest integer
         int attendancePercentage = (int) Math.round(totalAttendance);
@@ -2,9 +2,13 @@ package com.smartcampus.examgrading.view.student;
 
 import com.smartcampus.examgrading.model.Course;
 import com.smartcampus.examgrading.model.Exam;
+import com.smartcampus.examgrading.model.ExamRank;
+import com.smartcampus.examgrading.model.ExamStatistics;
 import com.smartcampus.examgrading.model.Grade;
 import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.service.ExamRankService;
 import com.smartcampus.examgrading.service.ExamService;
+import com.smartcampus.examgrading.service.ExamStatisticsService;
 import com.smartcampus.examgrading.service.GradeService;
 import com.smartcampus.examgrading.service.SessionService;
 import com.smartcampus.examgrading.view.LoginView;
@@ -39,16 +43,21 @@ public class StudentExamResultView extends VerticalLayout implements BeforeEnter
     private final GradeService gradeService;
     private final ExamService examService;
     private final SessionService sessionService;
+    private final ExamStatisticsService statisticsService;
+    private final ExamRankService rankService;
 
     private ComboBox<Exam> examSelector;
     private VerticalLayout resultContainer;
     private User currentUser;
     private Long examId;
 
-    public StudentExamResultView(GradeService gradeService, ExamService examService, SessionService sessionService) {
+    public StudentExamResultView(GradeService gradeService, ExamService examService, SessionService sessionService,
+            ExamStatisticsService statisticsService, ExamRankService rankService) {
         this.gradeService = gradeService;
         this.examService = examService;
         this.sessionService = sessionService;
+        this.statisticsService = statisticsService;
+        this.rankService = rankService;
 
         // Set layout properties
         setSizeFull();
@@ -183,6 +192,11 @@ public class StudentExamResultView extends VerticalLayout implements BeforeEnter
         addDetailRow(detailsGrid, "Your Score:", grade.getMarksObtained().toString());
         addDetailRow(detailsGrid, "Percentage:", grade.getPercentage().toString() + "%");
         addDetailRow(detailsGrid, "Grade:", grade.getGradeLetter());
+        ExamRank rank = rankService.getRank(exam.getId(), grade.getMarksObtained());
+        if (rank != null) {
+            addDetailRow(detailsGrid, "Class Rank:", rank.getRank() + " of " + rank.getClassSize());
+            addDetailRow(detailsGrid, "Percentile:", rank.getPercentile().toString());
+        }
         addDetailRow(detailsGrid, "Date Graded:",
                 grade.getGradedAt() != null
                         ? grade.getGradedAt().toLocalDateTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"))
@@ -222,7 +236,7 @@ public class StudentExamResultView extends VerticalLayout implements BeforeEnter
 
         feedbackLayout.add(feedbackHeader, feedbackText);
 
-        // Class average information if available (placeholder for now)
+        // Class statistics, read from the exam's maintained statistics
         VerticalLayout classAverageLayout = new VerticalLayout();
         classAverageLayout.setPadding(true);
         classAverageLayout.getStyle()
@@ -231,9 +245,26 @@ public class StudentExamResultView extends VerticalLayout implements BeforeEnter
                 .set("border-left", "4px solid #4CAF50");
 
         H3 classAvgHeader = new H3("Class Performance");
-        Paragraph classAvgText = new Paragraph("Class Average: Not available");
-
-        classAverageLayout.add(classAvgHeader, classAvgText);
+        classAverageLayout.add(classAvgHeader);
+
+        Optional<ExamStatistics> statisticsOpt = statisticsService.getExamStatistics(exam.getId());
+        if (statisticsOpt.isPresent()) {
+            ExamStatistics statistics = statisticsOpt.get();
+            Div statsGrid = new Div();
+            statsGrid.getStyle().set("display", "grid")
+                    .set("grid-template-columns", "auto auto")
+                    .set("gap", "10px");
+            addDetailRow(statsGrid, "Students Graded:", String.valueOf(statistics.getGradeCount()));
+            addDetailRow(statsGrid, "Class Average:", statistics.getMeanMarks().toString());
+            addDetailRow(statsGrid, "Median:", statistics.getMedianMarks().toString());
+            addDetailRow(statsGrid, "Standard Deviation:", statistics.getStandardDeviation().toString());
+            addDetailRow(statsGrid, "Highest / Lowest:",
+                    statistics.getMaxMarks() + " / " + statistics.getMinMarks());
+            addDetailRow(statsGrid, "Pass Rate:", statistics.getPassRate() + "%");
+            classAverageLayout.add(statsGrid);
+        } else {
+            classAverageLayout.add(new Paragraph("Class Average: Not available"));
+        }
 
         // Add all components to result container
         resultContainer.add(examName, detailsGrid, gradeDisplay, feedbackLayout, classAverageLayout);
@@ -2,14 +2,18 @@ package com.smartcampus.examgrading.view.student;
 
 import com.smartcampus.examgrading.model.Course;
 import com.smartcampus.examgrading.model.Exam;
+import com.smartcampus.examgrading.model.ExamStatistics;
 import com.smartcampus.examgrading.model.Grade;
 import com.smartcampus.examgrading.model.User;
 import com.smartcampus.examgrading.model.RevaluationRequest;
+import com.smartcampus.examgrading.model.StudentTermGpa;
 import com.smartcampus.examgrading.service.ExamService;
+import com.smartcampus.examgrading.service.ExamStatisticsService;
 import com.smartcampus.examgrading.service.GradeService;
 import com.smartcampus.examgrading.service.SessionService;
 import com.smartcampus.examgrading.service.StudentService;
 import com.smartcampus.examgrading.service.RevaluationService;
+import com.smartcampus.examgrading.service.TranscriptService;
 import com.smartcampus.examgrading.view.LoginView;
 import com.smartcampus.examgrading.view.faculty.FacultyGradeView;
 
@@ -54,6 +58,8 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
     private final SessionService sessionService;
     private final StudentService studentService;
     private final RevaluationService revaluationService;
+    private final ExamStatisticsService statisticsService;
+    private final TranscriptService transcriptService;
 
     // Course selector
     private ComboBox<Course> courseComboBox = new ComboBox<>("Filter by Course");
@@ -66,15 +72,22 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
 
     private User currentUser;
     private List<Course> enrolledCourses;
+    // Courses by id for the grid columns, so rows do not look up their course one by one
+    private final Map<Long, Course> coursesById = new HashMap<>();
+    // Class statistics of the exams in the grid, loaded in one query with the grades
+    private Map<Long, ExamStatistics> examStatistics = new HashMap<>();
 
     public StudentGradeView(GradeService gradeService, ExamService examService,
             SessionService sessionService, StudentService studentService,
-            RevaluationService revaluationService) {
+            RevaluationService revaluationService, ExamStatisticsService statisticsService,
+            TranscriptService transcriptService) {
         this.gradeService = gradeService;
         this.examService = examService;
         this.sessionService = sessionService;
         this.studentService = studentService;
         this.revaluationService = revaluationService;
+        this.statisticsService = statisticsService;
+        this.transcriptService = transcriptService;
 
         // Set layout properties
         setSizeFull();
@@ -132,6 +145,10 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
     private void loadEnrolledCourses() {
         if (currentUser != null) {
             enrolledCourses = studentService.getStudentCourses(currentUser.getUserId());
+            coursesById.clear();
+            for (Course course : enrolledCourses) {
+                coursesById.put(course.getCourseId(), course);
+            }
 
             // Setup the course combo box with enrolled courses
             courseComboBox.setItems(enrolledCourses);
@@ -152,12 +169,22 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
         }
     }
 
+    /**
+     * Course of an exam, looked up once for courses the student is no longer enrolled in
+     */
+    private Course getCourse(Long courseId) {
+        if (!coursesById.containsKey(courseId)) {
+            coursesById.put(courseId, examService.getCourseById(courseId).orElse(null));
+        }
+        return coursesById.get(courseId);
+    }
+
     private void configureGradeGrid() {
         // Course and Exam info
         gradeGrid.addColumn(grade -> {
             Exam exam = grade.getExam();
             Course course = exam != null && exam.getCourseId() != null
-                    ? examService.getCourseById(exam.getCourseId()).orElse(null)
+                    ? getCourse(exam.getCourseId())
                     : null;
             return course != null ? course.getCourseCode() : "Unknown";
         }).setHeader("Course Code").setAutoWidth(true);
@@ -165,7 +192,7 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
         gradeGrid.addColumn(grade -> {
             Exam exam = grade.getExam();
             Course course = exam != null && exam.getCourseId() != null
-                    ? examService.getCourseById(exam.getCourseId()).orElse(null)
+                    ? getCourse(exam.getCourseId())
                     : null;
             return course != null ? course.getCourseName() : "Unknown Course";
         }).setHeader("Course Name").setAutoWidth(true);
@@ -190,6 +217,10 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
                 .setAutoWidth(true);
         gradeGrid.addColumn(grade -> grade.getPercentage().toString() + "%").setHeader("Percentage").setAutoWidth(true);
         gradeGrid.addColumn(Grade::getGradeLetter).setHeader("Grade").setAutoWidth(true);
+        gradeGrid.addColumn(grade -> {
+            ExamStatistics statistics = examStatistics.get(grade.getExamId());
+            return statistics != null ? statistics.getMeanMarks().toString() : "";
+        }).setHeader("Class Avg").setAutoWidth(true);
 
         // Additional info
         gradeGrid.addColumn(Grade::getFeedback).setHeader("Feedback").setAutoWidth(true);
@@ -249,13 +280,9 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
 
     private void updateGradeGrid() {
         if (currentUser != null) {
+            // Grades come back with their exams populated
             List<Grade> grades = gradeService.getGradesByStudentId(currentUser.getUserId());
-
-            // Set all grades and hydrate with course and exam information
-            for (Grade grade : grades) {
-                // Load exam data for each grade
-                examService.getExamById(grade.getExamId()).ifPresent(grade::setExam);
-            }
+            loadExamStatistics(grades);
 
             gradeGrid.setItems(grades);
 
@@ -267,11 +294,7 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
     private void filterGradesBySelectedCourse(Course selectedCourse) {
         if (currentUser != null) {
             List<Grade> allGrades = gradeService.getGradesByStudentId(currentUser.getUserId());
-
-            // Hydrate grades with exam data
-            for (Grade grade : allGrades) {
-                examService.getExamById(grade.getExamId()).ifPresent(grade::setExam);
-            }
+            loadExamStatistics(allGrades);
 
             List<Grade> filteredGrades;
 
@@ -298,6 +321,12 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
         }
     }
 
+    private void loadExamStatistics(List<Grade> grades) {
+        examStatistics = statisticsService.getExamStatistics(grades.stream()
+                .map(Grade::getExamId)
+                .collect(Collectors.toSet()));
+    }
+
     private void updateCourseStatistics(List<Grade> grades, Course course) {
         if (grades.isEmpty()) {
             courseStats.setText("No grades available for this course yet.");
@@ -347,13 +376,24 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
         Map<String, Long> gradeDistribution = grades.stream()
                 .collect(Collectors.groupingBy(Grade::getGradeLetter, Collectors.counting()));
 
-        // Calculate GPA
-        double gpa = calculateGPA(grades);
+        // GPA comes from the materialized transcript, weighted by credit hours
+        List<StudentTermGpa> transcript = transcriptService.getTranscript(currentUser.getUserId());
 
         // Format the statistics text
         StringBuilder statsText = new StringBuilder();
         statsText.append("Overall average: ").append(String.format("%.2f%%", averagePercentage)).append("\n");
-        statsText.append("GPA: ").append(String.format("%.2f", gpa)).append("\n\n");
+        if (transcript.isEmpty()) {
+            statsText.append("CGPA: not available yet\n\n");
+        } else {
+            StudentTermGpa latest = transcript.get(transcript.size() - 1);
+            statsText.append("CGPA: ").append(latest.getCgpa())
+                    .append(" (").append(latest.getCumulativeCreditHours()).append(" credit hours)\n");
+            for (StudentTermGpa term : transcript) {
+                statsText.append(term.getTerm()).append(" GPA: ").append(term.getGpa())
+                        .append(" (").append(term.getCreditHours()).append(" credit hours)\n");
+            }
+            statsText.append("\n");
+        }
         statsText.append("Overall grade distribution:\n");
 
         // Sort grade letters by traditional order (A, B, C, D, F)
@@ -368,64 +408,6 @@ public class StudentGradeView extends VerticalLayout implements BeforeEnterObser
         semesterStats.setText(statsText.toString());
     }
 
-    private double calculateGPA(List<Grade> grades) {
-        // Simple GPA calculation - can be customized based on specific grading system
-        double totalPoints = 0;
-        int totalCount = 0;
-
-        for (Grade grade : grades) {
-            String letter = grade.getGradeLetter();
-            double points = 0;
-
-            // Standard 4.0 scale - adjust as needed
-            switch (letter) {
-                case "A+":
-                    points = 4.0;
-                    break;
-                case "A":
-                    points = 4.0;
-                    break;
-                case "A-":
-                    points = 3.7;
-                    break;
-                case "B+":
-                    points = 3.3;
-                    break;
-                case "B":
-                    points = 3.0;
-                    break;
-                case "B-":
-                    points = 2.7;
-                    break;
-                case "C+":
-                    points = 2.3;
-                    break;
-                case "C":
-                    points = 2.0;
-                    break;
-                case "C-":
-                    points = 1.7;
-                    break;
-                case "D+":
-                    points = 1.3;
-                    break;
-                case "D":
-                    points = 1.0;
-                    break;
-                case "F":
-                    points = 0.0;
-                    break;
-                default:
-                    continue; // Skip grades like "I" (incomplete) or "W" (withdrawn)
-            }
-
-            totalPoints += points;
-            totalCount++;
-        }
-
-        return totalCount > 0 ? totalPoints / totalCount : 0.0;
-    }
-
     private void openRevaluationDialog(Grade grade) {
         Dialog dialog = new Dialog();
         dialog.setHeaderTitle("Request Revaluation");
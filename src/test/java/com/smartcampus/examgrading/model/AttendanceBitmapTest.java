@@ -0,0 +1,64 @@
+package com.smartcampus.examgrading.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceBitmapTest {
+
+    @Test
+    void streakCountsConsecutiveUnexcusedAbsences() {
+        // Days 0-1 absent, 2 attended, 3-5 absent
+        AttendanceBitmap bitmap = bitmap(new int[] { 0, 1, 2, 3, 4, 5 }, new int[] { 2 }, new int[0], new int[0]);
+        assertThat(bitmap.getLongestAbsenceStreak()).isEqualTo(3);
+    }
+
+    @Test
+    void excusedSessionsNeitherExtendNorBreakAStreak() {
+        // Absent, excused, absent, absent: one run of three
+        AttendanceBitmap bitmap = bitmap(new int[] { 10, 11, 12, 13 }, new int[0], new int[] { 11 }, new int[0]);
+        assertThat(bitmap.getLongestAbsenceStreak()).isEqualTo(3);
+    }
+
+    @Test
+    void daysWithoutASessionDoNotBreakAStreak() {
+        // Sessions on days 0, 7 and 14 only, all missed
+        AttendanceBitmap bitmap = bitmap(new int[] { 0, 7, 14 }, new int[0], new int[0], new int[0]);
+        assertThat(bitmap.getLongestAbsenceStreak()).isEqualTo(3);
+    }
+
+    @Test
+    void lateCountsAsAttendedForTheStreakButNotAsPresent() {
+        AttendanceBitmap bitmap = bitmap(new int[] { 0, 1, 2, 183 }, new int[] { 1, 183 }, new int[0], new int[] { 1 });
+        assertThat(bitmap.getLongestAbsenceStreak()).isEqualTo(1);
+        assertThat(bitmap.getHeldCount()).isEqualTo(4);
+        assertThat(bitmap.getLateCount()).isEqualTo(1);
+        assertThat(bitmap.getPresentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void noSessionsMeansNoStreak() {
+        AttendanceBitmap bitmap = bitmap(new int[0], new int[0], new int[0], new int[0]);
+        assertThat(bitmap.getLongestAbsenceStreak()).isZero();
+    }
+
+    private static AttendanceBitmap bitmap(int[] held, int[] attended, int[] excused, int[] late) {
+        AttendanceBitmap bitmap = new AttendanceBitmap();
+        bitmap.setHeldBits(bits(held));
+        bitmap.setAttendedBits(bits(attended));
+        bitmap.setExcusedBits(bits(excused));
+        bitmap.setLateBits(bits(late));
+        return bitmap;
+    }
+
+    private static byte[] bits(int[] days) {
+        BitSet set = new BitSet();
+        for (int day : days) {
+            set.set(day);
+        }
+        return Arrays.copyOf(set.toByteArray(), AttendanceTerm.BITMAP_BYTES);
+    }
+}
@@ -0,0 +1,62 @@
+package com.smartcampus.examgrading.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttendanceTermTest {
+
+    @Test
+    void bitIndexCountsDaysFromTheStartOfTheTerm() {
+        AttendanceTerm first = AttendanceTerm.of(LocalDate.of(2025, 3, 14));
+        assertThat(first.getKey()).isEqualTo("2025-S1");
+        assertThat(first.bitIndex(LocalDate.of(2025, 1, 1))).isZero();
+        assertThat(first.bitIndex(LocalDate.of(2025, 2, 1))).isEqualTo(31);
+        assertThat(first.bitIndex(LocalDate.of(2025, 6, 30))).isEqualTo(180);
+
+        AttendanceTerm second = AttendanceTerm.of(LocalDate.of(2025, 7, 1));
+        assertThat(second.getKey()).isEqualTo("2025-S2");
+        assertThat(second.bitIndex(LocalDate.of(2025, 12, 31))).isEqualTo(AttendanceTerm.MAX_DAYS - 1);
+    }
+
+    @Test
+    void leapYearFirstTermFitsTheBitmap() {
+        AttendanceTerm term = AttendanceTerm.of(LocalDate.of(2024, 2, 29));
+        assertThat(term.bitIndex(LocalDate.of(2024, 6, 30))).isEqualTo(181);
+        assertThat(term.bitIndex(LocalDate.of(2024, 6, 30))).isLessThan(AttendanceTerm.BITMAP_BYTES * 8);
+    }
+
+    @Test
+    void bitIndexRejectsDatesOutsideTheTerm() {
+        AttendanceTerm term = AttendanceTerm.of(LocalDate.of(2025, 1, 15));
+        assertThatThrownBy(() -> term.bitIndex(LocalDate.of(2025, 7, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> term.bitIndex(LocalDate.of(2024, 12, 31)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void dateOfInvertsBitIndex() {
+        AttendanceTerm term = AttendanceTerm.of(LocalDate.of(2025, 9, 1));
+        LocalDate date = LocalDate.of(2025, 10, 17);
+        assertThat(term.dateOf(term.bitIndex(date))).isEqualTo(date);
+    }
+
+    @Test
+    void parseReadsBackTheKey() {
+        AttendanceTerm term = AttendanceTerm.parse("2025-S2");
+        assertThat(term).isEqualTo(AttendanceTerm.of(LocalDate.of(2025, 12, 1)));
+        assertThat(term.getStart()).isEqualTo(LocalDate.of(2025, 7, 1));
+        assertThat(term.getEndExclusive()).isEqualTo(LocalDate.of(2026, 1, 1));
+    }
+
+    @Test
+    void nextRollsOverTheYear() {
+        AttendanceTerm term = AttendanceTerm.parse("2025-S2");
+        assertThat(term.next()).isEqualTo(AttendanceTerm.of(LocalDate.of(2026, 1, 1)));
+        assertThat(term.next().next().getKey()).isEqualTo("2026-S2");
+    }
+}
@@ -0,0 +1,149 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.AttendanceAlert;
+import com.smartcampus.examgrading.model.AttendanceCounter;
+import com.smartcampus.examgrading.model.JobCheckpoint;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.AttendanceAlertJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceAlertRepository;
+import com.smartcampus.examgrading.repository.AttendanceCounterJdbcRepository;
+import com.smartcampus.examgrading.repository.JobCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceAlertServiceTest {
+
+    private static final BigDecimal THRESHOLD = new BigDecimal("80.00");
+    private static final LocalDateTime CHECKPOINT = LocalDateTime.of(2025, 3, 14, 9, 0);
+
+    private final AttendanceCounterJdbcRepository counterJdbcRepository = mock(AttendanceCounterJdbcRepository.class);
+    private final AttendanceAlertJdbcRepository alertJdbcRepository = mock(AttendanceAlertJdbcRepository.class);
+    private final AttendanceAlertRepository alertRepository = mock(AttendanceAlertRepository.class);
+    private final JobCheckpointRepository checkpointRepository = mock(JobCheckpointRepository.class);
+
+    private final AttendanceAlertService alertService = new AttendanceAlertService(counterJdbcRepository,
+            alertJdbcRepository, alertRepository, checkpointRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), THRESHOLD, 120);
+
+    @Test
+    void opensAlertsBelowTheThresholdAndResolvesTheRest() {
+        AttendanceCounter low = counter(1L, 10, 7, 0);
+        AttendanceCounter atThreshold = counter(2L, 10, 8, 1);
+        AttendanceCounter empty = counter(3L, 0, 0, 2);
+        when(counterJdbcRepository.findUpdatedSince(any(), isNull(), eq(1000)))
+                .thenReturn(List.of(low, atThreshold, empty));
+
+        assertThat(alertService.scanChangedCounters()).isEqualTo(3);
+
+        verify(alertJdbcRepository).open(eq(YearMonth.now().toString()), eq(THRESHOLD), eq(List.of(low)), any());
+        verify(alertJdbcRepository).supersedeEarlierPeriods(eq(YearMonth.now().toString()), eq(List.of(low)), any());
+        verify(alertJdbcRepository).resolve(eq(List.of(atThreshold, empty)), any());
+        ArgumentCaptor<JobCheckpoint> checkpoint = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertThat(checkpoint.getValue().getCheckpointAt()).isEqualTo(empty.getUpdatedAt());
+    }
+
+    @Test
+    void studentStillLowNextMonthMovesToTheNewMonthsAlert() {
+        AttendanceCounter march = counter(1L, 10, 6, 0);
+        AttendanceCounter april = counter(1L, 12, 7, 60);
+        when(counterJdbcRepository.findUpdatedSince(any(), isNull(), eq(1000)))
+                .thenReturn(List.of(march))
+                .thenReturn(List.of(april));
+
+        alertService.scanChangedCounters(YearMonth.of(2025, 3));
+        alertService.scanChangedCounters(YearMonth.of(2025, 4));
+
+        InOrder inOrder = inOrder(alertJdbcRepository);
+        inOrder.verify(alertJdbcRepository).open(eq("2025-03"), eq(THRESHOLD), eq(List.of(march)), any());
+        inOrder.verify(alertJdbcRepository).supersedeEarlierPeriods(eq("2025-03"), eq(List.of(march)), any());
+        inOrder.verify(alertJdbcRepository).open(eq("2025-04"), eq(THRESHOLD), eq(List.of(april)), any());
+        inOrder.verify(alertJdbcRepository).supersedeEarlierPeriods(eq("2025-04"), eq(List.of(april)), any());
+        verify(alertJdbcRepository, never()).resolve(anyList(), any());
+    }
+
+    @Test
+    void rereadsCountersChangedShortlyBeforeTheCheckpoint() {
+        when(checkpointRepository.findById("attendance-risk-scan"))
+                .thenReturn(Optional.of(new JobCheckpoint("attendance-risk-scan", CHECKPOINT)));
+
+        assertThat(alertService.scanChangedCounters()).isZero();
+
+        verify(counterJdbcRepository).findUpdatedSince(CHECKPOINT.minusSeconds(120), null, 1000);
+        verify(checkpointRepository, never()).save(any());
+    }
+
+    @Test
+    void fullPagesAreFollowedFromTheirLastCounter() {
+        List<AttendanceCounter> firstPage = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            firstPage.add(counter((long) i, 10, 10, i));
+        }
+        AttendanceCounter last = firstPage.get(999);
+        AttendanceCounter straggler = counter(5000L, 10, 1, 1000);
+        when(counterJdbcRepository.findUpdatedSince(any(), isNull(), eq(1000))).thenReturn(firstPage);
+        when(counterJdbcRepository.findUpdatedSince(any(), eq(last), eq(1000))).thenReturn(List.of(straggler));
+
+        assertThat(alertService.scanChangedCounters()).isEqualTo(1001);
+
+        verify(alertJdbcRepository).open(anyString(), eq(THRESHOLD), eq(List.of(straggler)), any());
+        verify(alertJdbcRepository).resolve(anyList(), any());
+    }
+
+    @Test
+    void studentSeesOneOpenAlertPerCourseFromTheNewestPeriod() {
+        User student = new User();
+        student.setUserId(1L);
+        AttendanceAlert april = alert(20L, "2025-04");
+        AttendanceAlert march = alert(20L, "2025-03");
+        AttendanceAlert other = alert(21L, "2025-03");
+        when(alertRepository.findByStudentIdAndStatusOrderByPeriodDesc(1L, AttendanceAlert.AlertStatus.OPEN))
+                .thenReturn(List.of(april, march, other));
+
+        assertThat(alertService.getOpenAlertsForStudent(student)).containsExactly(april, other);
+    }
+
+    private static AttendanceCounter counter(Long studentId, int total, int present, int secondsAfterCheckpoint) {
+        AttendanceCounter counter = new AttendanceCounter();
+        counter.setStudentId(studentId);
+        counter.setCourseId(20L);
+        counter.setTotalCount(total);
+        counter.setPresentCount(present);
+        counter.setAbsentCount(total - present);
+        counter.setLateCount(0);
+        counter.setExcusedCount(0);
+        counter.setUpdatedAt(CHECKPOINT.plusSeconds(secondsAfterCheckpoint));
+        return counter;
+    }
+
+    private static AttendanceAlert alert(Long courseId, String period) {
+        AttendanceAlert alert = new AttendanceAlert();
+        alert.setStudentId(1L);
+        alert.setCourseId(courseId);
+        alert.setPeriod(period);
+        alert.setStatus(AttendanceAlert.AlertStatus.OPEN);
+        return alert;
+    }
+}
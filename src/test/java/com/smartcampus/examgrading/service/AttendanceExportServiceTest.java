@@ -0,0 +1,22 @@
+package com.smartcampus.examgrading.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceExportServiceTest {
+
+    @Test
+    void plainValuesAreWrittenAsIs() {
+        assertThat(AttendanceExportService.escape("Algorithms")).isEqualTo("Algorithms");
+        assertThat(AttendanceExportService.escape(null)).isEmpty();
+    }
+
+    @Test
+    void commasQuotesAndLineBreaksAreQuoted() {
+        assertThat(AttendanceExportService.escape("Smith, J")).isEqualTo("\"Smith, J\"");
+        assertThat(AttendanceExportService.escape("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+        assertThat(AttendanceExportService.escape("line\nbreak")).isEqualTo("\"line\nbreak\"");
+        assertThat(AttendanceExportService.escape("carriage\rreturn")).isEqualTo("\"carriage\rreturn\"");
+    }
+}
@@ -0,0 +1,136 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.AttendanceImportResult;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.AttendanceImportJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceImportServiceTest {
+
+    private static final String HEADER = "username,course_code,date,status\n";
+
+    private final List<String> fields = new ArrayList<>();
+
+    private final AttendanceImportJdbcRepository importJdbcRepository = mock(AttendanceImportJdbcRepository.class);
+    private final AttendanceJdbcRepository attendanceJdbcRepository = mock(AttendanceJdbcRepository.class);
+    private final AttendanceService attendanceService = mock(AttendanceService.class);
+    private final AttendanceCounterService counterService = mock(AttendanceCounterService.class);
+
+    // Chunks of two rows
+    private final AttendanceImportService importService = new AttendanceImportService(importJdbcRepository,
+            attendanceJdbcRepository, attendanceService, counterService,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), 2, 100);
+
+    @Test
+    void countersAreRefreshedOnceAfterTheLastChunk() throws IOException {
+        roster();
+
+        AttendanceImportResult result = importService.importCsv(csv(
+                "alice,CS101,2025-03-10,P",
+                "bob,CS101,2025-03-10,A",
+                "alice,CS101,2025-03-11,L",
+                "bob,CS101,2025-03-11,P",
+                "alice,CS101,2025-03-12,P"), "roll.csv", admin());
+
+        assertThat(result.getRowsImported()).isEqualTo(5);
+        verify(attendanceJdbcRepository, times(3)).upsertRows(any(), eq(9L), any());
+        verify(attendanceService, times(3)).recordSessionChangesExceptCounters(anyMap(), eq(9L));
+        verify(counterService).refresh(20L, List.of(1L, 2L));
+        verify(counterService, times(1)).refresh(anyLong(), anyCollection());
+    }
+
+    @Test
+    void chunksWrittenBeforeAFailureStillGetTheirCounters() {
+        roster();
+        doNothing().doThrow(new IllegalStateException("boom"))
+                .when(attendanceService).recordSessionChangesExceptCounters(anyMap(), eq(9L));
+
+        assertThatThrownBy(() -> importService.importCsv(csv(
+                "alice,CS101,2025-03-10,P",
+                "bob,CS101,2025-03-10,A",
+                "alice,CS102,2025-03-10,P"), "roll.csv", admin()))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(counterService).refresh(20L, List.of(1L, 2L));
+        verify(counterService, never()).refresh(eq(21L), anyCollection());
+    }
+
+    private void roster() {
+        when(importJdbcRepository.loadStudentIdsByUsername()).thenReturn(Map.of("alice", 1L, "bob", 2L));
+        when(importJdbcRepository.loadCourseIdsByCode(null)).thenReturn(Map.of("CS101", 20L, "CS102", 21L));
+        when(importJdbcRepository.loadEnrolledStudentIds(anyLong())).thenReturn(Set.of(1L, 2L));
+    }
+
+    private static User admin() {
+        User admin = new User();
+        admin.setUserId(9L);
+        admin.setRole(User.Role.ADMIN);
+        return admin;
+    }
+
+    private static InputStream csv(String... rows) {
+        return new ByteArrayInputStream((HEADER + String.join("\n", rows)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void splitsPlainFieldsAndTrimsThem() {
+        assertThat(AttendanceImportService.splitLine(" alice , CS101,2025-03-14,P", fields)).isTrue();
+        assertThat(fields).containsExactly("alice", "CS101", "2025-03-14", "P");
+    }
+
+    @Test
+    void keepsEmptyFieldsIncludingATrailingOne() {
+        assertThat(AttendanceImportService.splitLine("a,,b,", fields)).isTrue();
+        assertThat(fields).containsExactly("a", "", "b", "");
+    }
+
+    @Test
+    void quotedFieldsMayHoldCommasAndDoubledQuotes() {
+        assertThat(AttendanceImportService.splitLine("\"Smith, J\",\"say \"\"hi\"\"\",x", fields)).isTrue();
+        assertThat(fields).containsExactly("Smith, J", "say \"hi\"", "x");
+    }
+
+    @Test
+    void skipsTextBetweenAClosingQuoteAndTheSeparator() {
+        assertThat(AttendanceImportService.splitLine("\"a\" junk,b", fields)).isTrue();
+        assertThat(fields).containsExactly("a", "b");
+    }
+
+    @Test
+    void reportsAnUnclosedQuote() {
+        assertThat(AttendanceImportService.splitLine("alice,\"CS101,P", fields)).isFalse();
+    }
+
+    @Test
+    void reusesTheGivenList() {
+        AttendanceImportService.splitLine("a,b,c", fields);
+        AttendanceImportService.splitLine("d", fields);
+        assertThat(fields).containsExactly("d");
+    }
+}
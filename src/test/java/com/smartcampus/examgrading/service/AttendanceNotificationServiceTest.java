@@ -0,0 +1,126 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceChangeEvent;
+import com.smartcampus.examgrading.model.AttendanceFeedItem;
+import com.smartcampus.examgrading.model.Notification;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.CourseRepository;
+import com.smartcampus.examgrading.repository.NotificationJdbcRepository;
+import com.smartcampus.examgrading.repository.NotificationRepository;
+import com.smartcampus.examgrading.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceNotificationServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 10);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+
+    private final NotificationJdbcRepository notificationJdbcRepository = mock(NotificationJdbcRepository.class);
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AttendanceFeedBroadcaster feedBroadcaster = mock(AttendanceFeedBroadcaster.class);
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+
+    @BeforeEach
+    void setUp() {
+        // The worker runs on the calling thread and, once stopped, returns when the queue is empty
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        when(courseRepository.findNamesAndFacultyIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[] { 20L, "Algorithms", 8L }));
+        User faculty = new User();
+        faculty.setUserId(8L);
+        faculty.setFirstName("Ada");
+        faculty.setLastName("Lovelace");
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(faculty));
+    }
+
+    @Test
+    void changesToOneSessionBecomeOneNotification() {
+        AttendanceNotificationService service = service(100);
+        service.onAttendanceChange(event(20L, MONDAY, 9L, 1L, 2L));
+        service.onAttendanceChange(event(20L, MONDAY, 8L, 2L, 3L));
+        service.onAttendanceChange(event(20L, TUESDAY, 8L, 1L));
+        service.onAttendanceChange(event(21L, MONDAY, 8L, 4L));
+
+        List<Notification> notifications = drain(service);
+
+        assertThat(notifications).extracting(Notification::getCoalesceKey).containsExactly(
+                "ATTENDANCE:20:2025-03-10", "ATTENDANCE:20:2025-03-11", "ATTENDANCE:21:2025-03-10");
+        Notification monday = notifications.get(0);
+        // Student 2 was marked twice: two changes, but one student
+        assertThat(monday.getEventCount()).isEqualTo(4);
+        assertThat(monday.getMessage()).contains("Algorithms", "3 students", "Ada Lovelace");
+        assertThat(monday.getRecipientRole()).isEqualTo(User.Role.ADMIN);
+        assertThat(notifications.get(2).getMessage()).contains("course 21");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eachCoalescedSessionIsPushedToTheFeedOnce() {
+        AttendanceNotificationService service = service(100);
+        service.onAttendanceChange(event(20L, MONDAY, 8L, 1L, 2L));
+        service.onAttendanceChange(event(20L, MONDAY, 8L, 3L));
+        drain(service);
+
+        ArgumentCaptor<List<AttendanceFeedItem>> pushed = ArgumentCaptor.forClass(List.class);
+        verify(feedBroadcaster).publish(pushed.capture());
+        assertThat(pushed.getValue()).singleElement().satisfies(item -> {
+            assertThat(item.getCourseId()).isEqualTo(20L);
+            assertThat(item.getFacultyId()).isEqualTo(8L);
+            assertThat(item.getChanges()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void eventsBeyondTheQueueCapacityAreDropped() {
+        AttendanceNotificationService service = service(2);
+        service.onAttendanceChange(event(20L, MONDAY, 8L, 1L));
+        service.onAttendanceChange(event(20L, TUESDAY, 8L, 1L));
+        service.onAttendanceChange(event(21L, MONDAY, 8L, 1L));
+
+        assertThat(drain(service)).extracting(Notification::getCourseId).containsExactly(20L, 20L);
+    }
+
+    private AttendanceNotificationService service(int queueCapacity) {
+        return new AttendanceNotificationService(notificationJdbcRepository, mock(NotificationRepository.class),
+                courseRepository, userRepository, feedBroadcaster, executor, queueCapacity, 100, 10);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Notification> drain(AttendanceNotificationService service) {
+        service.stopWorker();
+        service.startWorker();
+        ArgumentCaptor<List<Notification>> written = ArgumentCaptor.forClass(List.class);
+        verify(notificationJdbcRepository).upsert(written.capture());
+        return written.getValue();
+    }
+
+    private static AttendanceChangeEvent event(Long courseId, LocalDate date, Long markedById, Long... studentIds) {
+        Map<Long, Attendance.AttendanceStatus> statuses = new LinkedHashMap<>();
+        for (Long studentId : studentIds) {
+            statuses.put(studentId, Attendance.AttendanceStatus.PRESENT);
+        }
+        return new AttendanceChangeEvent(courseId, date, markedById, statuses);
+    }
+}
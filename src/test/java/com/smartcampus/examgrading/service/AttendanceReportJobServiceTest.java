@@ -0,0 +1,154 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.AttendanceReportJob;
+import com.smartcampus.examgrading.model.AttendanceReportJobPartition;
+import com.smartcampus.examgrading.repository.AttendanceReportJobPartitionRepository;
+import com.smartcampus.examgrading.repository.AttendanceReportJobRepository;
+import com.smartcampus.examgrading.repository.StudentCourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceReportJobServiceTest {
+
+    private final AttendanceReportJobRepository jobRepository = mock(AttendanceReportJobRepository.class);
+    private final AttendanceReportJobPartitionRepository partitionRepository =
+            mock(AttendanceReportJobPartitionRepository.class);
+    private final AttendanceService attendanceService = mock(AttendanceService.class);
+    private final ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+
+    private final AttendanceReportJobService jobService = new AttendanceReportJobService(jobRepository,
+            partitionRepository, mock(StudentCourseRepository.class), attendanceService, executor,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), 2);
+
+    @BeforeEach
+    void setUp() {
+        // Workers run on the calling thread, so a job has finished when the call returns
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        when(attendanceService.generateMonthlyReports(anyInt(), anyInt(), anyLong()))
+                .thenAnswer(invocation -> new AttendanceReportEngine.ReportRun(3, 2025));
+    }
+
+    @Test
+    void resumedJobRunsOnlyItsUnfinishedPartitions() {
+        AttendanceReportJob job = job(AttendanceReportJob.JobStatus.RUNNING);
+        AttendanceReportJobPartition second = partition(11L, AttendanceReportJobPartition.PartitionStatus.PENDING);
+        AttendanceReportJobPartition third = partition(12L, AttendanceReportJobPartition.PartitionStatus.FAILED);
+        when(jobRepository.findByStatusIn(anyCollection())).thenReturn(List.of(job));
+        when(partitionRepository.findByJobIdAndStatusNot(1L, AttendanceReportJobPartition.PartitionStatus.COMPLETED))
+                .thenReturn(List.of(second, third));
+
+        jobService.resumeUnfinishedJobs();
+
+        verify(attendanceService, never()).generateMonthlyReports(3, 2025, 10L);
+        verify(attendanceService).generateMonthlyReports(3, 2025, 11L);
+        verify(attendanceService).generateMonthlyReports(3, 2025, 12L);
+        assertThat(second.getStatus()).isEqualTo(AttendanceReportJobPartition.PartitionStatus.COMPLETED);
+        assertThat(third.getStatus()).isEqualTo(AttendanceReportJobPartition.PartitionStatus.COMPLETED);
+        verify(jobRepository, times(2)).recordCompletedPartition(eq(1L), anyLong());
+        assertThat(job.getStatus()).isEqualTo(AttendanceReportJob.JobStatus.COMPLETED);
+        assertThat(job.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void failedPartitionFailsTheJobButNotItsSiblings() {
+        AttendanceReportJob job = job(AttendanceReportJob.JobStatus.QUEUED);
+        AttendanceReportJobPartition broken = partition(10L, AttendanceReportJobPartition.PartitionStatus.PENDING);
+        AttendanceReportJobPartition healthy = partition(11L, AttendanceReportJobPartition.PartitionStatus.PENDING);
+        when(jobRepository.findByStatusIn(anyCollection())).thenReturn(List.of(job));
+        when(partitionRepository.findByJobIdAndStatusNot(1L, AttendanceReportJobPartition.PartitionStatus.COMPLETED))
+                .thenReturn(List.of(broken, healthy));
+        when(attendanceService.generateMonthlyReports(3, 2025, 10L)).thenThrow(new IllegalStateException("boom"));
+
+        jobService.resumeUnfinishedJobs();
+
+        assertThat(broken.getStatus()).isEqualTo(AttendanceReportJobPartition.PartitionStatus.FAILED);
+        assertThat(healthy.getStatus()).isEqualTo(AttendanceReportJobPartition.PartitionStatus.COMPLETED);
+        assertThat(job.getStatus()).isEqualTo(AttendanceReportJob.JobStatus.FAILED);
+        assertThat(job.getErrorMessage()).isNotBlank();
+    }
+
+    @Test
+    void startingAFailedMonthRestartsItsJob() {
+        AttendanceReportJob job = job(AttendanceReportJob.JobStatus.FAILED);
+        AttendanceReportJobPartition failed = partition(10L, AttendanceReportJobPartition.PartitionStatus.FAILED);
+        when(jobRepository.findFirstByMonthAndYearAndStatusIn(eq(3), eq(2025), anyCollection()))
+                .thenReturn(Optional.of(job));
+        when(partitionRepository.findByJobIdAndStatusNot(1L, AttendanceReportJobPartition.PartitionStatus.COMPLETED))
+                .thenReturn(List.of(failed));
+        when(jobRepository.updateStatusIf(1L, AttendanceReportJob.JobStatus.QUEUED,
+                AttendanceReportJob.JobStatus.FAILED)).thenReturn(1);
+
+        AttendanceReportJob started = jobService.startJob(3, 2025);
+
+        assertThat(started.getJobId()).isEqualTo(1L);
+        verify(attendanceService).generateMonthlyReports(3, 2025, 10L);
+        verify(jobRepository, never()).save(any());
+        assertThat(started.getStatus()).isEqualTo(AttendanceReportJob.JobStatus.COMPLETED);
+    }
+
+    @Test
+    void failedMonthRestartedConcurrentlyIsNotRunTwice() {
+        AttendanceReportJob job = job(AttendanceReportJob.JobStatus.FAILED);
+        when(jobRepository.findFirstByMonthAndYearAndStatusIn(eq(3), eq(2025), anyCollection()))
+                .thenReturn(Optional.of(job));
+
+        jobService.startJob(3, 2025);
+
+        verify(executor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void startingARunningMonthReturnsItsJobUntouched() {
+        AttendanceReportJob job = job(AttendanceReportJob.JobStatus.RUNNING);
+        when(jobRepository.findFirstByMonthAndYearAndStatusIn(eq(3), eq(2025), anyCollection()))
+                .thenReturn(Optional.of(job));
+
+        assertThat(jobService.startJob(3, 2025)).isSameAs(job);
+        verify(executor, never()).execute(any(Runnable.class));
+        verify(attendanceService, never()).generateMonthlyReports(anyInt(), anyInt(), anyLong());
+    }
+
+    private AttendanceReportJob job(AttendanceReportJob.JobStatus status) {
+        AttendanceReportJob job = new AttendanceReportJob();
+        job.setJobId(1L);
+        job.setMonth(3);
+        job.setYear(2025);
+        job.setStatus(status);
+        job.setTotalPartitions(3);
+        job.setCompletedPartitions(1);
+        job.setRowsWritten(0L);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        return job;
+    }
+
+    private static AttendanceReportJobPartition partition(Long courseId,
+                                                          AttendanceReportJobPartition.PartitionStatus status) {
+        AttendanceReportJobPartition partition = new AttendanceReportJobPartition();
+        partition.setJobId(1L);
+        partition.setCourseId(courseId);
+        partition.setStatus(status);
+        return partition;
+    }
+}
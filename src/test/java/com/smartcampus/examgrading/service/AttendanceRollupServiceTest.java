@@ -0,0 +1,118 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceChangeEvent;
+import com.smartcampus.examgrading.model.AttendanceRollup;
+import com.smartcampus.examgrading.model.AttendanceTrendPoint;
+import com.smartcampus.examgrading.model.Timetable;
+import com.smartcampus.examgrading.repository.AttendanceRollupJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceRollupRepository;
+import com.smartcampus.examgrading.repository.TimetableRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttendanceRollupServiceTest {
+
+    private static final LocalDate THIS_MONDAY =
+            LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    private static final LocalDate FIRST_MONDAY = THIS_MONDAY.minusWeeks(2);
+
+    private final AttendanceRollupRepository rollupRepository = mock(AttendanceRollupRepository.class);
+    private final AttendanceRollupJdbcRepository rollupJdbcRepository = mock(AttendanceRollupJdbcRepository.class);
+    private final TimetableRepository timetableRepository = mock(TimetableRepository.class);
+
+    private final AttendanceRollupService rollupService =
+            new AttendanceRollupService(rollupRepository, rollupJdbcRepository, timetableRepository);
+
+    @Test
+    void weeklyTrendHasAPointForEveryWeekIncludingEmptyOnes() {
+        rollups(rollup(FIRST_MONDAY, 10, 6),
+                rollup(THIS_MONDAY, 10, 9),
+                rollup(THIS_MONDAY.plusDays(2), 10, 7));
+
+        List<AttendanceTrendPoint> trend = rollupService.getWeeklyTrend(20L, 3);
+
+        assertThat(trend).extracting(AttendanceTrendPoint::getWeekStart)
+                .containsExactly(FIRST_MONDAY, FIRST_MONDAY.plusWeeks(1), THIS_MONDAY);
+        assertThat(trend).extracting(AttendanceTrendPoint::getSessions).containsExactly(1, 0, 2);
+        assertThat(trend.get(0).getAttendancePercentage()).isEqualByComparingTo("60.00");
+        assertThat(trend.get(1).getAttendancePercentage()).isEqualByComparingTo("0");
+        assertThat(trend.get(2).getTotalCount()).isEqualTo(20);
+        assertThat(trend.get(2).getAttendancePercentage()).isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    void isoWeeksRollOverWithTheWeekBasedYear() {
+        assertThat(AttendanceRollup.isoWeekOf(LocalDate.of(2024, 12, 30))).isEqualTo(202501);
+        assertThat(AttendanceRollup.isoWeekOf(LocalDate.of(2021, 1, 3))).isEqualTo(202053);
+        assertThat(AttendanceTrendPoint.forWeek(202507, LocalDate.of(2025, 2, 10)).getLabel()).isEqualTo("2025-W07");
+    }
+
+    @Test
+    void heatmapSumsEachWeekdayAndListsItsTimetabledSlots() {
+        rollups(rollup(FIRST_MONDAY, 10, 5),
+                rollup(FIRST_MONDAY.plusDays(2), 10, 10),
+                rollup(THIS_MONDAY, 10, 8));
+        when(timetableRepository.findByCourseIdWithCourse(20L)).thenReturn(List.of(
+                slot(DayOfWeek.MONDAY, 14), slot(DayOfWeek.MONDAY, 9), slot(DayOfWeek.FRIDAY, 10)));
+
+        List<AttendanceTrendPoint> heatmap = rollupService.getWeekdayHeatmap(20L, 3);
+
+        assertThat(heatmap).extracting(AttendanceTrendPoint::getWeekday)
+                .containsExactly(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY);
+        AttendanceTrendPoint monday = heatmap.get(0);
+        assertThat(monday.getLabel()).isEqualTo("Monday");
+        assertThat(monday.getSessions()).isEqualTo(2);
+        assertThat(monday.getAttendancePercentage()).isEqualByComparingTo("65.00");
+        assertThat(monday.getTimeSlots()).containsExactly(LocalTime.of(9, 0), LocalTime.of(14, 0));
+        assertThat(heatmap.get(1).getTimeSlots()).isEmpty();
+        // Timetabled but never marked
+        assertThat(heatmap.get(2).getSessions()).isZero();
+        assertThat(heatmap.get(2).getTimeSlots()).containsExactly(LocalTime.of(10, 0));
+    }
+
+    @Test
+    void committedChangeRefreshesItsSession() {
+        LocalDate date = LocalDate.of(2025, 3, 14);
+
+        rollupService.onAttendanceChange(new AttendanceChangeEvent(20L, date, 9L,
+                Map.of(1L, Attendance.AttendanceStatus.PRESENT)));
+
+        verify(rollupJdbcRepository).refresh(20L, List.of(date));
+    }
+
+    private void rollups(AttendanceRollup... rollups) {
+        when(rollupRepository.findByCourseIdAndIsoWeekBetweenOrderByIsoWeekAscWeekdayAsc(20L,
+                AttendanceRollup.isoWeekOf(FIRST_MONDAY), AttendanceRollup.isoWeekOf(THIS_MONDAY)))
+                .thenReturn(List.of(rollups));
+    }
+
+    private static AttendanceRollup rollup(LocalDate date, int total, int present) {
+        AttendanceRollup rollup = new AttendanceRollup();
+        rollup.setCourseId(20L);
+        rollup.setSessionDate(date);
+        rollup.setIsoWeek(AttendanceRollup.isoWeekOf(date));
+        rollup.setWeekday(date.getDayOfWeek().getValue());
+        rollup.setTotalCount(total);
+        rollup.setPresentCount(present);
+        return rollup;
+    }
+
+    private static Timetable slot(DayOfWeek day, int hour) {
+        Timetable timetable = new Timetable();
+        timetable.setDayOfWeek(day);
+        timetable.setStartTime(LocalTime.of(hour, 0));
+        return timetable;
+    }
+}
@@ -0,0 +1,143 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceBitmap;
+import com.smartcampus.examgrading.model.AttendanceCounter;
+import com.smartcampus.examgrading.model.AttendanceTerm;
+import com.smartcampus.examgrading.model.Course;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.AttendanceBitmapJdbcRepository;
+import com.smartcampus.examgrading.repository.CourseRepository;
+import com.smartcampus.examgrading.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Marks the same student, course and day from many threads at once against a real MySQL,
+ * where the upsert and the counter and bitmap refreshes take their row locks.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "attendance.risk-scan.initial-delay-millis=86400000"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class AttendanceServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceCounterService counterService;
+
+    @Autowired
+    private AttendanceBitmapService bitmapService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentMarksOfOneSessionLeaveOneConsistentRow() throws Exception {
+        User faculty = userRepository.save(newUser("concurrency.faculty", User.Role.FACULTY));
+        User student = userRepository.save(newUser("concurrency.student", User.Role.STUDENT));
+        Course course = new Course();
+        course.setCourseCode("CONC101");
+        course.setCourseName("Concurrency");
+        course.setCreditHours(3);
+        course.setCapacity(10);
+        course.setFaculty(faculty);
+        course = courseRepository.save(course);
+        LocalDate date = LocalDate.now().minusDays(1);
+
+        Attendance.AttendanceStatus[] statuses = Attendance.AttendanceStatus.values();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        Course markedCourse = course;
+        for (int i = 0; i < THREADS; i++) {
+            Attendance.AttendanceStatus status = statuses[i % statuses.length];
+            futures.add(pool.submit(() -> {
+                try {
+                    start.await();
+                    attendanceService.markAttendance(markedCourse, student, date, status, faculty);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(failures).isEmpty();
+
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT status FROM attendance WHERE student_id = ? AND course_id = ? AND attendance_date = ?",
+                String.class, student.getUserId(), course.getId(), date);
+        assertThat(rows).hasSize(1);
+        Attendance.AttendanceStatus stored = Attendance.AttendanceStatus.valueOf(rows.get(0));
+
+        AttendanceCounter counter = counterService.getCounter(student.getUserId(), course.getId()).orElseThrow();
+        assertThat(counter.getTotalCount()).isEqualTo(1);
+        assertThat(counter.getPresentCount()).isEqualTo(stored == Attendance.AttendanceStatus.PRESENT ? 1 : 0);
+        assertThat(counter.getAbsentCount()).isEqualTo(stored == Attendance.AttendanceStatus.ABSENT ? 1 : 0);
+        assertThat(counter.getLateCount()).isEqualTo(stored == Attendance.AttendanceStatus.LATE ? 1 : 0);
+        assertThat(counter.getExcusedCount()).isEqualTo(stored == Attendance.AttendanceStatus.EXCUSED ? 1 : 0);
+
+        AttendanceTerm term = AttendanceTerm.of(date);
+        int day = term.bitIndex(date);
+        AttendanceBitmap bitmap = bitmapService.getBitmap(student.getUserId(), course.getId(), term).orElseThrow();
+        assertThat(bitmap.getHeldCount()).isEqualTo(1);
+        assertThat(bitmap.held().get(day)).isTrue();
+        assertThat(bitmap.attended().get(day)).isEqualTo(AttendanceBitmapJdbcRepository.isAttended(stored));
+        assertThat(bitmap.late().get(day)).isEqualTo(stored == Attendance.AttendanceStatus.LATE);
+        assertThat(bitmap.excused().get(day)).isEqualTo(stored == Attendance.AttendanceStatus.EXCUSED);
+    }
+
+    private static User newUser(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("concurrency");
+        user.setEmail(username + "@test.local");
+        user.setFirstName("Test");
+        user.setLastName(username);
+        user.setRole(role);
+        user.setActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,152 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.Attendance;
+import com.smartcampus.examgrading.model.AttendanceChangeEvent;
+import com.smartcampus.examgrading.model.AttendanceCounter;
+import com.smartcampus.examgrading.model.AttendanceMarkResult;
+import com.smartcampus.examgrading.model.Course;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.AttendanceJdbcRepository;
+import com.smartcampus.examgrading.repository.AttendanceRepository;
+import com.smartcampus.examgrading.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 14);
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AttendanceJdbcRepository attendanceJdbcRepository;
+
+    @Mock
+    private AttendanceCounterService counterService;
+
+    @Mock
+    private AttendanceBitmapService bitmapService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AttendanceService attendanceService;
+
+    @Test
+    void bulkMarkRefreshesTheCountersOfWrittenStudentsOnly() {
+        Course course = course();
+        // Student 1 is already on the register, 2 is new and 3 does not exist
+        when(attendanceRepository.findStudentStatusesByCourseAndDate(course, DATE)).thenReturn(
+                List.<Object[]>of(new Object[] { 1L, Attendance.AttendanceStatus.ABSENT }));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(2L));
+        Map<Long, Attendance.AttendanceStatus> statuses = new LinkedHashMap<>();
+        statuses.put(1L, Attendance.AttendanceStatus.PRESENT);
+        statuses.put(2L, Attendance.AttendanceStatus.LATE);
+        statuses.put(3L, Attendance.AttendanceStatus.PRESENT);
+
+        List<AttendanceMarkResult> results = attendanceService.markBulkAttendance(course, statuses, DATE, faculty());
+
+        assertThat(results).extracting(AttendanceMarkResult::getOutcome).containsExactly(
+                AttendanceMarkResult.Outcome.UPDATED, AttendanceMarkResult.Outcome.INSERTED,
+                AttendanceMarkResult.Outcome.SKIPPED);
+        verify(attendanceJdbcRepository).upsertSession(eq(20L), eq(DATE), anyMap(), eq(9L), any());
+        verify(counterService).refresh(20L, Set.of(1L, 2L));
+        verify(bitmapService).record(eq(20L), eq(DATE), anyMap());
+        ArgumentCaptor<AttendanceChangeEvent> event = ArgumentCaptor.forClass(AttendanceChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getStatusByStudentId()).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    void bulkMarkOfUnknownStudentsLeavesTheCountersAlone() {
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of());
+
+        attendanceService.markBulkAttendance(course(), Map.of(3L, Attendance.AttendanceStatus.PRESENT), DATE,
+                faculty());
+
+        verify(counterService, never()).refresh(anyLong(), anyCollection());
+    }
+
+    @Test
+    void singleMarkUpsertsBeforeRefreshingItsCounter() {
+        attendanceService.markAttendance(course(), user(1L), DATE, Attendance.AttendanceStatus.ABSENT, faculty());
+
+        InOrder inOrder = inOrder(attendanceJdbcRepository, counterService, bitmapService);
+        inOrder.verify(attendanceJdbcRepository).upsert(eq(1L), eq(20L), eq(DATE),
+                eq(Attendance.AttendanceStatus.ABSENT), eq(9L), any());
+        inOrder.verify(counterService).refresh(1L, 20L);
+        inOrder.verify(bitmapService).record(1L, 20L, DATE, Attendance.AttendanceStatus.ABSENT);
+        verify(eventPublisher).publishEvent(any(AttendanceChangeEvent.class));
+    }
+
+    @Test
+    void percentageComesFromTheCounter() {
+        AttendanceCounter counter = new AttendanceCounter();
+        counter.setTotalCount(8);
+        counter.setPresentCount(5);
+        when(counterService.getCounter(1L, 20L)).thenReturn(Optional.of(counter));
+        ReflectionTestUtils.setField(attendanceService, "lowAttendanceThreshold", new BigDecimal("75.00"));
+
+        assertThat(attendanceService.calculateAttendancePercentage(user(1L), course())).isEqualByComparingTo("62.50");
+        assertThat(attendanceService.hasLowAttendance(user(1L), course())).isTrue();
+    }
+
+    @Test
+    void studentWithoutACounterHasNoAttendance() {
+        when(counterService.getCounter(1L, 20L)).thenReturn(Optional.empty());
+
+        assertThat(attendanceService.calculateAttendancePercentage(user(1L), course())).isEqualByComparingTo(
+                BigDecimal.ZERO);
+    }
+
+    private static Course course() {
+        Course course = new Course();
+        course.setId(20L);
+        course.setCourseName("Algorithms");
+        return course;
+    }
+
+    private static User faculty() {
+        return user(9L);
+    }
+
+    private static User user(Long userId) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setFirstName("Test");
+        user.setLastName("User " + userId);
+        return user;
+    }
+}
@@ -0,0 +1,91 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.ExamRank;
+import com.smartcampus.examgrading.model.GradeChangeEvent;
+import com.smartcampus.examgrading.repository.GradeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExamRankServiceTest {
+
+    private final GradeRepository gradeRepository = mock(GradeRepository.class);
+    private final ExamRankService rankService = new ExamRankService(gradeRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(gradeRepository.findMarksByExamId(7L)).thenReturn(List.of(new BigDecimal("70"),
+                new BigDecimal("60.00"), new BigDecimal("90"), new BigDecimal("50"), new BigDecimal("60")));
+        when(gradeRepository.findMarksByExamId(8L)).thenReturn(List.of());
+    }
+
+    @Test
+    void tiesShareARankAndSplitThePercentile() {
+        ExamRank rank = rankService.getRank(7L, new BigDecimal("60.00"));
+        assertThat(rank.getRank()).isEqualTo(3);
+        assertThat(rank.getClassSize()).isEqualTo(5);
+        // One below, two tied: (1 + 2 / 2) of 5
+        assertThat(rank.getPercentile()).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    void topAndBottomMarks() {
+        ExamRank top = rankService.getRank(7L, new BigDecimal("90"));
+        assertThat(top.getRank()).isEqualTo(1);
+        assertThat(top.getPercentile()).isEqualByComparingTo("90.00");
+
+        ExamRank bottom = rankService.getRank(7L, new BigDecimal("50"));
+        assertThat(bottom.getRank()).isEqualTo(5);
+        assertThat(bottom.getPercentile()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void marksNotInTheIndexRankBetweenTheirNeighbours() {
+        ExamRank rank = rankService.getRank(7L, new BigDecimal("65"));
+        assertThat(rank.getRank()).isEqualTo(3);
+        assertThat(rank.getPercentile()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void marksAreComparedInHundredths() {
+        ExamRank rank = rankService.getRank(7L, new BigDecimal("59.995"));
+        assertThat(rank.getRank()).isEqualTo(3);
+    }
+
+    @Test
+    void noMarksMeansNoRank() {
+        assertThat(rankService.getRank(8L, BigDecimal.TEN)).isNull();
+    }
+
+    @Test
+    void indexIsReloadedAfterAGradeChange() {
+        rankService.getRank(7L, BigDecimal.TEN);
+        rankService.getRank(7L, BigDecimal.ONE);
+        rankService.onGradeChange(new GradeChangeEvent(7L, Set.of(1L)));
+        rankService.getRank(7L, BigDecimal.TEN);
+
+        verify(gradeRepository, times(2)).findMarksByExamId(7L);
+    }
+
+    @Test
+    void loadOverlappingAGradeChangeIsNotCached() {
+        when(gradeRepository.findMarksByExamId(7L)).thenAnswer(invocation -> {
+            rankService.onGradeChange(new GradeChangeEvent(7L, Set.of(1L)));
+            return List.of(new BigDecimal("50"));
+        }).thenReturn(List.of(new BigDecimal("50"), new BigDecimal("60")));
+
+        assertThat(rankService.getRank(7L, BigDecimal.TEN).getClassSize()).isEqualTo(1);
+        assertThat(rankService.getRank(7L, BigDecimal.TEN).getClassSize()).isEqualTo(2);
+        assertThat(rankService.getRank(7L, BigDecimal.TEN).getClassSize()).isEqualTo(2);
+        verify(gradeRepository, times(2)).findMarksByExamId(7L);
+    }
+}
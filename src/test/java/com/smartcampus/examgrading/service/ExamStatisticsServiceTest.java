@@ -0,0 +1,76 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.Exam;
+import com.smartcampus.examgrading.model.ExamScoreBucket;
+import com.smartcampus.examgrading.model.Grade;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExamStatisticsServiceTest {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    @Test
+    void medianInterpolatesInsideTheBucketTheRankLandsIn() {
+        List<ExamScoreBucket> buckets = List.of(bucket(50, "C", 2), bucket(60, "B", 2));
+        // Rank 2 of 4 is the far edge of the first whole-percent bucket
+        assertThat(ExamStatisticsService.percentileMarks(buckets, 4, 0.5, HUNDRED)).isEqualByComparingTo("51.00");
+    }
+
+    @Test
+    void lettersSharingAPercentCountAsOneBucket() {
+        List<ExamScoreBucket> buckets = List.of(bucket(70, "B", 1), bucket(70, "B-", 1), bucket(80, "A", 2));
+        assertThat(ExamStatisticsService.percentileMarks(buckets, 4, 0.5, HUNDRED)).isEqualByComparingTo("71.00");
+    }
+
+    @Test
+    void percentIsScaledToTheExamsTotalMarks() {
+        List<ExamScoreBucket> buckets = List.of(bucket(40, "D", 1), bucket(90, "A", 3));
+        // Rank 2 of 4 is a third of the way into the 90% bucket: 90.33% of 50 marks
+        assertThat(ExamStatisticsService.percentileMarks(buckets, 4, 0.5, new BigDecimal("50")))
+                .isEqualByComparingTo("45.17");
+    }
+
+    @Test
+    void topBucketIsCappedAtFullMarks() {
+        List<ExamScoreBucket> buckets = List.of(bucket(100, "A+", 1));
+        assertThat(ExamStatisticsService.percentileMarks(buckets, 1, 0.5, new BigDecimal("80")))
+                .isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    void noBucketsGiveZero() {
+        assertThat(ExamStatisticsService.percentileMarks(List.of(), 0, 0.5, HUNDRED)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void bucketOfMatchesTheRecomputeExpression() {
+        Exam exam = new Exam();
+        exam.setTotalMarks(new BigDecimal("50"));
+
+        assertThat(ExamStatisticsService.bucketOf(exam, grade("44.99", "89.98"))).isEqualTo(89);
+        assertThat(ExamStatisticsService.bucketOf(exam, grade("50.00", "100.00"))).isEqualTo(100);
+        // Legacy rows without a stored percentage fall back to marks over total
+        assertThat(ExamStatisticsService.bucketOf(exam, grade("45.00", null))).isEqualTo(90);
+    }
+
+    private static ExamScoreBucket bucket(int percent, String letter, int count) {
+        ExamScoreBucket bucket = new ExamScoreBucket();
+        bucket.setExamId(1L);
+        bucket.setBucket(percent);
+        bucket.setGradeLetter(letter);
+        bucket.setGradeCount(count);
+        return bucket;
+    }
+
+    private static Grade grade(String marks, String percentage) {
+        Grade grade = new Grade();
+        grade.setMarksObtained(new BigDecimal(marks));
+        grade.setPercentage(percentage == null ? null : new BigDecimal(percentage));
+        return grade;
+    }
+}
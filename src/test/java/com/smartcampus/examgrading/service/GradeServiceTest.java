@@ -0,0 +1,81 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.Exam;
+import com.smartcampus.examgrading.model.User;
+import com.smartcampus.examgrading.repository.EnrollmentRepository;
+import com.smartcampus.examgrading.repository.ExamRepository;
+import com.smartcampus.examgrading.repository.GradeJdbcRepository;
+import com.smartcampus.examgrading.repository.GradeRepository;
+import com.smartcampus.examgrading.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GradeServiceTest {
+
+    private final GradeJdbcRepository gradeJdbcRepository = mock(GradeJdbcRepository.class);
+    private final ExamRepository examRepository = mock(ExamRepository.class);
+    private final EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    private final SessionService sessionService = mock(SessionService.class);
+    private final ExamStatisticsService statisticsService = mock(ExamStatisticsService.class);
+
+    private final GradeService gradeService = new GradeService(mock(GradeRepository.class), gradeJdbcRepository,
+            mock(UserRepository.class), examRepository, enrollmentRepository, sessionService, statisticsService,
+            mock(ApplicationEventPublisher.class));
+
+    @BeforeEach
+    void setUp() {
+        User faculty = new User();
+        faculty.setUserId(9L);
+        when(sessionService.getCurrentUser()).thenReturn(faculty);
+        when(sessionService.isFaculty()).thenReturn(true);
+
+        Exam exam = new Exam();
+        exam.setId(5L);
+        exam.setCourseId(20L);
+        exam.setTotalMarks(new BigDecimal("100"));
+        when(examRepository.findById(5L)).thenReturn(Optional.of(exam));
+    }
+
+    @Test
+    void rejectsStudentsNotEnrolledInTheCourseAlongsideOtherErrors() {
+        when(enrollmentRepository.findActiveStudentIds(eq(20L), anyCollection())).thenReturn(List.of(1L, 2L));
+        Map<Long, BigDecimal> marks = new LinkedHashMap<>();
+        marks.put(1L, new BigDecimal("50"));
+        marks.put(2L, new BigDecimal("120"));
+        marks.put(3L, new BigDecimal("70"));
+
+        assertThatThrownBy(() -> gradeService.saveGrades(5L, marks))
+                .hasMessageContaining("No grades were saved")
+                .hasMessageContaining("Marks for student 2 must be between 0 and 100")
+                .hasMessageContaining("Student 3 is not enrolled in the course");
+        verify(gradeJdbcRepository, never()).upsertGrades(any());
+    }
+
+    @Test
+    void writesEnrolledStudentsInOneBatch() {
+        when(enrollmentRepository.findActiveStudentIds(eq(20L), anyCollection())).thenReturn(List.of(1L, 2L));
+
+        int written = gradeService.saveGrades(5L, Map.of(1L, new BigDecimal("50"), 2L, new BigDecimal("100")));
+
+        assertThat(written).isEqualTo(2);
+        verify(gradeJdbcRepository).upsertGrades(any());
+        verify(statisticsService).refresh(5L);
+    }
+}
@@ -0,0 +1,97 @@
+package com.smartcampus.examgrading.service;
+
+import com.smartcampus.examgrading.model.StudentTermGpa;
+import com.smartcampus.examgrading.repository.TranscriptJdbcRepository.TranscriptGradeRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TranscriptServiceTest {
+
+    private static final Map<String, BigDecimal> POINTS = TranscriptService.parseGradePoints(
+            "A:4.0,A-:3.7,B:3.0,C:2.0,F:0.0");
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 12, 31, 12, 0);
+    private static final LocalDate SPRING = LocalDate.of(2025, 3, 1);
+    private static final LocalDate AUTUMN = LocalDate.of(2025, 9, 1);
+
+    @Test
+    void foldsExamsByTotalMarksAndCoursesByCreditHours() {
+        List<StudentTermGpa> rows = TranscriptService.computeTranscripts(List.of(
+                // Course 10: A on a 100-mark exam, B on a 50-mark exam, 3 credits
+                grade(1, "A", 10, SPRING, "100", 3),
+                grade(1, "B", 10, SPRING, "50", 3),
+                // Course 11: C, 4 credits
+                grade(1, "C", 11, SPRING, "100", 4),
+                // Autumn: A- in a 2-credit course; letters are matched case-insensitively
+                grade(1, " a- ", 12, AUTUMN, "100", 2),
+                // Neither a non-credit course nor a letter outside the scale counts
+                grade(1, "A", 13, AUTUMN, "100", 0),
+                grade(1, "W", 14, AUTUMN, "100", 3)), POINTS, NOW);
+
+        assertThat(rows).hasSize(2);
+        StudentTermGpa spring = rows.get(0);
+        assertThat(spring.getTerm()).isEqualTo("2025-S1");
+        assertThat(spring.getCourseCount()).isEqualTo(2);
+        assertThat(spring.getCreditHours()).isEqualTo(7);
+        // (4 * 100 + 3 * 50) / 150 * 3 + 2 * 4 = 19
+        assertThat(spring.getQualityPoints()).isEqualByComparingTo("19");
+        assertThat(spring.getGpa()).isEqualByComparingTo("2.71");
+        assertThat(spring.getCgpa()).isEqualByComparingTo("2.71");
+
+        StudentTermGpa autumn = rows.get(1);
+        assertThat(autumn.getTerm()).isEqualTo("2025-S2");
+        assertThat(autumn.getCourseCount()).isEqualTo(1);
+        assertThat(autumn.getGpa()).isEqualByComparingTo("3.70");
+        assertThat(autumn.getCumulativeCreditHours()).isEqualTo(9);
+        assertThat(autumn.getCumulativeQualityPoints()).isEqualByComparingTo("26.4");
+        assertThat(autumn.getCgpa()).isEqualByComparingTo("2.93");
+        assertThat(autumn.getUpdatedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void startsEveryStudentsCumulativeTotalsAfresh() {
+        List<StudentTermGpa> rows = TranscriptService.computeTranscripts(List.of(
+                grade(1, "A", 10, SPRING, "100", 3),
+                grade(2, "F", 10, SPRING, "100", 3)), POINTS, NOW);
+
+        assertThat(rows).extracting(StudentTermGpa::getStudentId).containsExactly(1L, 2L);
+        assertThat(rows.get(1).getCumulativeCreditHours()).isEqualTo(3);
+        assertThat(rows.get(1).getCgpa()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void studentWithoutCountableGradesHasNoRows() {
+        assertThat(TranscriptService.computeTranscripts(
+                List.of(grade(1, "W", 10, SPRING, "100", 3)), POINTS, NOW)).isEmpty();
+    }
+
+    @Test
+    void parsesTheScaleLeniently() {
+        Map<String, BigDecimal> points = TranscriptService.parseGradePoints(" a : 4.0 ,, b+:3.3,");
+        assertThat(points).containsOnlyKeys("A", "B+");
+        assertThat(points.get("B+")).isEqualByComparingTo("3.3");
+        assertThatThrownBy(() -> points.put("C", BigDecimal.ONE)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void rejectsMalformedScales() {
+        assertThatThrownBy(() -> TranscriptService.parseGradePoints("A4.0"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("A4.0");
+        assertThatThrownBy(() -> TranscriptService.parseGradePoints("A:four"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("A:four");
+        assertThatThrownBy(() -> TranscriptService.parseGradePoints(" , "))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("empty");
+    }
+
+    private static TranscriptGradeRow grade(long studentId, String letter, long courseId, LocalDate examDate,
+                                            String totalMarks, int creditHours) {
+        return new TranscriptGradeRow(studentId, letter, courseId, examDate, new BigDecimal(totalMarks), creditHours);
+    }
+}
@@ -0,0 +1,136 @@
+package com.smartcampus.examgrading.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XlsxSheetReaderTest {
+
+    private static final String WORKBOOK =
+            "<workbook xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+            + "<sheets><sheet name=\"Grades\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>";
+
+    private static final String RELS =
+            "<Relationships>"
+            + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/grades.xml\"/>"
+            + "<Relationship Id=\"rId2\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/sharedStrings\" Target=\"strings.xml\"/>"
+            + "</Relationships>";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void resolvesSharedStringsThroughTheWorkbookRelationships() throws IOException {
+        String strings = "<sst>"
+                + "<si><t>username</t></si>"
+                + "<si><r><t>al</t></r><r><t>ice</t></r></si>"
+                + "<si><t>山田</t><rPh><t>ヤマダ</t></rPh></si>"
+                + "</sst>";
+        String sheet = "<worksheet><sheetData>"
+                + "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c></row>"
+                + "<row r=\"2\"><c r=\"A2\" t=\"s\"><v>1</v></c><c r=\"B2\" t=\"s\"><v>2</v></c></row>"
+                + "</sheetData></worksheet>";
+
+        try (XlsxSheetReader reader = new XlsxSheetReader(workbook(sheet, strings))) {
+            List<String> cells = new ArrayList<>();
+            assertThat(reader.nextRow(cells)).isTrue();
+            assertThat(cells).containsExactly("username");
+            assertThat(reader.nextRow(cells)).isTrue();
+            assertThat(cells).containsExactly("alice", "山田");
+            assertThat(reader.nextRow(cells)).isFalse();
+        }
+    }
+
+    @Test
+    void fillsMissingCellsAndKeepsSheetRowNumbers() throws IOException {
+        String sheet = "<worksheet><sheetData>"
+                + "<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t>bob</t></is></c><c r=\"C1\"><v>72.5</v></c></row>"
+                + "<row r=\"5\"><c r=\"B5\" t=\"b\"><v>1</v></c></row>"
+                + "<row r=\"6\"><c r=\"AA6\"><v>3</v></c></row>"
+                + "</sheetData></worksheet>";
+
+        try (XlsxSheetReader reader = new XlsxSheetReader(workbook(sheet, null))) {
+            List<String> cells = new ArrayList<>();
+            assertThat(reader.nextRow(cells)).isTrue();
+            assertThat(reader.getRowNumber()).isEqualTo(1);
+            assertThat(cells).containsExactly("bob", "", "72.5");
+
+            assertThat(reader.nextRow(cells)).isTrue();
+            assertThat(reader.getRowNumber()).isEqualTo(5);
+            assertThat(cells).containsExactly("", "TRUE");
+
+            assertThat(reader.nextRow(cells)).isTrue();
+            assertThat(cells).hasSize(27);
+            assertThat(cells.get(26)).isEqualTo("3");
+        }
+    }
+
+    @Test
+    void columnIndexReadsLettersOnly() {
+        assertThat(XlsxSheetReader.columnIndex("A1")).isZero();
+        assertThat(XlsxSheetReader.columnIndex("Z9")).isEqualTo(25);
+        assertThat(XlsxSheetReader.columnIndex("AB12")).isEqualTo(27);
+    }
+
+    @Test
+    void refusesDocumentTypeDeclarations() throws IOException {
+        Path secret = Files.writeString(tempDir.resolve("secret.txt"), "top-secret");
+        String sheet = "<?xml version=\"1.0\"?>"
+                + "<!DOCTYPE worksheet [<!ENTITY xxe SYSTEM \"" + secret.toUri() + "\">]>"
+                + "<worksheet><sheetData>"
+                + "<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t>&xxe;</t></is></c></row>"
+                + "</sheetData></worksheet>";
+
+        try (XlsxSheetReader reader = new XlsxSheetReader(workbook(sheet, null))) {
+            assertThatThrownBy(() -> reader.nextRow(new ArrayList<>()))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageNotContaining("top-secret");
+        }
+    }
+
+    @Test
+    void rejectsAFileWithoutAWorkbookPart() throws IOException {
+        File file = zip(Map.of("hello.txt", "not a workbook"));
+        assertThatThrownBy(() -> new XlsxSheetReader(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("xl/workbook.xml");
+    }
+
+    private File workbook(String sheet, String sharedStrings) throws IOException {
+        Map<String, String> parts = new LinkedHashMap<>();
+        parts.put("xl/workbook.xml", WORKBOOK);
+        parts.put("xl/_rels/workbook.xml.rels", RELS);
+        parts.put("xl/worksheets/grades.xml", sheet);
+        if (sharedStrings != null) {
+            parts.put("xl/strings.xml", sharedStrings);
+        }
+        return zip(parts);
+    }
+
+    private File zip(Map<String, String> parts) throws IOException {
+        File file = Files.createTempFile(tempDir, "workbook", ".xlsx").toFile();
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+            for (Map.Entry<String, String> part : parts.entrySet()) {
+                out.putNextEntry(new ZipEntry(part.getKey()));
+                out.write(part.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return file;
+    }
+}